@@ -411,7 +411,11 @@ class ClientSessionManager {
             }
         };
 
-        stackClient.getChannelFuture().thenCompose(activate).whenCompleteAsync((asr, ex) -> {
+        // The session can only be activated on the secure channel it was created on.
+        CompletableFuture<ClientSecureChannel> channelFuture =
+            stackClient.getChannelFuture(csr.getAuthenticationToken());
+
+        channelFuture.thenCompose(activate).whenCompleteAsync((asr, ex) -> {
             CompletableFuture<OpcUaSession> sessionFuture = activatingState.sessionFuture;
 
             if (asr != null) {
@@ -505,7 +509,10 @@ class ClientSessionManager {
         };
 
 
-        stackClient.getChannelFuture().thenCompose(activate).whenCompleteAsync((asr, ex) -> {
+        CompletableFuture<ClientSecureChannel> channelFuture =
+            stackClient.getChannelFuture(previousSession.getAuthenticationToken());
+
+        channelFuture.thenCompose(activate).whenCompleteAsync((asr, ex) -> {
             CompletableFuture<OpcUaSession> sessionFuture = reactivatingState.sessionFuture;
 
             if (asr != null) {
@@ -132,6 +132,7 @@ public class OpcUaClient implements UaClient {
 
     private final UaTcpStackClient stackClient;
     private final ClientSessionManager sessionManager;
+    private final ReadWriteBatcher batcher;
 
     private final OpcUaClientConfig config;
 
@@ -142,11 +143,24 @@ public class OpcUaClient implements UaClient {
 
         stackClient = new UaTcpStackClient(config);
 
-        faultNotificationQueue = new ExecutionQueue(config.getExecutor());
+        faultNotificationQueue = new ExecutionQueue(config.getEventExecutor());
 
         addressSpace = new DefaultAddressSpace(this);
         subscriptionManager = new OpcUaSubscriptionManager(this);
 
+        if (config.isRequestBatchingEnabled()) {
+            batcher = new ReadWriteBatcher(this, config.getRequestBatchingDelayMicros());
+
+            sessionManager.addListener(new SessionActivityListener() {
+                @Override
+                public void onSessionActive(UaSession session) {
+                    batcher.reset();
+                }
+            });
+        } else {
+            batcher = null;
+        }
+
         TypeRegistryInitializer.initialize(typeRegistry);
     }
 
@@ -236,6 +250,10 @@ public class OpcUaClient implements UaClient {
                                                 TimestampsToReturn timestampsToReturn,
                                                 List<ReadValueId> readValueIds) {
 
+        if (batcher != null && !readValueIds.isEmpty()) {
+            return batcher.read(maxAge, timestampsToReturn, readValueIds);
+        }
+
         return getSession().thenCompose(session -> {
             ReadRequest request = new ReadRequest(
                 newRequestHeader(session.getAuthenticationToken()),
@@ -249,6 +267,10 @@ public class OpcUaClient implements UaClient {
 
     @Override
     public CompletableFuture<WriteResponse> write(List<WriteValue> writeValues) {
+        if (batcher != null && !writeValues.isEmpty()) {
+            return batcher.write(writeValues);
+        }
+
         return getSession().thenCompose(session -> {
             WriteRequest request = new WriteRequest(
                 newRequestHeader(session.getAuthenticationToken()),
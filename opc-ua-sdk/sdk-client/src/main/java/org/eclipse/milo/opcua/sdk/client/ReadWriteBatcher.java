@@ -0,0 +1,552 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.Stack;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaRuntimeException;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
+import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DiagnosticInfo;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.eclipse.milo.opcua.stack.core.types.structured.ResponseHeader;
+import org.eclipse.milo.opcua.stack.core.types.structured.WriteRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.WriteResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.WriteValue;
+import org.eclipse.milo.opcua.stack.core.util.FutureUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.eclipse.milo.opcua.stack.core.util.ConversionUtil.a;
+
+/**
+ * Sends the reads and writes an {@link OpcUaClient} is asked for within a short window of each other as one
+ * ReadRequest or WriteRequest, and splits requests that are larger than the server's OperationLimits allow.
+ * <p>
+ * Reads are only batched with reads that use the same maxAge and {@link TimestampsToReturn}. A read of a node that is
+ * already queued, or sent and awaiting its response, shares that read rather than reading the node again.
+ * <p>
+ * A batch larger than the server's MaxNodesPerRead or MaxNodesPerWrite is split into parts that are all sent at once,
+ * and each caller gets its results back in the order it asked for them.
+ */
+class ReadWriteBatcher {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<ReadBatchKey, ReadBatch> readBatches = new HashMap<>();
+    private final Map<ReadKey, QueuedRead> inFlightReads = new HashMap<>();
+
+    private WriteBatch writeBatch;
+
+    private CompletableFuture<OperationLimits> operationLimits;
+
+    private final ScheduledExecutorService scheduledExecutor = Stack.sharedScheduledExecutor();
+
+    private final OpcUaClient client;
+    private final long batchingDelayMicros;
+
+    ReadWriteBatcher(OpcUaClient client, long batchingDelayMicros) {
+        this.client = client;
+        this.batchingDelayMicros = batchingDelayMicros;
+    }
+
+    CompletableFuture<ReadResponse> read(double maxAge,
+                                         TimestampsToReturn timestampsToReturn,
+                                         List<ReadValueId> readValueIds) {
+
+        ReadBatchKey batchKey = new ReadBatchKey(maxAge, timestampsToReturn);
+        List<QueuedRead> reads = new ArrayList<>(readValueIds.size());
+        ReadBatch newBatch = null;
+
+        synchronized (this) {
+            for (ReadValueId readValueId : readValueIds) {
+                ReadKey key = new ReadKey(batchKey, readValueId);
+                QueuedRead read = inFlightReads.get(key);
+
+                if (read == null) {
+                    ReadBatch batch = readBatches.get(batchKey);
+
+                    if (batch == null) {
+                        batch = new ReadBatch(batchKey);
+                        readBatches.put(batchKey, batch);
+                        newBatch = batch;
+                    }
+
+                    read = batch.add(key, readValueId);
+                    inFlightReads.put(key, read);
+                }
+
+                reads.add(read);
+            }
+        }
+
+        if (newBatch != null) {
+            ReadBatch batch = newBatch;
+            schedule(() -> flush(batch));
+        }
+
+        CompletableFuture<ReadResponse> future = new CompletableFuture<>();
+
+        CompletableFuture<?>[] responses = reads.stream()
+            .map(read -> read.batch.response)
+            .distinct()
+            .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(responses).whenComplete((v, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(ex);
+            } else {
+                DataValue[] results = new DataValue[reads.size()];
+                DiagnosticInfo[] diagnosticInfos = new DiagnosticInfo[reads.size()];
+                boolean hasDiagnosticInfos = false;
+
+                for (int i = 0; i < reads.size(); i++) {
+                    QueuedRead read = reads.get(i);
+                    ReadResponse response = read.batch.response.join();
+
+                    results[i] = response.getResults()[read.index];
+
+                    DiagnosticInfo[] batchDiagnosticInfos = response.getDiagnosticInfos();
+                    if (batchDiagnosticInfos != null && read.index < batchDiagnosticInfos.length) {
+                        diagnosticInfos[i] = batchDiagnosticInfos[read.index];
+                        hasDiagnosticInfos = true;
+                    }
+                }
+
+                ResponseHeader header = reads.get(0).batch.response.join().getResponseHeader();
+
+                future.complete(new ReadResponse(header, results, hasDiagnosticInfos ? diagnosticInfos : null));
+            }
+        });
+
+        return future;
+    }
+
+    CompletableFuture<WriteResponse> write(List<WriteValue> writeValues) {
+        WriteBatch batch;
+        int offset;
+        boolean newBatch = false;
+
+        synchronized (this) {
+            if (writeBatch == null) {
+                writeBatch = new WriteBatch();
+                newBatch = true;
+            }
+
+            batch = writeBatch;
+            offset = batch.writeValues.size();
+            batch.writeValues.addAll(writeValues);
+        }
+
+        if (newBatch) {
+            schedule(() -> flush(batch));
+        }
+
+        return batch.response.thenApply(response -> {
+            int count = writeValues.size();
+
+            StatusCode[] results = new StatusCode[count];
+            System.arraycopy(response.getResults(), offset, results, 0, count);
+
+            DiagnosticInfo[] diagnosticInfos = null;
+            DiagnosticInfo[] batchDiagnosticInfos = response.getDiagnosticInfos();
+            if (batchDiagnosticInfos != null && batchDiagnosticInfos.length >= offset + count) {
+                diagnosticInfos = new DiagnosticInfo[count];
+                System.arraycopy(batchDiagnosticInfos, offset, diagnosticInfos, 0, count);
+            }
+
+            return new WriteResponse(response.getResponseHeader(), results, diagnosticInfos);
+        });
+    }
+
+    /**
+     * Forget the server's OperationLimits so they're read again before the next batch is sent, e.g. because a new
+     * session was activated.
+     */
+    synchronized void reset() {
+        operationLimits = null;
+    }
+
+    /**
+     * Flush every queued batch now instead of when its batching delay elapses.
+     */
+    void flushNow() {
+        List<ReadBatch> reads;
+        WriteBatch write;
+
+        synchronized (this) {
+            reads = new ArrayList<>(readBatches.values());
+            write = writeBatch;
+        }
+
+        reads.forEach(this::flush);
+
+        if (write != null) {
+            flush(write);
+        }
+    }
+
+    CompletableFuture<RequestHeader> newRequestHeader() {
+        return client.getSession().thenApply(session -> client.newRequestHeader(session.getAuthenticationToken()));
+    }
+
+    <T extends UaResponseMessage> CompletableFuture<T> sendRequest(UaRequestMessage request) {
+        return client.sendRequest(request);
+    }
+
+    private void schedule(Runnable flush) {
+        try {
+            scheduledExecutor.schedule(flush, batchingDelayMicros, TimeUnit.MICROSECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Flush rejected, flushing now: {}", e.getMessage());
+            flush.run();
+        }
+    }
+
+    private void flush(ReadBatch batch) {
+        synchronized (this) {
+            // Already flushed by flushNow().
+            if (!readBatches.remove(batch.key, batch)) return;
+        }
+
+        batch.response.whenComplete((r, ex) -> {
+            synchronized (this) {
+                batch.reads.forEach(read -> inFlightReads.remove(read.key, read));
+            }
+        });
+
+        getOperationLimits()
+            .thenCompose(limits -> sendPartitioned(
+                batch.readValueIds,
+                limits.maxNodesPerRead,
+                part -> newRequestHeader().thenCompose(header -> this.<ReadResponse>sendRequest(
+                    new ReadRequest(
+                        header,
+                        batch.key.maxAge,
+                        batch.key.timestampsToReturn,
+                        a(part, ReadValueId.class))))))
+            .thenApply(responses -> combineReads(responses, batch.readValueIds.size()))
+            .whenComplete((response, ex) -> {
+                if (response != null) batch.response.complete(response);
+                else batch.response.completeExceptionally(ex);
+            });
+    }
+
+    private void flush(WriteBatch batch) {
+        synchronized (this) {
+            // Already flushed by flushNow().
+            if (writeBatch != batch) return;
+
+            writeBatch = null;
+        }
+
+        getOperationLimits()
+            .thenCompose(limits -> sendPartitioned(
+                batch.writeValues,
+                limits.maxNodesPerWrite,
+                part -> newRequestHeader().thenCompose(header -> this.<WriteResponse>sendRequest(
+                    new WriteRequest(header, a(part, WriteValue.class))))))
+            .thenApply(responses -> combineWrites(responses, batch.writeValues.size()))
+            .whenComplete((response, ex) -> {
+                if (response != null) batch.response.complete(response);
+                else batch.response.completeExceptionally(ex);
+            });
+    }
+
+    /**
+     * Send {@code items} in parts of at most {@code maxPerRequest} items, all at once.
+     *
+     * @return the responses to each part, in order.
+     */
+    private static <T, R> CompletableFuture<List<R>> sendPartitioned(List<T> items,
+                                                                    long maxPerRequest,
+                                                                    Function<List<T>, CompletableFuture<R>> send) {
+
+        int partitionSize = maxPerRequest > 0 && maxPerRequest < items.size() ?
+            (int) maxPerRequest : items.size();
+
+        List<CompletableFuture<R>> parts = Lists.partition(items, partitionSize).stream()
+            .map(send)
+            .collect(Collectors.toList());
+
+        return FutureUtils.sequence(parts);
+    }
+
+    private static ReadResponse combineReads(List<ReadResponse> responses, int expected) {
+        List<DataValue> results = new ArrayList<>(expected);
+        List<DiagnosticInfo> diagnosticInfos = new ArrayList<>(expected);
+        boolean hasDiagnosticInfos = false;
+
+        for (ReadResponse response : responses) {
+            DataValue[] partResults = response.getResults() != null ? response.getResults() : new DataValue[0];
+            DiagnosticInfo[] partDiagnosticInfos = response.getDiagnosticInfos();
+
+            for (int i = 0; i < partResults.length; i++) {
+                results.add(partResults[i]);
+
+                if (partDiagnosticInfos != null && i < partDiagnosticInfos.length) {
+                    diagnosticInfos.add(partDiagnosticInfos[i]);
+                    hasDiagnosticInfos = true;
+                } else {
+                    diagnosticInfos.add(null);
+                }
+            }
+        }
+
+        checkResultCount(results.size(), expected);
+
+        return new ReadResponse(
+            responses.get(0).getResponseHeader(),
+            a(results, DataValue.class),
+            hasDiagnosticInfos ? a(diagnosticInfos, DiagnosticInfo.class) : null);
+    }
+
+    private static WriteResponse combineWrites(List<WriteResponse> responses, int expected) {
+        List<StatusCode> results = new ArrayList<>(expected);
+        List<DiagnosticInfo> diagnosticInfos = new ArrayList<>(expected);
+        boolean hasDiagnosticInfos = false;
+
+        for (WriteResponse response : responses) {
+            StatusCode[] partResults = response.getResults() != null ? response.getResults() : new StatusCode[0];
+            DiagnosticInfo[] partDiagnosticInfos = response.getDiagnosticInfos();
+
+            for (int i = 0; i < partResults.length; i++) {
+                results.add(partResults[i]);
+
+                if (partDiagnosticInfos != null && i < partDiagnosticInfos.length) {
+                    diagnosticInfos.add(partDiagnosticInfos[i]);
+                    hasDiagnosticInfos = true;
+                } else {
+                    diagnosticInfos.add(null);
+                }
+            }
+        }
+
+        checkResultCount(results.size(), expected);
+
+        return new WriteResponse(
+            responses.get(0).getResponseHeader(),
+            a(results, StatusCode.class),
+            hasDiagnosticInfos ? a(diagnosticInfos, DiagnosticInfo.class) : null);
+    }
+
+    private static void checkResultCount(int actual, int expected) {
+        if (actual != expected) {
+            throw new UaRuntimeException(
+                StatusCodes.Bad_UnexpectedError,
+                String.format("expected %d results, server returned %d", expected, actual));
+        }
+    }
+
+    private synchronized CompletableFuture<OperationLimits> getOperationLimits() {
+        if (operationLimits == null || operationLimits.isCompletedExceptionally()) {
+            operationLimits = readOperationLimits();
+        }
+
+        return operationLimits;
+    }
+
+    private CompletableFuture<OperationLimits> readOperationLimits() {
+        ReadValueId[] readValueIds = new ReadValueId[]{
+            new ReadValueId(
+                Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerRead,
+                AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE),
+            new ReadValueId(
+                Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerWrite,
+                AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE)
+        };
+
+        return newRequestHeader()
+            .thenCompose(header -> this.<ReadResponse>sendRequest(
+                new ReadRequest(header, 0.0, TimestampsToReturn.Neither, readValueIds)))
+            .thenApply(response -> {
+                DataValue[] results = response.getResults();
+
+                OperationLimits limits = new OperationLimits(
+                    results != null && results.length > 0 ? limit(results[0]) : 0L,
+                    results != null && results.length > 1 ? limit(results[1]) : 0L
+                );
+
+                logger.debug("Server OperationLimits: maxNodesPerRead={}, maxNodesPerWrite={}",
+                    limits.maxNodesPerRead, limits.maxNodesPerWrite);
+
+                return limits;
+            });
+    }
+
+    /**
+     * @return the limit in {@code value}, or 0 (no limit) if the server doesn't have one.
+     */
+    private static long limit(DataValue value) {
+        StatusCode statusCode = value.getStatusCode();
+        Object limit = value.getValue() != null ? value.getValue().getValue() : null;
+
+        if ((statusCode == null || statusCode.isGood()) && limit instanceof UInteger) {
+            return ((UInteger) limit).longValue();
+        } else {
+            return 0L;
+        }
+    }
+
+    private static final class OperationLimits {
+
+        private final long maxNodesPerRead;
+        private final long maxNodesPerWrite;
+
+        private OperationLimits(long maxNodesPerRead, long maxNodesPerWrite) {
+            this.maxNodesPerRead = maxNodesPerRead;
+            this.maxNodesPerWrite = maxNodesPerWrite;
+        }
+
+    }
+
+    private static final class ReadBatchKey {
+
+        private final double maxAge;
+        private final TimestampsToReturn timestampsToReturn;
+
+        private ReadBatchKey(double maxAge, TimestampsToReturn timestampsToReturn) {
+            this.maxAge = maxAge;
+            this.timestampsToReturn = timestampsToReturn;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ReadBatchKey that = (ReadBatchKey) o;
+
+            return Double.compare(that.maxAge, maxAge) == 0 &&
+                timestampsToReturn == that.timestampsToReturn;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(maxAge, timestampsToReturn);
+        }
+
+    }
+
+    private static final class ReadKey {
+
+        private final ReadBatchKey batchKey;
+        private final NodeId nodeId;
+        private final UInteger attributeId;
+        private final String indexRange;
+        private final QualifiedName dataEncoding;
+
+        private ReadKey(ReadBatchKey batchKey, ReadValueId readValueId) {
+            this.batchKey = batchKey;
+            this.nodeId = readValueId.getNodeId();
+            this.attributeId = readValueId.getAttributeId();
+            this.indexRange = readValueId.getIndexRange();
+            this.dataEncoding = readValueId.getDataEncoding();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ReadKey that = (ReadKey) o;
+
+            return batchKey.equals(that.batchKey) &&
+                Objects.equals(nodeId, that.nodeId) &&
+                Objects.equals(attributeId, that.attributeId) &&
+                Objects.equals(indexRange, that.indexRange) &&
+                Objects.equals(dataEncoding, that.dataEncoding);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(batchKey, nodeId, attributeId, indexRange, dataEncoding);
+        }
+
+    }
+
+    /**
+     * A node read queued in, or sent as part of, a {@link ReadBatch}.
+     */
+    private static final class QueuedRead {
+
+        private final ReadKey key;
+        private final ReadBatch batch;
+        private final int index;
+
+        private QueuedRead(ReadKey key, ReadBatch batch, int index) {
+            this.key = key;
+            this.batch = batch;
+            this.index = index;
+        }
+
+    }
+
+    private static final class ReadBatch {
+
+        private final CompletableFuture<ReadResponse> response = new CompletableFuture<>();
+
+        private final List<ReadValueId> readValueIds = new ArrayList<>();
+        private final List<QueuedRead> reads = new ArrayList<>();
+
+        private final ReadBatchKey key;
+
+        private ReadBatch(ReadBatchKey key) {
+            this.key = key;
+        }
+
+        private QueuedRead add(ReadKey readKey, ReadValueId readValueId) {
+            QueuedRead read = new QueuedRead(readKey, this, readValueIds.size());
+
+            readValueIds.add(readValueId);
+            reads.add(read);
+
+            return read;
+        }
+
+    }
+
+    private static final class WriteBatch {
+
+        private final CompletableFuture<WriteResponse> response = new CompletableFuture<>();
+
+        private final List<WriteValue> writeValues = new ArrayList<>();
+
+    }
+
+}
@@ -13,6 +13,7 @@
 
 package org.eclipse.milo.opcua.sdk.client.api.config;
 
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -53,6 +54,27 @@ public interface OpcUaClientConfig extends UaTcpStackClientConfig {
      */
     IdentityProvider getIdentityProvider();
 
+    /**
+     * @return the {@link ExecutorService} subscription notifications and service faults are delivered to listeners
+     * on. Unless configured separately, this is the same as {@link #getExecutor()}.
+     */
+    ExecutorService getEventExecutor();
+
+    /**
+     * If {@code true}, reads and writes issued within {@link #getRequestBatchingDelayMicros()} of each other are sent
+     * together in one ReadRequest or WriteRequest, identical reads already in flight are shared, and requests larger
+     * than the server's OperationLimits allow are split into several.
+     *
+     * @return {@code true} if reads and writes are batched.
+     */
+    boolean isRequestBatchingEnabled();
+
+    /**
+     * @return the time, in microseconds, a read or write waits for others to batch it with, when request batching is
+     * enabled.
+     */
+    long getRequestBatchingDelayMicros();
+
     /**
      * @return a new {@link OpcUaClientConfigBuilder}.
      */
@@ -82,9 +104,15 @@ public interface OpcUaClientConfig extends UaTcpStackClientConfig {
         builder.setChannelConfig(config.getChannelConfig());
         builder.setChannelLifetime(config.getChannelLifetime());
         builder.setExecutor(config.getExecutor());
+        builder.setSerializationExecutor(config.getSerializationExecutor());
         builder.setEventLoop(config.getEventLoop());
         builder.setWheelTimer(config.getWheelTimer());
         builder.setSecureChannelReauthenticationEnabled(config.isSecureChannelReauthenticationEnabled());
+        builder.setTcpNoDelayEnabled(config.isTcpNoDelayEnabled());
+        builder.setTcpQuickAckEnabled(config.isTcpQuickAckEnabled());
+        builder.setMaxInFlightRequests(config.getMaxInFlightRequests());
+        builder.setMaxQueuedRequests(config.getMaxQueuedRequests());
+        builder.setRequestOverflowPolicy(config.getRequestOverflowPolicy());
 
         // OpcUaClientConfig values
         builder.setSessionName(config.getSessionName());
@@ -93,6 +121,9 @@ public interface OpcUaClientConfig extends UaTcpStackClientConfig {
         builder.setMaxResponseMessageSize(config.getMaxResponseMessageSize());
         builder.setMaxPendingPublishRequests(config.getMaxPendingPublishRequests());
         builder.setIdentityProvider(config.getIdentityProvider());
+        builder.setEventExecutor(config.getEventExecutor());
+        builder.setRequestBatchingEnabled(config.isRequestBatchingEnabled());
+        builder.setRequestBatchingDelayMicros(config.getRequestBatchingDelayMicros());
 
         return builder;
     }
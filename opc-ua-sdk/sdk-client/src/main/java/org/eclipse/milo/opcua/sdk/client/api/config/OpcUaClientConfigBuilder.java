@@ -19,10 +19,12 @@ import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
-import io.netty.channel.nio.NioEventLoopGroup;
+import com.google.common.base.Preconditions;
+import io.netty.channel.EventLoopGroup;
 import io.netty.util.HashedWheelTimer;
 import org.eclipse.milo.opcua.sdk.client.api.identity.AnonymousProvider;
 import org.eclipse.milo.opcua.sdk.client.api.identity.IdentityProvider;
+import org.eclipse.milo.opcua.stack.client.config.RequestOverflowPolicy;
 import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
 import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfigBuilder;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
@@ -41,6 +43,9 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
     private UInteger requestTimeout = uint(60000);
     private UInteger maxPendingPublishRequests = uint(UInteger.MAX_VALUE);
     private IdentityProvider identityProvider = new AnonymousProvider();
+    private ExecutorService eventExecutor;
+    private boolean requestBatchingEnabled = false;
+    private long requestBatchingDelayMicros = 1000L;
 
     public OpcUaClientConfigBuilder setSessionName(Supplier<String> sessionName) {
         this.sessionName = sessionName;
@@ -72,6 +77,21 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
         return this;
     }
 
+    public OpcUaClientConfigBuilder setEventExecutor(ExecutorService eventExecutor) {
+        this.eventExecutor = eventExecutor;
+        return this;
+    }
+
+    public OpcUaClientConfigBuilder setRequestBatchingEnabled(boolean requestBatchingEnabled) {
+        this.requestBatchingEnabled = requestBatchingEnabled;
+        return this;
+    }
+
+    public OpcUaClientConfigBuilder setRequestBatchingDelayMicros(long requestBatchingDelayMicros) {
+        this.requestBatchingDelayMicros = requestBatchingDelayMicros;
+        return this;
+    }
+
     @Override
     public OpcUaClientConfigBuilder setEndpointUrl(String endpointUrl) {
         super.setEndpointUrl(endpointUrl);
@@ -133,7 +153,13 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
     }
 
     @Override
-    public OpcUaClientConfigBuilder setEventLoop(NioEventLoopGroup eventLoop) {
+    public OpcUaClientConfigBuilder setSerializationExecutor(ExecutorService serializationExecutor) {
+        super.setSerializationExecutor(serializationExecutor);
+        return this;
+    }
+
+    @Override
+    public OpcUaClientConfigBuilder setEventLoop(EventLoopGroup eventLoop) {
         super.setEventLoop(eventLoop);
         return this;
     }
@@ -152,15 +178,55 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
         return this;
     }
 
+    @Override
+    public OpcUaClientConfigBuilder setTcpNoDelayEnabled(boolean tcpNoDelayEnabled) {
+        super.setTcpNoDelayEnabled(tcpNoDelayEnabled);
+        return this;
+    }
+
+    @Override
+    public OpcUaClientConfigBuilder setTcpQuickAckEnabled(boolean tcpQuickAckEnabled) {
+        super.setTcpQuickAckEnabled(tcpQuickAckEnabled);
+        return this;
+    }
+
+    @Override
+    public OpcUaClientConfigBuilder setMaxInFlightRequests(int maxInFlightRequests) {
+        super.setMaxInFlightRequests(maxInFlightRequests);
+        return this;
+    }
+
+    @Override
+    public OpcUaClientConfigBuilder setMaxQueuedRequests(int maxQueuedRequests) {
+        super.setMaxQueuedRequests(maxQueuedRequests);
+        return this;
+    }
+
+    @Override
+    public OpcUaClientConfigBuilder setRequestOverflowPolicy(RequestOverflowPolicy requestOverflowPolicy) {
+        super.setRequestOverflowPolicy(requestOverflowPolicy);
+        return this;
+    }
+
     public OpcUaClientConfig build() {
+        Preconditions.checkArgument(requestBatchingDelayMicros >= 0, "requestBatchingDelayMicros must be >= 0");
+
         UaTcpStackClientConfig stackClientConfig = super.build();
 
+        // Every request OpcUaClient sends belongs to its one session, which the server binds to a single channel.
+        Preconditions.checkArgument(stackClientConfig.getChannelPoolSize() == 1,
+            "channelPoolSize must be 1; OpcUaClient sends all requests on its session's secure channel");
+
         if (sessionName == null) {
             sessionName = () -> String.format("UaSession:%s:%s",
                 stackClientConfig.getApplicationName().getText(),
                 System.currentTimeMillis());
         }
 
+        if (eventExecutor == null) {
+            eventExecutor = stackClientConfig.getExecutor();
+        }
+
         return new OpcUaClientConfigImpl(
             stackClientConfig,
             sessionName,
@@ -168,7 +234,10 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
             maxResponseMessageSize,
             maxPendingPublishRequests,
             requestTimeout,
-            identityProvider);
+            identityProvider,
+            eventExecutor,
+            requestBatchingEnabled,
+            requestBatchingDelayMicros);
     }
 
     public static class OpcUaClientConfigImpl implements OpcUaClientConfig {
@@ -180,6 +249,9 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
         private final UInteger maxPendingPublishRequests;
         private final UInteger requestTimeout;
         private final IdentityProvider identityProvider;
+        private final ExecutorService eventExecutor;
+        private final boolean requestBatchingEnabled;
+        private final long requestBatchingDelayMicros;
 
         public OpcUaClientConfigImpl(UaTcpStackClientConfig stackClientConfig,
                                      Supplier<String> sessionName,
@@ -187,7 +259,10 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
                                      UInteger maxResponseMessageSize,
                                      UInteger maxPendingPublishRequests,
                                      UInteger requestTimeout,
-                                     IdentityProvider identityProvider) {
+                                     IdentityProvider identityProvider,
+                                     ExecutorService eventExecutor,
+                                     boolean requestBatchingEnabled,
+                                     long requestBatchingDelayMicros) {
 
             this.stackClientConfig = stackClientConfig;
             this.sessionName = sessionName;
@@ -196,6 +271,9 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
             this.maxPendingPublishRequests = maxPendingPublishRequests;
             this.requestTimeout = requestTimeout;
             this.identityProvider = identityProvider;
+            this.eventExecutor = eventExecutor;
+            this.requestBatchingEnabled = requestBatchingEnabled;
+            this.requestBatchingDelayMicros = requestBatchingDelayMicros;
         }
 
         @Override
@@ -228,6 +306,21 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
             return identityProvider;
         }
 
+        @Override
+        public ExecutorService getEventExecutor() {
+            return eventExecutor;
+        }
+
+        @Override
+        public boolean isRequestBatchingEnabled() {
+            return requestBatchingEnabled;
+        }
+
+        @Override
+        public long getRequestBatchingDelayMicros() {
+            return requestBatchingDelayMicros;
+        }
+
         @Override
         public Optional<String> getEndpointUrl() {
             return stackClientConfig.getEndpointUrl();
@@ -279,7 +372,12 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
         }
 
         @Override
-        public NioEventLoopGroup getEventLoop() {
+        public ExecutorService getSerializationExecutor() {
+            return stackClientConfig.getSerializationExecutor();
+        }
+
+        @Override
+        public EventLoopGroup getEventLoop() {
             return stackClientConfig.getEventLoop();
         }
 
@@ -293,6 +391,36 @@ public class OpcUaClientConfigBuilder extends UaTcpStackClientConfigBuilder {
             return stackClientConfig.isSecureChannelReauthenticationEnabled();
         }
 
+        @Override
+        public boolean isTcpNoDelayEnabled() {
+            return stackClientConfig.isTcpNoDelayEnabled();
+        }
+
+        @Override
+        public boolean isTcpQuickAckEnabled() {
+            return stackClientConfig.isTcpQuickAckEnabled();
+        }
+
+        @Override
+        public int getChannelPoolSize() {
+            return stackClientConfig.getChannelPoolSize();
+        }
+
+        @Override
+        public int getMaxInFlightRequests() {
+            return stackClientConfig.getMaxInFlightRequests();
+        }
+
+        @Override
+        public int getMaxQueuedRequests() {
+            return stackClientConfig.getMaxQueuedRequests();
+        }
+
+        @Override
+        public RequestOverflowPolicy getRequestOverflowPolicy() {
+            return stackClientConfig.getRequestOverflowPolicy();
+        }
+
     }
 
 }
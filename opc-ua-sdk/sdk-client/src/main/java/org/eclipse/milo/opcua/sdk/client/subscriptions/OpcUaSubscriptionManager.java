@@ -86,7 +86,7 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
     public OpcUaSubscriptionManager(OpcUaClient client) {
         this.client = client;
 
-        deliveryQueue = new ExecutionQueue(client.getConfig().getExecutor());
+        deliveryQueue = new ExecutionQueue(client.getConfig().getEventExecutor());
         processingQueue = new ExecutionQueue(client.getConfig().getExecutor());
 
         client.addSessionActivityListener(new SessionActivityListener() {
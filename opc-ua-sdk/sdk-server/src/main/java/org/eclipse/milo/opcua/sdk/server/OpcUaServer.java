@@ -160,7 +160,7 @@ public class OpcUaServer {
             }
         }
 
-        eventBus = new AsyncEventBus("server", stackServer.getExecutorService());
+        eventBus = new AsyncEventBus("server", config.getEventExecutor());
 
         logger.info("eclipse milo opc-ua stack version: {}", Stack.VERSION);
         logger.info("eclipse milo opc-ua sdk version: {}", SDK_VERSION);
@@ -16,6 +16,7 @@ package org.eclipse.milo.opcua.sdk.server.api.config;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -113,6 +114,12 @@ public interface OpcUaServerConfig extends UaTcpStackServerConfig {
      */
     Function<String, Set<String>> getHostnameResolver();
 
+    /**
+     * @return the {@link ExecutorService} server events are dispatched to subscribers on. Unless configured
+     * separately, this is the same as {@link #getExecutor()}.
+     */
+    ExecutorService getEventExecutor();
+
     /**
      * @return a {@link OpcUaServerConfigBuilder}.
      */
@@ -139,10 +146,20 @@ public interface OpcUaServerConfig extends UaTcpStackServerConfig {
         builder.setCertificateManager(config.getCertificateManager());
         builder.setCertificateValidator(config.getCertificateValidator());
         builder.setExecutor(config.getExecutor());
+        builder.setSerializationExecutor(config.getSerializationExecutor());
         builder.setUserTokenPolicies(config.getUserTokenPolicies());
         builder.setSoftwareCertificates(config.getSoftwareCertificates());
         builder.setChannelConfig(config.getChannelConfig());
         builder.setStrictEndpointUrlsEnabled(config.isStrictEndpointUrlsEnabled());
+        builder.setTcpNoDelayEnabled(config.isTcpNoDelayEnabled());
+        builder.setTcpQuickAckEnabled(config.isTcpQuickAckEnabled());
+        builder.setAcceptorCount(config.getAcceptorCount());
+        builder.setWriteBufferWaterMarks(config.getWriteBufferLowWaterMark(), config.getWriteBufferHighWaterMark());
+        builder.setSlowConsumerTimeout(config.getSlowConsumerTimeout());
+        builder.setSlowConsumerPolicy(config.getSlowConsumerPolicy());
+        builder.setMaxConcurrentRequestsPerSession(config.getMaxConcurrentRequestsPerSession());
+        builder.setMaxConcurrentRequests(config.getMaxConcurrentRequests());
+        builder.setRequestPriorityFunction(config.getRequestPriorityFunction());
 
         // OpcUaServerConfig values
         builder.setSecurityPolicies(config.getSecurityPolicies());
@@ -153,6 +170,7 @@ public interface OpcUaServerConfig extends UaTcpStackServerConfig {
         builder.setBuildInfo(config.getBuildInfo());
         builder.setLimits(config.getLimits());
         builder.setHostnameResolver(config.getHostnameResolver());
+        builder.setEventExecutor(config.getEventExecutor());
 
         return builder;
     }
@@ -29,11 +29,14 @@ import org.eclipse.milo.opcua.stack.core.application.CertificateManager;
 import org.eclipse.milo.opcua.stack.core.application.CertificateValidator;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.structured.BuildInfo;
 import org.eclipse.milo.opcua.stack.core.types.structured.SignedSoftwareCertificate;
 import org.eclipse.milo.opcua.stack.core.types.structured.UserTokenPolicy;
+import org.eclipse.milo.opcua.stack.server.config.RequestPriority;
+import org.eclipse.milo.opcua.stack.server.config.SlowConsumerPolicy;
 import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfig;
 import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfigBuilder;
 
@@ -56,6 +59,8 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         new OpcUaServerConfigLimits() {
         };
 
+    private ExecutorService eventExecutor;
+
     public OpcUaServerConfigBuilder setHostname(String hostname) {
         this.hostname = hostname;
         return this;
@@ -96,6 +101,11 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         return this;
     }
 
+    public OpcUaServerConfigBuilder setEventExecutor(ExecutorService eventExecutor) {
+        this.eventExecutor = eventExecutor;
+        return this;
+    }
+
     @Override
     public OpcUaServerConfigBuilder setServerName(String serverName) {
         super.setServerName(serverName);
@@ -150,6 +160,12 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         return this;
     }
 
+    @Override
+    public OpcUaServerConfigBuilder setSerializationExecutor(ExecutorService serializationExecutor) {
+        super.setSerializationExecutor(serializationExecutor);
+        return this;
+    }
+
     @Override
     public OpcUaServerConfigBuilder setChannelConfig(ChannelConfig channelConfig) {
         super.setChannelConfig(channelConfig);
@@ -162,9 +178,69 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         return this;
     }
 
+    @Override
+    public OpcUaServerConfigBuilder setTcpNoDelayEnabled(boolean tcpNoDelayEnabled) {
+        super.setTcpNoDelayEnabled(tcpNoDelayEnabled);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setTcpQuickAckEnabled(boolean tcpQuickAckEnabled) {
+        super.setTcpQuickAckEnabled(tcpQuickAckEnabled);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setAcceptorCount(int acceptorCount) {
+        super.setAcceptorCount(acceptorCount);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setWriteBufferWaterMarks(int lowWaterMark, int highWaterMark) {
+        super.setWriteBufferWaterMarks(lowWaterMark, highWaterMark);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setSlowConsumerTimeout(long slowConsumerTimeout) {
+        super.setSlowConsumerTimeout(slowConsumerTimeout);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setSlowConsumerPolicy(SlowConsumerPolicy slowConsumerPolicy) {
+        super.setSlowConsumerPolicy(slowConsumerPolicy);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setMaxConcurrentRequestsPerSession(int maxConcurrentRequestsPerSession) {
+        super.setMaxConcurrentRequestsPerSession(maxConcurrentRequestsPerSession);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setMaxConcurrentRequests(int maxConcurrentRequests) {
+        super.setMaxConcurrentRequests(maxConcurrentRequests);
+        return this;
+    }
+
+    @Override
+    public OpcUaServerConfigBuilder setRequestPriorityFunction(
+        Function<UaRequestMessage, RequestPriority> requestPriorityFunction) {
+
+        super.setRequestPriorityFunction(requestPriorityFunction);
+        return this;
+    }
+
     public OpcUaServerConfig build() {
         UaTcpStackServerConfig stackServerConfig = super.build();
 
+        if (eventExecutor == null) {
+            eventExecutor = stackServerConfig.getExecutor();
+        }
+
         return new OpcUaServerConfigImpl(
             stackServerConfig,
             hostname,
@@ -174,7 +250,8 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
             identityValidator,
             buildInfo,
             limits,
-            hostnameResolver
+            hostnameResolver,
+            eventExecutor
         );
     }
 
@@ -199,6 +276,7 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
         private final BuildInfo buildInfo;
         private final OpcUaServerConfigLimits limits;
         private final Function<String, Set<String>> hostnameResolver;
+        private final ExecutorService eventExecutor;
 
         public OpcUaServerConfigImpl(UaTcpStackServerConfig stackServerConfig,
                                      String hostname,
@@ -208,7 +286,8 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
                                      IdentityValidator identityValidator,
                                      BuildInfo buildInfo,
                                      OpcUaServerConfigLimits limits,
-                                     Function<String, Set<String>> hostnameResolver) {
+                                     Function<String, Set<String>> hostnameResolver,
+                                     ExecutorService eventExecutor) {
 
             this.stackServerConfig = stackServerConfig;
 
@@ -220,6 +299,7 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
             this.buildInfo = buildInfo;
             this.limits = limits;
             this.hostnameResolver = hostnameResolver;
+            this.eventExecutor = eventExecutor;
         }
 
         @Override
@@ -292,6 +372,11 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
             return stackServerConfig.getExecutor();
         }
 
+        @Override
+        public ExecutorService getSerializationExecutor() {
+            return stackServerConfig.getSerializationExecutor();
+        }
+
         @Override
         public List<UserTokenPolicy> getUserTokenPolicies() {
             return stackServerConfig.getUserTokenPolicies();
@@ -312,11 +397,66 @@ public class OpcUaServerConfigBuilder extends UaTcpStackServerConfigBuilder {
             return stackServerConfig.isStrictEndpointUrlsEnabled();
         }
 
+        @Override
+        public boolean isTcpNoDelayEnabled() {
+            return stackServerConfig.isTcpNoDelayEnabled();
+        }
+
+        @Override
+        public boolean isTcpQuickAckEnabled() {
+            return stackServerConfig.isTcpQuickAckEnabled();
+        }
+
+        @Override
+        public int getAcceptorCount() {
+            return stackServerConfig.getAcceptorCount();
+        }
+
+        @Override
+        public int getWriteBufferLowWaterMark() {
+            return stackServerConfig.getWriteBufferLowWaterMark();
+        }
+
+        @Override
+        public int getWriteBufferHighWaterMark() {
+            return stackServerConfig.getWriteBufferHighWaterMark();
+        }
+
+        @Override
+        public long getSlowConsumerTimeout() {
+            return stackServerConfig.getSlowConsumerTimeout();
+        }
+
+        @Override
+        public SlowConsumerPolicy getSlowConsumerPolicy() {
+            return stackServerConfig.getSlowConsumerPolicy();
+        }
+
+        @Override
+        public int getMaxConcurrentRequestsPerSession() {
+            return stackServerConfig.getMaxConcurrentRequestsPerSession();
+        }
+
+        @Override
+        public int getMaxConcurrentRequests() {
+            return stackServerConfig.getMaxConcurrentRequests();
+        }
+
+        @Override
+        public Function<UaRequestMessage, RequestPriority> getRequestPriorityFunction() {
+            return stackServerConfig.getRequestPriorityFunction();
+        }
+
         @Override
         public Function<String, Set<String>> getHostnameResolver() {
             return hostnameResolver;
         }
 
+        @Override
+        public ExecutorService getEventExecutor() {
+            return eventExecutor;
+        }
+
     }
 
 }
@@ -443,6 +443,13 @@ public abstract class UaNode implements ServerNode {
         this.attributeDelegate.set(attributeDelegate);
     }
 
+    /**
+     * @return the {@link AttributeDelegate} for this node.
+     */
+    public AttributeDelegate getAttributeDelegate() {
+        return attributeDelegate.get();
+    }
+
     @Override
     public DataValue getAttribute(AttributeContext context, AttributeId attributeId) {
         return attributeDelegate.get().getAttribute(context, this, attributeId);
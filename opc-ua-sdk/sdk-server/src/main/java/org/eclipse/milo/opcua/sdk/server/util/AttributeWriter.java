@@ -17,6 +17,7 @@ import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nullable;
 
+import com.google.common.primitives.Primitives;
 import org.eclipse.milo.opcua.sdk.core.AccessLevel;
 import org.eclipse.milo.opcua.sdk.core.NumericRange;
 import org.eclipse.milo.opcua.sdk.core.ValueRanks;
@@ -207,8 +208,9 @@ public class AttributeWriter {
 
         Class<?> expected = TypeUtil.getBackingClass(dataType);
 
+        // primitive arrays, e.g. double[], are accepted wherever the boxed type is expected.
         Class<?> actual = o.getClass().isArray() ?
-            o.getClass().getComponentType() : o.getClass();
+            Primitives.wrap(o.getClass().getComponentType()) : o.getClass();
 
         if (expected == null) {
             throw new UaException(StatusCodes.Bad_TypeMismatch);
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Samples keys at fixed rates.
+ * <p>
+ * Keys with the same sampling interval are sampled together in groups that tick at a fixed rate, on deadlines
+ * aligned to {@link System#nanoTime()}, so the time a sample takes doesn't delay the ticks after it. A group never
+ * has more than one sample in progress; ticks missed while a sample was still in progress are skipped and counted as
+ * overruns, and ticks that start late are counted as late.
+ * <p>
+ * Once a group holds {@link #PHASE_CAPACITY} keys, further keys with the same interval go to additional groups
+ * ticking at offsets spread across the interval, so that large numbers of keys aren't all sampled at the same
+ * instant.
+ *
+ * @param <K> the type of key sampled.
+ */
+class SamplingScheduler<K> {
+
+    /**
+     * The most groups keys with the same sampling interval are spread over.
+     */
+    static final int MAX_PHASES = 8;
+
+    /**
+     * Groups with the same sampling interval tick at least this far apart, limiting the number of phases of short
+     * intervals.
+     */
+    static final long MIN_PHASE_SPACING_MILLIS = 25L;
+
+    /**
+     * The number of keys a group holds before keys with the same sampling interval are spread over another phase.
+     */
+    static final int PHASE_CAPACITY = 64;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<K, Group> groupsByKey = Maps.newConcurrentMap();
+    private final Map<Long, List<Group>> phasesByInterval = Maps.newConcurrentMap();
+
+    private final AtomicLong ticks = new AtomicLong(0L);
+    private final AtomicLong lateTicks = new AtomicLong(0L);
+    private final AtomicLong overrunTicks = new AtomicLong(0L);
+
+    private final long origin = System.nanoTime();
+
+    private final ScheduledExecutorService scheduler;
+    private final Function<List<K>, CompletableFuture<?>> sampler;
+
+    /**
+     * @param scheduler the {@link ScheduledExecutorService} ticks are scheduled on.
+     * @param sampler   samples a list of keys, completing once the sample is done; called on a {@code scheduler}
+     *                  thread, so it should hand off any real work.
+     */
+    SamplingScheduler(ScheduledExecutorService scheduler, Function<List<K>, CompletableFuture<?>> sampler) {
+        this.scheduler = scheduler;
+        this.sampler = sampler;
+    }
+
+    /**
+     * Start sampling {@code key} every {@code samplingInterval} milliseconds. The first sample is taken on the next
+     * tick of the group {@code key} is added to.
+     *
+     * @param key              the key to sample.
+     * @param samplingInterval the sampling interval, in milliseconds.
+     */
+    synchronized void add(K key, long samplingInterval) {
+        if (groupsByKey.containsKey(key)) return;
+
+        long interval = Math.max(samplingInterval, 1L);
+
+        List<Group> phases = phasesByInterval.computeIfAbsent(
+            interval, i -> Lists.newArrayList(Collections.nCopies(phaseCount(i), null)));
+
+        int phase = selectPhase(phases);
+
+        Group group = phases.get(phase);
+
+        if (group == null) {
+            group = new Group(interval, phase);
+            phases.set(phase, group);
+            group.start();
+        }
+
+        group.keys.add(key);
+        groupsByKey.put(key, group);
+    }
+
+    /**
+     * Stop sampling {@code key}.
+     *
+     * @param key the key to stop sampling.
+     */
+    synchronized void remove(K key) {
+        Group group = groupsByKey.remove(key);
+
+        if (group == null) return;
+
+        group.keys.remove(key);
+
+        if (group.keys.isEmpty()) {
+            group.cancel();
+
+            List<Group> phases = phasesByInterval.get(group.intervalMillis);
+            phases.set(group.phase, null);
+
+            if (phases.stream().allMatch(Objects::isNull)) {
+                phasesByInterval.remove(group.intervalMillis);
+            }
+        }
+    }
+
+    /**
+     * @return the number of groups currently ticking.
+     */
+    int getGroupCount() {
+        return phasesByInterval.values().stream()
+            .mapToInt(phases -> (int) phases.stream().filter(Objects::nonNull).count())
+            .sum();
+    }
+
+    /**
+     * @return the total number of ticks.
+     */
+    long getTickCount() {
+        return ticks.get();
+    }
+
+    /**
+     * @return the total number of ticks that started more than a quarter of their interval after their deadline.
+     */
+    long getLateTickCount() {
+        return lateTicks.get();
+    }
+
+    /**
+     * @return the total number of ticks skipped because the previous sample of their group was still in progress.
+     */
+    long getOverrunTickCount() {
+        return overrunTicks.get();
+    }
+
+    private static int phaseCount(long interval) {
+        return (int) Math.max(1L, Math.min(MAX_PHASES, interval / MIN_PHASE_SPACING_MILLIS));
+    }
+
+    /**
+     * Choose the phase for a new key: the least loaded group that isn't full, or else a new group, or else the least
+     * loaded group.
+     */
+    private int selectPhase(List<Group> phases) {
+        int selected = -1;
+
+        for (int i = 0; i < phases.size(); i++) {
+            Group g = phases.get(i);
+
+            if (g != null && g.keys.size() < PHASE_CAPACITY &&
+                (selected == -1 || g.keys.size() < phases.get(selected).keys.size())) {
+
+                selected = i;
+            }
+        }
+
+        if (selected != -1) return selected;
+
+        int empty = phases.indexOf(null);
+        if (empty != -1) return empty;
+
+        selected = 0;
+        for (int i = 1; i < phases.size(); i++) {
+            if (phases.get(i).keys.size() < phases.get(selected).keys.size()) selected = i;
+        }
+
+        return selected;
+    }
+
+    /**
+     * @return the offset of {@code phase} as a fraction of the interval. Successive phases bisect the largest gap
+     * left by the ones before them: 0, 1/2, 1/4, 3/4, 1/8...
+     */
+    static double phaseOffset(int phase) {
+        double offset = 0.0;
+        double fraction = 0.5;
+
+        while (phase > 0) {
+            if ((phase & 1) != 0) offset += fraction;
+            fraction /= 2;
+            phase >>= 1;
+        }
+
+        return offset;
+    }
+
+    private class Group {
+
+        private volatile boolean cancelled = false;
+
+        private final Set<K> keys = Sets.newConcurrentHashSet();
+
+        private final long intervalMillis;
+        private final long interval;
+        private final long offset;
+        private final int phase;
+
+        private Group(long intervalMillis, int phase) {
+            this.intervalMillis = intervalMillis;
+            this.phase = phase;
+
+            interval = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+            offset = (long) (interval * phaseOffset(phase));
+        }
+
+        private void start() {
+            long elapsed = System.nanoTime() - origin - offset;
+            long ticksElapsed = elapsed <= 0 ? 0 : (elapsed + interval - 1) / interval;
+
+            schedule(origin + offset + ticksElapsed * interval);
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private void schedule(long deadline) {
+            scheduler.schedule(() -> tick(deadline), deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private void tick(long deadline) {
+            if (cancelled) return;
+
+            ticks.incrementAndGet();
+
+            if (System.nanoTime() - deadline > interval / 4) {
+                lateTicks.incrementAndGet();
+            }
+
+            List<K> sampled = ImmutableList.copyOf(keys);
+
+            CompletableFuture<?> sample;
+
+            try {
+                sample = sampler.apply(sampled);
+            } catch (Throwable t) {
+                sample = new CompletableFuture<>();
+                sample.completeExceptionally(t);
+            }
+
+            sample.whenComplete((r, ex) -> {
+                if (ex != null) {
+                    logger.warn("Sampling {} keys at {}ms failed.", sampled.size(), intervalMillis, ex);
+                }
+
+                scheduleNext(deadline);
+            });
+        }
+
+        private void scheduleNext(long deadline) {
+            if (cancelled) return;
+
+            long next = deadline + interval;
+            long now = System.nanoTime();
+
+            if (now > next) {
+                long missed = (now - deadline) / interval;
+
+                overrunTicks.addAndGet(missed);
+                next = deadline + (missed + 1) * interval;
+
+                logger.debug("Sampling at {}ms overran; {} ticks skipped.", intervalMillis, missed);
+            }
+
+            schedule(next);
+        }
+
+    }
+
+}
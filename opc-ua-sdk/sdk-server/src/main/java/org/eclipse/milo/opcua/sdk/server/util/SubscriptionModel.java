@@ -15,16 +15,17 @@ package org.eclipse.milo.opcua.sdk.server.util;
 
 import java.math.RoundingMode;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.math.DoubleMath;
@@ -34,136 +35,549 @@ import org.eclipse.milo.opcua.sdk.server.api.AttributeManager;
 import org.eclipse.milo.opcua.sdk.server.api.AttributeManager.ReadContext;
 import org.eclipse.milo.opcua.sdk.server.api.DataItem;
 import org.eclipse.milo.opcua.sdk.server.api.MonitoredItem;
+import org.eclipse.milo.opcua.sdk.server.nodes.AttributeObserver;
+import org.eclipse.milo.opcua.sdk.server.nodes.ServerNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.sdk.server.nodes.delegates.AttributeDelegate;
 import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
 import org.eclipse.milo.opcua.stack.core.util.ExecutionQueue;
 
+/**
+ * Samples the {@link DataItem}s of a namespace.
+ * <p>
+ * Items that read the same thing at the same sampling interval, no matter which subscription or session they belong
+ * to, share a single read per sample; the value read is handed to each of them and each applies its own filter.
+ */
 public class SubscriptionModel {
 
-    private final Set<DataItem> itemSet = Collections.newSetFromMap(Maps.newConcurrentMap());
-
-    private final List<ScheduledUpdate> schedule = Lists.newCopyOnWriteArrayList();
+    /**
+     * Whether each {@link UaVariableNode} subclass reports the value it was last given by
+     * {@link UaVariableNode#setValue(DataValue)}, i.e. doesn't override {@link UaVariableNode#getValue()}.
+     */
+    private static final Map<Class<?>, Boolean> VALUE_STORED = Maps.newConcurrentMap();
+
+    /**
+     * The items created and not yet deleted, and the key each is sampled by, if sampling is enabled; only accessed
+     * from the execution queue.
+     */
+    private final Map<DataItem, Optional<SamplingKey>> itemKeys = Maps.newHashMap();
+
+    /**
+     * The items sampled by each key; a key is registered while it has any items.
+     */
+    private final Map<SamplingKey, List<DataItem>> itemsByKey = Maps.newConcurrentMap();
+
+    /**
+     * The latest sample of each sampled key; a key is registered here while it's sampled.
+     */
+    private final Map<SamplingKey, LatestSample> latestSamples = Maps.newConcurrentMap();
+
+    /**
+     * Reporters for the items reported when their value is set instead of sampled; only accessed from the
+     * execution queue.
+     */
+    private final Map<SamplingKey, ValueReporter> reporters = Maps.newHashMap();
+
+    private final AtomicLong samplesRead = new AtomicLong(0L);
+    private final AtomicLong valuesDelivered = new AtomicLong(0L);
 
     private final ExecutorService executor;
     private final ScheduledExecutorService scheduler;
     private final ExecutionQueue executionQueue;
+    private final SamplingScheduler<SamplingKey> samplingScheduler;
 
     private final OpcUaServer server;
     private final AttributeManager attributeServices;
+    private final boolean exceptionBasedReporting;
 
     public SubscriptionModel(OpcUaServer server, AttributeManager attributeServices) {
+        this(server, attributeServices, false);
+    }
+
+    /**
+     * @param server                  the {@link OpcUaServer}.
+     * @param attributeServices       the {@link AttributeManager} items are sampled through.
+     * @param exceptionBasedReporting if {@code true}, items monitoring the Value of a {@link UaVariableNode} whose
+     *                                value is only ever changed by {@link UaVariableNode#setValue(DataValue)} are
+     *                                reported when the value is set instead of being sampled, at most once per
+     *                                sampling interval. All other items are sampled.
+     */
+    public SubscriptionModel(OpcUaServer server, AttributeManager attributeServices, boolean exceptionBasedReporting) {
         this.server = server;
 
         this.attributeServices = attributeServices;
+        this.exceptionBasedReporting = exceptionBasedReporting;
 
         executor = server.getExecutorService();
         scheduler = server.getScheduledExecutorService();
 
         executionQueue = new ExecutionQueue(executor);
+        samplingScheduler = new SamplingScheduler<>(scheduler, this::sample);
     }
 
     public void onDataItemsCreated(List<DataItem> items) {
-        executionQueue.submit(() -> {
-            itemSet.addAll(items);
-            reschedule();
-        });
+        executionQueue.submit(() -> update(items));
     }
 
     public void onDataItemsModified(List<DataItem> items) {
-        executionQueue.submit(this::reschedule);
+        executionQueue.submit(() -> update(items));
     }
 
     public void onDataItemsDeleted(List<DataItem> items) {
         executionQueue.submit(() -> {
-            itemSet.removeAll(items);
-            reschedule();
+            for (DataItem item : items) {
+                Optional<SamplingKey> key = itemKeys.remove(item);
+
+                if (key != null && key.isPresent()) {
+                    leave(item, key.get());
+                }
+            }
         });
     }
 
     public void onMonitoringModeChanged(List<MonitoredItem> items) {
-        executionQueue.submit(this::reschedule);
+        executionQueue.submit(() -> {
+            List<DataItem> dataItems = items.stream()
+                .filter(itemKeys::containsKey)
+                .map(DataItem.class::cast)
+                .collect(Collectors.toList());
+
+            update(dataItems);
+        });
+    }
+
+    /**
+     * @return the number of items being sampled or reported.
+     */
+    public int getItemCount() {
+        return itemsByKey.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * @return the number of distinct reads made per sample of all items; items that read the same attribute of the
+     * same node with the same index range at the same sampling interval count once.
+     */
+    public int getSamplingKeyCount() {
+        return itemsByKey.size();
     }
 
-    private void reschedule() {
-        Map<Double, List<DataItem>> bySamplingInterval = itemSet.stream()
-            .filter(DataItem::isSamplingEnabled)
-            .collect(Collectors.groupingBy(DataItem::getSamplingInterval));
+    /**
+     * @return {@link #getItemCount()} divided by {@link #getSamplingKeyCount()}, i.e. the number of items each read
+     * serves on average, or 1 if there are no items.
+     */
+    public double getDeduplicationRatio() {
+        int keys = getSamplingKeyCount();
 
-        List<ScheduledUpdate> updates = bySamplingInterval.keySet().stream()
-            .map(samplingInterval -> {
-                List<DataItem> items = bySamplingInterval.get(samplingInterval);
+        return keys > 0 ? (double) getItemCount() / keys : 1.0;
+    }
+
+    /**
+     * @return the total number of values read, one per distinct read per sample.
+     */
+    public long getSamplesRead() {
+        return samplesRead.get();
+    }
+
+    /**
+     * @return the total number of values handed to items; each value read is handed to every item sharing it.
+     */
+    public long getValuesDelivered() {
+        return valuesDelivered.get();
+    }
+
+    /**
+     * @return the total number of sampling ticks that started more than a quarter of their sampling interval late.
+     */
+    public long getLateSampleCount() {
+        return samplingScheduler.getLateTickCount();
+    }
+
+    /**
+     * @return the total number of sampling ticks skipped because the previous sample was still being read.
+     */
+    public long getOverrunSampleCount() {
+        return samplingScheduler.getOverrunTickCount();
+    }
+
+    /**
+     * Move each of {@code items} to the key it's now sampled by, if that changed, and sample the keys that have no
+     * value yet.
+     */
+    private void update(List<DataItem> items) {
+        List<SamplingKey> unsampled = Lists.newArrayList();
+
+        for (DataItem item : items) {
+            Optional<SamplingKey> key = item.isSamplingEnabled() ?
+                Optional.of(new SamplingKey(item)) : Optional.empty();
+
+            Optional<SamplingKey> previous = itemKeys.put(item, key);
+
+            if (key.equals(previous)) continue;
+
+            if (previous != null && previous.isPresent()) {
+                leave(item, previous.get());
+            }
+
+            if (key.isPresent() && join(item, key.get())) {
+                unsampled.add(key.get());
+            }
+        }
 
-                return new ScheduledUpdate(samplingInterval, items);
-            })
+        if (!unsampled.isEmpty()) {
+            sample(unsampled);
+        }
+    }
+
+    /**
+     * Add {@code item} to the items sampled by {@code key}, registering {@code key} if it's the first.
+     *
+     * @return {@code true} if {@code key} was registered and should be sampled now to get its first value, rather
+     * than waiting for the next tick. An item joining a key that's already sampled is handed the key's latest sample
+     * instead.
+     */
+    private boolean join(DataItem item, SamplingKey key) {
+        List<DataItem> items = itemsByKey.get(key);
+
+        if (items == null) {
+            items = Lists.newCopyOnWriteArrayList();
+            items.add(item);
+            itemsByKey.put(key, items);
+
+            UaVariableNode node = exceptionBasedReporting ? getReportingNode(key) : null;
+
+            if (node != null) {
+                ValueReporter reporter = new ValueReporter(key, node);
+                reporters.put(key, reporter);
+                reporter.start();
+
+                return false;
+            } else {
+                latestSamples.put(key, new LatestSample());
+                samplingScheduler.add(key, DoubleMath.roundToLong(key.samplingInterval, RoundingMode.UP));
+
+                return true;
+            }
+        } else {
+            LatestSample latest = latestSamples.get(key);
+
+            if (latest != null) {
+                // Added under the lock so no sample is delivered between adding the item and handing it the latest.
+                synchronized (latest) {
+                    items.add(item);
+
+                    if (latest.value != null) {
+                        deliver(Collections.singletonList(item), latest.value);
+                    }
+                }
+            } else {
+                items.add(item);
+
+                reporters.get(key).valueChanged();
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Remove {@code item} from the items sampled by {@code key}, unregistering {@code key} if it was the last.
+     */
+    private void leave(DataItem item, SamplingKey key) {
+        List<DataItem> items = itemsByKey.get(key);
+
+        if (items == null) return;
+
+        items.remove(item);
+
+        if (items.isEmpty()) {
+            itemsByKey.remove(key);
+
+            ValueReporter reporter = reporters.remove(key);
+
+            if (reporter != null) {
+                reporter.stop();
+            } else {
+                latestSamples.remove(key);
+                samplingScheduler.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Read {@code keys} once each and hand the values to the items currently sampled by them, unless a read of the
+     * same key made later has been handed to them already.
+     */
+    private CompletableFuture<Void> sample(List<SamplingKey> keys) {
+        long[] sequences = new long[keys.size()];
+
+        for (int i = 0; i < keys.size(); i++) {
+            LatestSample latest = latestSamples.get(keys.get(i));
+
+            sequences[i] = latest != null ? latest.nextSequence() : 0L;
+        }
+
+        return read(keys).thenAcceptAsync(values -> {
+            for (int i = 0; i < keys.size(); i++) {
+                samplesRead.incrementAndGet();
+
+                LatestSample latest = latestSamples.get(keys.get(i));
+
+                if (latest == null) continue;
+
+                synchronized (latest) {
+                    if (sequences[i] <= latest.sequenceDelivered) continue;
+
+                    latest.sequenceDelivered = sequences[i];
+                    latest.value = values.get(i);
+
+                    List<DataItem> items = itemsByKey.get(keys.get(i));
+
+                    if (items != null) {
+                        deliver(items, values.get(i));
+                    }
+                }
+            }
+        }, executor);
+    }
+
+    /**
+     * @return the values read for {@code keys}.
+     */
+    private CompletableFuture<List<DataValue>> read(List<SamplingKey> keys) {
+        List<ReadValueId> ids = keys.stream()
+            .map(key -> key.readValueId)
             .collect(Collectors.toList());
 
-        schedule.forEach(ScheduledUpdate::cancel);
-        schedule.clear();
-        schedule.addAll(updates);
-        schedule.forEach(scheduler::execute);
+        CompletableFuture<List<DataValue>> future = new CompletableFuture<>();
+
+        ReadContext context = new ReadContext(
+            server, null, future, new DiagnosticsContext<>());
+
+        executor.execute(() -> attributeServices.read(context, 0d, TimestampsToReturn.Both, ids));
+
+        return future;
+    }
+
+    /**
+     * @return the node whose value items with {@code key} monitor, if its value can only change through
+     * {@link UaVariableNode#setValue(DataValue)} and it can be reported on change; {@code null} otherwise.
+     */
+    private UaVariableNode getReportingNode(SamplingKey key) {
+        if (!AttributeId.Value.isEqual(key.attributeId)) return null;
+
+        ServerNode node = server.getNodeMap().get(key.nodeId);
+
+        if (!(node instanceof UaVariableNode)) return null;
+
+        UaVariableNode variableNode = (UaVariableNode) node;
+
+        if (variableNode.getAttributeDelegate() != AttributeDelegate.DEFAULT) return null;
+
+        boolean valueStored = VALUE_STORED.computeIfAbsent(variableNode.getClass(), clazz -> {
+            try {
+                return clazz.getMethod("getValue").getDeclaringClass() == UaVariableNode.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        });
+
+        return valueStored ? variableNode : null;
+    }
+
+    private void deliver(List<DataItem> items, DataValue value) {
+        for (DataItem item : items) {
+            item.setValue(derivedValue(item, value));
+        }
+
+        valuesDelivered.addAndGet(items.size());
+    }
+
+    private static DataValue derivedValue(DataItem item, DataValue value) {
+        TimestampsToReturn timestamps = item.getTimestampsToReturn();
+
+        if (timestamps != null) {
+            UInteger attributeId = item.getReadValueId().getAttributeId();
+
+            value = (AttributeId.Value.isEqual(attributeId)) ?
+                DataValue.derivedValue(value, timestamps) :
+                DataValue.derivedNonValue(value, timestamps);
+        }
+
+        return value;
+    }
+
+    /**
+     * Identifies what a sample of an item reads and how often; items with equal keys share their samples.
+     */
+    private static final class SamplingKey {
+
+        private final NodeId nodeId;
+        private final UInteger attributeId;
+        private final String indexRange;
+        private final QualifiedName dataEncoding;
+        private final double samplingInterval;
+
+        private final ReadValueId readValueId;
+
+        private SamplingKey(DataItem item) {
+            readValueId = item.getReadValueId();
+
+            nodeId = readValueId.getNodeId();
+            attributeId = readValueId.getAttributeId();
+            indexRange = readValueId.getIndexRange();
+            dataEncoding = readValueId.getDataEncoding();
+            samplingInterval = item.getSamplingInterval();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            SamplingKey that = (SamplingKey) o;
+
+            return Double.compare(that.samplingInterval, samplingInterval) == 0 &&
+                Objects.equal(nodeId, that.nodeId) &&
+                Objects.equal(attributeId, that.attributeId) &&
+                Objects.equal(indexRange, that.indexRange) &&
+                Objects.equal(dataEncoding, that.dataEncoding);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(nodeId, attributeId, indexRange, dataEncoding, samplingInterval);
+        }
+
+    }
+
+    /**
+     * The latest value read for a sampled key, and the sequence numbers of its reads. Reads may complete out of
+     * order; a read is only handed to the key's items if no later read has been, so their values never go back in
+     * time.
+     */
+    private static final class LatestSample {
+
+        private final AtomicLong sequence = new AtomicLong(0L);
+
+        /**
+         * The sequence number of the read {@link #value} came from; guarded by {@code this}.
+         */
+        private long sequenceDelivered = 0L;
+
+        /**
+         * The latest value delivered, or {@code null} if none yet; guarded by {@code this}.
+         */
+        private DataValue value;
+
+        private long nextSequence() {
+            return sequence.incrementAndGet();
+        }
+
     }
 
-    private class ScheduledUpdate implements Runnable {
+    /**
+     * Reports the value of a node to the {@link DataItem}s monitoring it each time it's set, but no more often than
+     * their sampling interval; the latest value is reported once the interval has elapsed.
+     */
+    private class ValueReporter implements AttributeObserver {
 
-        private volatile boolean cancelled = false;
+        private volatile boolean stopped = false;
 
+        private boolean changed = false;
+        private boolean scheduled = false;
+        private long lastReport;
+
+        private final SamplingKey key;
+        private final UaVariableNode node;
         private final long samplingInterval;
-        private final List<DataItem> items;
 
-        private ScheduledUpdate(double samplingInterval, List<DataItem> items) {
-            this.samplingInterval = DoubleMath.roundToLong(samplingInterval, RoundingMode.UP);
-            this.items = items;
+        private ValueReporter(SamplingKey key, UaVariableNode node) {
+            this.key = key;
+            this.node = node;
+
+            long samplingIntervalMillis = DoubleMath.roundToLong(key.samplingInterval, RoundingMode.UP);
+
+            samplingInterval = TimeUnit.MILLISECONDS.toNanos(samplingIntervalMillis);
+            lastReport = System.nanoTime() - samplingInterval;
+        }
+
+        private void start() {
+            node.addAttributeObserver(this);
+
+            // Report the current value, just like the first sample would.
+            valueChanged();
         }
 
-        private void cancel() {
-            cancelled = true;
+        private void stop() {
+            stopped = true;
+
+            node.removeAttributeObserver(this);
         }
 
         @Override
-        public void run() {
-            List<PendingRead> pending = items.stream()
-                .map(item -> new PendingRead(item.getReadValueId()))
-                .collect(Collectors.toList());
+        public void attributeChanged(UaNode node, AttributeId attributeId, Object value) {
+            if (attributeId == AttributeId.Value) {
+                valueChanged();
+            }
+        }
 
-            List<ReadValueId> ids = pending.stream()
-                .map(PendingRead::getInput)
-                .collect(Collectors.toList());
+        private synchronized void valueChanged() {
+            changed = true;
 
-            CompletableFuture<List<DataValue>> future = new CompletableFuture<>();
+            if (!scheduled) {
+                scheduled = true;
+                scheduleReport();
+            }
+        }
 
-            ReadContext context = new ReadContext(
-                server, null, future, new DiagnosticsContext<>());
+        /**
+         * Must be called holding this reporter's lock.
+         */
+        private void scheduleReport() {
+            long delay = lastReport + samplingInterval - System.nanoTime();
+
+            if (delay > 0) {
+                scheduler.schedule(() -> executor.execute(this::report), delay, TimeUnit.NANOSECONDS);
+            } else {
+                executor.execute(this::report);
+            }
+        }
 
-            future.thenAcceptAsync(values -> {
-                Iterator<DataItem> ii = items.iterator();
-                Iterator<DataValue> vi = values.iterator();
+        private void report() {
+            synchronized (this) {
+                changed = false;
+                lastReport = System.nanoTime();
+            }
 
-                while (ii.hasNext() && vi.hasNext()) {
-                    DataItem item = ii.next();
-                    DataValue value = vi.next();
+            if (stopped) return;
 
-                    TimestampsToReturn timestamps = item.getTimestampsToReturn();
+            // Read through the AttributeManager like a sample would, so reported values are what a read returns.
+            read(Collections.singletonList(key)).whenCompleteAsync((values, ex) -> {
+                List<DataItem> items = itemsByKey.get(key);
 
-                    if (timestamps != null) {
-                        UInteger attributeId = item.getReadValueId().getAttributeId();
+                if (values != null) {
+                    samplesRead.incrementAndGet();
 
-                        value = (AttributeId.Value.isEqual(attributeId)) ?
-                            DataValue.derivedValue(value, timestamps) :
-                            DataValue.derivedNonValue(value, timestamps);
+                    if (items != null && !stopped) {
+                        deliver(items, values.get(0));
                     }
-
-                    item.setValue(value);
                 }
 
-                if (!cancelled) {
-                    scheduler.schedule(this, samplingInterval, TimeUnit.MILLISECONDS);
+                synchronized (this) {
+                    if (changed && !stopped) {
+                        scheduleReport();
+                    } else {
+                        scheduled = false;
+                    }
                 }
             }, executor);
-
-            executor.execute(() -> attributeServices.read(context, 0d, TimestampsToReturn.Both, ids));
         }
 
     }
@@ -18,11 +18,14 @@ import java.util.EnumSet;
 import com.google.common.collect.Lists;
 import com.google.common.io.Files;
 import org.eclipse.milo.opcua.sdk.server.identity.AnonymousIdentityValidator;
+import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateManager;
 import org.eclipse.milo.opcua.stack.core.application.DefaultCertificateValidator;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.structured.BuildInfo;
+import org.eclipse.milo.opcua.stack.server.config.RequestPriority;
+import org.eclipse.milo.opcua.stack.server.config.SlowConsumerPolicy;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
@@ -41,6 +44,17 @@ public class OpcUaServerConfigTest {
             .setIdentityValidator(AnonymousIdentityValidator.INSTANCE)
             .setBuildInfo(new BuildInfo("a", "b", "c", "d", "e", DateTime.MIN_VALUE))
             .setLimits(new OpcUaServerConfigLimits() {})
+            .setTcpNoDelayEnabled(false)
+            .setTcpQuickAckEnabled(true)
+            .setAcceptorCount(4)
+            .setWriteBufferWaterMarks(1024, 4096)
+            .setSlowConsumerTimeout(5000L)
+            .setSlowConsumerPolicy(SlowConsumerPolicy.CLOSE)
+            .setMaxConcurrentRequestsPerSession(8)
+            .setMaxConcurrentRequests(128)
+            .setRequestPriorityFunction(request -> RequestPriority.NORMAL)
+            .setSerializationExecutor(Stack.sharedScheduledExecutor())
+            .setEventExecutor(Stack.sharedScheduledExecutor())
             .build();
 
         OpcUaServerConfig copy = OpcUaServerConfig.copy(original).build();
@@ -51,6 +65,19 @@ public class OpcUaServerConfigTest {
         assertEquals(copy.getIdentityValidator(), original.getIdentityValidator());
         assertEquals(copy.getBuildInfo(), original.getBuildInfo());
         assertEquals(copy.getLimits(), original.getLimits());
+        assertEquals(copy.isTcpNoDelayEnabled(), original.isTcpNoDelayEnabled());
+        assertEquals(copy.isTcpQuickAckEnabled(), original.isTcpQuickAckEnabled());
+        assertEquals(copy.getAcceptorCount(), original.getAcceptorCount());
+        assertEquals(copy.getWriteBufferLowWaterMark(), original.getWriteBufferLowWaterMark());
+        assertEquals(copy.getWriteBufferHighWaterMark(), original.getWriteBufferHighWaterMark());
+        assertEquals(copy.getSlowConsumerTimeout(), original.getSlowConsumerTimeout());
+        assertEquals(copy.getSlowConsumerPolicy(), original.getSlowConsumerPolicy());
+        assertEquals(copy.getMaxConcurrentRequestsPerSession(), original.getMaxConcurrentRequestsPerSession());
+        assertEquals(copy.getMaxConcurrentRequests(), original.getMaxConcurrentRequests());
+        assertEquals(copy.getRequestPriorityFunction(), original.getRequestPriorityFunction());
+        assertEquals(copy.getExecutor(), original.getExecutor());
+        assertEquals(copy.getSerializationExecutor(), original.getSerializationExecutor());
+        assertEquals(copy.getEventExecutor(), original.getEventExecutor());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.server.util;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class SamplingSchedulerTest {
+
+    private ScheduledExecutorService executor;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = Executors.newScheduledThreadPool(2);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFixedRateDespiteSlowSamples() throws Exception {
+        AtomicInteger samples = new AtomicInteger(0);
+
+        SamplingScheduler<String> scheduler = new SamplingScheduler<>(executor, keys -> {
+            samples.incrementAndGet();
+            return completeAfter(30);
+        });
+
+        scheduler.add("a", 50);
+        Thread.sleep(1000);
+        scheduler.remove("a");
+
+        // 20 ticks at a fixed rate; rescheduling after each 30ms sample would have made only 12.
+        assertTrue(samples.get() >= 17, "samples=" + samples.get());
+    }
+
+    @Test
+    public void testOverrunTicksSkipped() throws Exception {
+        AtomicInteger inProgress = new AtomicInteger(0);
+        AtomicInteger maxInProgress = new AtomicInteger(0);
+
+        SamplingScheduler<String> scheduler = new SamplingScheduler<>(executor, keys -> {
+            maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+            return completeAfter(50).thenRun(inProgress::decrementAndGet);
+        });
+
+        scheduler.add("a", 20);
+        Thread.sleep(500);
+        scheduler.remove("a");
+
+        assertEquals(maxInProgress.get(), 1);
+        assertTrue(scheduler.getOverrunTickCount() > 0L);
+    }
+
+    @Test
+    public void testKeysSpreadAcrossPhases() throws Exception {
+        List<List<String>> sampled = new CopyOnWriteArrayList<>();
+
+        SamplingScheduler<String> scheduler = new SamplingScheduler<>(executor, keys -> {
+            sampled.add(keys);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        int keyCount = SamplingScheduler.PHASE_CAPACITY * 2 + 1;
+
+        for (int i = 0; i < keyCount; i++) {
+            scheduler.add("key" + i, 200);
+        }
+        scheduler.add("other", 1000);
+
+        assertEquals(scheduler.getGroupCount(), 4);
+
+        Thread.sleep(500);
+
+        assertTrue(sampled.stream().allMatch(keys -> keys.size() <= SamplingScheduler.PHASE_CAPACITY));
+
+        for (int i = 0; i < keyCount; i++) {
+            scheduler.remove("key" + i);
+        }
+
+        assertEquals(scheduler.getGroupCount(), 1);
+
+        scheduler.remove("other");
+
+        assertEquals(scheduler.getGroupCount(), 0);
+    }
+
+    @Test
+    public void testPhaseOffsets() {
+        assertEquals(SamplingScheduler.phaseOffset(0), 0.0);
+        assertEquals(SamplingScheduler.phaseOffset(1), 0.5);
+        assertEquals(SamplingScheduler.phaseOffset(2), 0.25);
+        assertEquals(SamplingScheduler.phaseOffset(3), 0.75);
+        assertEquals(SamplingScheduler.phaseOffset(4), 0.125);
+    }
+
+    private CompletableFuture<Void> completeAfter(long millis) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        executor.schedule(() -> future.complete(null), millis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+}
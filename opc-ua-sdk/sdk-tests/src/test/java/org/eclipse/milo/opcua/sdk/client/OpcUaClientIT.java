@@ -21,14 +21,18 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import org.eclipse.milo.opcua.sdk.client.api.UaSession;
 import org.eclipse.milo.opcua.sdk.client.api.config.OpcUaClientConfig;
 import org.eclipse.milo.opcua.sdk.client.api.identity.UsernameProvider;
@@ -42,6 +46,8 @@ import org.eclipse.milo.opcua.sdk.server.api.config.OpcUaServerConfig;
 import org.eclipse.milo.opcua.sdk.server.identity.CompositeValidator;
 import org.eclipse.milo.opcua.sdk.server.identity.UsernameIdentityValidator;
 import org.eclipse.milo.opcua.sdk.server.identity.X509IdentityValidator;
+import org.eclipse.milo.opcua.sdk.server.nodes.UaVariableNode;
+import org.eclipse.milo.opcua.sdk.server.util.SubscriptionModel;
 import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
 import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.Identifiers;
@@ -57,6 +63,7 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
 import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.MonitoringMode;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
@@ -78,6 +85,7 @@ import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -87,6 +95,8 @@ public class OpcUaClientIT {
 
     private OpcUaClient client;
     private OpcUaServer server;
+    private TestNamespace testNamespace;
+    private TestNamespace reportingNamespace;
 
     @BeforeTest
     public void startClientAndServer() throws Exception {
@@ -181,7 +191,11 @@ public class OpcUaClientIT {
         // register a CttNamespace so we have some nodes to play with
         server.getNamespaceManager().registerAndAdd(
             TestNamespace.NAMESPACE_URI,
-            idx -> new TestNamespace(server, idx));
+            idx -> testNamespace = new TestNamespace(server, idx));
+
+        server.getNamespaceManager().registerAndAdd(
+            TestNamespace.REPORTING_NAMESPACE_URI,
+            idx -> reportingNamespace = new TestNamespace(server, idx, TestNamespace.REPORTING_NAMESPACE_URI, true));
 
         server.startup().get();
     }
@@ -322,6 +336,110 @@ public class OpcUaClientIT {
         future.get(5, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testSubscribe_ReportedOnChange() throws Exception {
+        NodeId nodeId = new NodeId(reportingNamespace.getNamespaceIndex(), "/Static/AllProfiles/Scalar/Int64");
+        UaVariableNode node = (UaVariableNode) server.getNodeMap().get(nodeId);
+
+        UaSubscription subscription = client.getSubscriptionManager().createSubscription(100.0).get();
+
+        ReadValueId readValueId = new ReadValueId(
+            nodeId, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE);
+
+        MonitoringParameters parameters = new MonitoringParameters(
+            uint(1),    // client handle
+            100.0,      // sampling interval
+            null,       // no (default) filter
+            uint(10),   // queue size
+            true);      // discard oldest
+
+        MonitoredItemCreateRequest request = new MonitoredItemCreateRequest(
+            readValueId, MonitoringMode.Reporting, parameters);
+
+        BlockingQueue<DataValue> values = new LinkedBlockingQueue<>();
+
+        List<UaMonitoredItem> items = subscription.createMonitoredItems(
+            TimestampsToReturn.Both,
+            newArrayList(request),
+            (item, idx) -> item.setValueConsumer(values::add)).get();
+
+        assertTrue(items.get(0).getStatusCode().isGood());
+        assertNotNull(values.poll(5, TimeUnit.SECONDS));
+
+        // Nothing is read while the value doesn't change, not even once per sampling interval.
+        SubscriptionModel subscriptionModel = reportingNamespace.getSubscriptionModel();
+        long samplesRead = subscriptionModel.getSamplesRead();
+        Thread.sleep(500);
+        assertEquals(subscriptionModel.getSamplesRead(), samplesRead);
+        assertNull(values.poll());
+
+        for (long i = 1; i <= 3; i++) {
+            node.setValue(new DataValue(new Variant(i)));
+
+            DataValue value = values.poll(5, TimeUnit.SECONDS);
+            assertNotNull(value);
+            assertEquals(value.getValue().getValue(), i);
+        }
+
+        client.getSubscriptionManager().deleteSubscription(subscription.getSubscriptionId()).get();
+    }
+
+    @Test
+    public void testSubscribe_SharedSampling() throws Exception {
+        SubscriptionModel subscriptionModel = testNamespace.getSubscriptionModel();
+        int itemCount = subscriptionModel.getItemCount();
+        int samplingKeyCount = subscriptionModel.getSamplingKeyCount();
+
+        UaSubscription subscription1 = client.getSubscriptionManager().createSubscription(100.0).get();
+        UaSubscription subscription2 = client.getSubscriptionManager().createSubscription(100.0).get();
+
+        NodeId nodeId = new NodeId(2, "/Static/AllProfiles/Scalar/UInt16");
+
+        BlockingQueue<UInteger> handles = new LinkedBlockingQueue<>();
+
+        // three items sampling at 100ms share one read; the item sampling at 250ms reads on its own.
+        List<UaMonitoredItem> items = newArrayList();
+        items.addAll(subscription1.createMonitoredItems(
+            TimestampsToReturn.Both,
+            newArrayList(monitoredItemRequest(nodeId, 1, 100.0), monitoredItemRequest(nodeId, 2, 100.0)),
+            (item, idx) -> item.setValueConsumer(v -> handles.add(item.getClientHandle()))).get());
+        items.addAll(subscription2.createMonitoredItems(
+            TimestampsToReturn.Both,
+            newArrayList(monitoredItemRequest(nodeId, 3, 100.0), monitoredItemRequest(nodeId, 4, 250.0)),
+            (item, idx) -> item.setValueConsumer(v -> handles.add(item.getClientHandle()))).get());
+
+        items.forEach(item -> assertTrue(item.getStatusCode().isGood()));
+
+        Set<UInteger> received = Sets.newHashSet();
+        while (received.size() < 4) {
+            UInteger handle = handles.poll(5, TimeUnit.SECONDS);
+            assertNotNull(handle);
+            received.add(handle);
+        }
+
+        assertEquals(subscriptionModel.getItemCount(), itemCount + 4);
+        assertEquals(subscriptionModel.getSamplingKeyCount(), samplingKeyCount + 2);
+
+        client.getSubscriptionManager().deleteSubscription(subscription1.getSubscriptionId()).get();
+        client.getSubscriptionManager().deleteSubscription(subscription2.getSubscriptionId()).get();
+    }
+
+    private static MonitoredItemCreateRequest monitoredItemRequest(
+        NodeId nodeId, int clientHandle, double samplingInterval) {
+
+        ReadValueId readValueId = new ReadValueId(
+            nodeId, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE);
+
+        MonitoringParameters parameters = new MonitoringParameters(
+            uint(clientHandle),
+            samplingInterval,
+            null,       // no (default) filter
+            uint(10),   // queue size
+            true);      // discard oldest
+
+        return new MonitoredItemCreateRequest(readValueId, MonitoringMode.Reporting, parameters);
+    }
+
     @Test(enabled = false)
     public void testTransferSubscriptions() throws Exception {
         logger.info("testTransferSubscriptions()");
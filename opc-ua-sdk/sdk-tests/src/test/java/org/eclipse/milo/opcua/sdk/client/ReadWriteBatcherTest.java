@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.sdk.client;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
+import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.eclipse.milo.opcua.stack.core.types.structured.ResponseHeader;
+import org.eclipse.milo.opcua.stack.core.types.structured.WriteRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.WriteResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.WriteValue;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.testng.Assert.assertEquals;
+
+public class ReadWriteBatcherTest {
+
+    @Test
+    public void testReadsCoalescedAndShared() throws Exception {
+        TestBatcher batcher = new TestBatcher(0L, 0L);
+
+        CompletableFuture<ReadResponse> r1 = batcher.read(0.0, TimestampsToReturn.Both, readValueIds(1));
+        CompletableFuture<ReadResponse> r2 = batcher.read(0.0, TimestampsToReturn.Both, readValueIds(2, 3));
+        CompletableFuture<ReadResponse> r3 = batcher.read(0.0, TimestampsToReturn.Both, readValueIds(3, 1));
+        batcher.flushNow();
+
+        assertEquals(values(r1.get()), Arrays.asList(1));
+        assertEquals(values(r2.get()), Arrays.asList(2, 3));
+        assertEquals(values(r3.get()), Arrays.asList(3, 1));
+
+        List<ReadRequest> reads = batcher.requests(ReadRequest.class);
+        assertEquals(reads.size(), 1);
+        assertEquals(reads.get(0).getNodesToRead().length, 3);
+    }
+
+    @Test
+    public void testReadsWithDifferentParametersNotCoalesced() throws Exception {
+        TestBatcher batcher = new TestBatcher(0L, 0L);
+
+        CompletableFuture<ReadResponse> r1 = batcher.read(0.0, TimestampsToReturn.Both, readValueIds(1));
+        CompletableFuture<ReadResponse> r2 = batcher.read(0.0, TimestampsToReturn.Neither, readValueIds(1));
+        batcher.flushNow();
+
+        assertEquals(values(r1.get()), Arrays.asList(1));
+        assertEquals(values(r2.get()), Arrays.asList(1));
+
+        assertEquals(batcher.requests(ReadRequest.class).size(), 2);
+    }
+
+    @Test
+    public void testReadSplitByOperationLimits() throws Exception {
+        TestBatcher batcher = new TestBatcher(2L, 0L);
+
+        CompletableFuture<ReadResponse> r1 = batcher.read(0.0, TimestampsToReturn.Both, readValueIds(1, 2, 3, 4, 5));
+        batcher.flushNow();
+
+        ReadResponse response = r1.get();
+
+        assertEquals(values(response), Arrays.asList(1, 2, 3, 4, 5));
+
+        List<ReadRequest> reads = batcher.requests(ReadRequest.class);
+        assertEquals(reads.size(), 3);
+        assertEquals(reads.get(2).getNodesToRead().length, 1);
+    }
+
+    @Test
+    public void testWritesCoalescedAndSplit() throws Exception {
+        TestBatcher batcher = new TestBatcher(0L, 2L);
+
+        CompletableFuture<WriteResponse> w1 = batcher.write(writeValues(1, 2, 3));
+        CompletableFuture<WriteResponse> w2 = batcher.write(writeValues(4));
+        batcher.flushNow();
+
+        assertEquals(w1.get().getResults().length, 3);
+        assertEquals(w2.get().getResults().length, 1);
+        assertEquals(w2.get().getResults()[0], new StatusCode(4));
+
+        List<WriteRequest> writes = batcher.requests(WriteRequest.class);
+        assertEquals(writes.size(), 2);
+        assertEquals(writes.get(0).getNodesToWrite().length, 2);
+        assertEquals(writes.get(1).getNodesToWrite().length, 2);
+    }
+
+    private static List<ReadValueId> readValueIds(int... ids) {
+        return Arrays.stream(ids)
+            .mapToObj(i -> new ReadValueId(new NodeId(1, i), AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE))
+            .collect(Collectors.toList());
+    }
+
+    private static List<WriteValue> writeValues(int... ids) {
+        return Arrays.stream(ids)
+            .mapToObj(i -> new WriteValue(
+                new NodeId(1, i), AttributeId.Value.uid(), null, new DataValue(new Variant(i))))
+            .collect(Collectors.toList());
+    }
+
+    private static List<Integer> values(ReadResponse response) {
+        return Arrays.stream(response.getResults())
+            .map(v -> ((UInteger) v.getValue().getValue()).intValue())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Answers requests itself instead of sending them to a server; each node read has its identifier as its value
+     * and each write's status code is the identifier of the node written.
+     */
+    private static class TestBatcher extends ReadWriteBatcher {
+
+        private final List<UaRequestMessage> requests = new CopyOnWriteArrayList<>();
+
+        private final long maxNodesPerRead;
+        private final long maxNodesPerWrite;
+
+        TestBatcher(long maxNodesPerRead, long maxNodesPerWrite) {
+            // Batches are only flushed when a test calls flushNow().
+            super(null, TimeUnit.HOURS.toMicros(1));
+
+            this.maxNodesPerRead = maxNodesPerRead;
+            this.maxNodesPerWrite = maxNodesPerWrite;
+        }
+
+        <T extends UaRequestMessage> List<T> requests(Class<T> clazz) {
+            return requests.stream()
+                .filter(clazz::isInstance)
+                .map(clazz::cast)
+                .filter(r -> !(r instanceof ReadRequest) || !isOperationLimitsRead((ReadRequest) r))
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        CompletableFuture<RequestHeader> newRequestHeader() {
+            return CompletableFuture.completedFuture(
+                new RequestHeader(NodeId.NULL_VALUE, DateTime.now(), uint(0), uint(0), null, uint(0), null));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <T extends UaResponseMessage> CompletableFuture<T> sendRequest(UaRequestMessage request) {
+            requests.add(request);
+
+            ResponseHeader header = new ResponseHeader(
+                DateTime.now(), uint(0), StatusCode.GOOD, null, null, null);
+
+            UaResponseMessage response;
+
+            if (request instanceof ReadRequest && isOperationLimitsRead((ReadRequest) request)) {
+                response = new ReadResponse(header, new DataValue[]{
+                    new DataValue(new Variant(uint(maxNodesPerRead))),
+                    new DataValue(new Variant(uint(maxNodesPerWrite)))
+                }, null);
+            } else if (request instanceof ReadRequest) {
+                DataValue[] results = Arrays.stream(((ReadRequest) request).getNodesToRead())
+                    .map(r -> new DataValue(new Variant(r.getNodeId().getIdentifier())))
+                    .toArray(DataValue[]::new);
+
+                response = new ReadResponse(header, results, null);
+            } else {
+                StatusCode[] results = Arrays.stream(((WriteRequest) request).getNodesToWrite())
+                    .map(w -> new StatusCode(((UInteger) w.getNodeId().getIdentifier()).longValue()))
+                    .toArray(StatusCode[]::new);
+
+                response = new WriteResponse(header, results, null);
+            }
+
+            return CompletableFuture.completedFuture((T) response);
+        }
+
+        private static boolean isOperationLimitsRead(ReadRequest request) {
+            return request.getNodesToRead()[0].getNodeId()
+                .equals(Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerRead);
+        }
+
+    }
+
+}
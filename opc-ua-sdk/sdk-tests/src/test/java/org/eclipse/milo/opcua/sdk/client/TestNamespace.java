@@ -68,6 +68,12 @@ public class TestNamespace implements Namespace {
 
     public static final String NAMESPACE_URI = "urn:eclipse:milo:opcua:test-namespace";
 
+    /**
+     * The URI of a second copy of this namespace whose static nodes are reported when their value is set instead
+     * of being sampled.
+     */
+    public static final String REPORTING_NAMESPACE_URI = "urn:eclipse:milo:opcua:test-namespace:reporting";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final ServerNodeMap nodeManager;
@@ -76,10 +82,27 @@ public class TestNamespace implements Namespace {
 
     private final OpcUaServer server;
     private final UShort namespaceIndex;
+    private final String namespaceUri;
 
     public TestNamespace(OpcUaServer server, UShort namespaceIndex) {
+        this(server, namespaceIndex, NAMESPACE_URI, false);
+    }
+
+    /**
+     * @param server                  the {@link OpcUaServer}.
+     * @param namespaceIndex          the index of the namespace.
+     * @param namespaceUri            the URI of the namespace.
+     * @param exceptionBasedReporting see {@link SubscriptionModel#SubscriptionModel(OpcUaServer,
+     *                                org.eclipse.milo.opcua.sdk.server.api.AttributeManager, boolean)}.
+     */
+    public TestNamespace(OpcUaServer server,
+                         UShort namespaceIndex,
+                         String namespaceUri,
+                         boolean exceptionBasedReporting) {
+
         this.server = server;
         this.namespaceIndex = namespaceIndex;
+        this.namespaceUri = namespaceUri;
 
         nodeManager = server.getNodeMap();
 
@@ -106,11 +129,15 @@ public class TestNamespace implements Namespace {
             logger.error("Error adding reference to Connections folder.", e);
         }
 
-        subscriptionModel = new SubscriptionModel(server, this);
+        subscriptionModel = new SubscriptionModel(server, this, exceptionBasedReporting);
 
         addStaticScalarNodes();
     }
 
+    public SubscriptionModel getSubscriptionModel() {
+        return subscriptionModel;
+    }
+
     @Override
     public UShort getNamespaceIndex() {
         return namespaceIndex;
@@ -118,7 +145,7 @@ public class TestNamespace implements Namespace {
 
     @Override
     public String getNamespaceUri() {
-        return NAMESPACE_URI;
+        return namespaceUri;
     }
 
     @Override
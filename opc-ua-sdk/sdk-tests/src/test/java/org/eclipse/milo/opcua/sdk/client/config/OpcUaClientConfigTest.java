@@ -14,6 +14,7 @@
 package org.eclipse.milo.opcua.sdk.client.config;
 
 import org.eclipse.milo.opcua.sdk.client.api.config.OpcUaClientConfig;
+import org.eclipse.milo.opcua.sdk.client.api.config.OpcUaClientConfigBuilder;
 import org.eclipse.milo.opcua.sdk.client.api.identity.AnonymousProvider;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.testng.annotations.Test;
@@ -33,6 +34,8 @@ public class OpcUaClientConfigTest {
             .setMaxResponseMessageSize(UInteger.MAX)
             .setMaxPendingPublishRequests(uint(2))
             .setIdentityProvider(new AnonymousProvider())
+            .setRequestBatchingEnabled(true)
+            .setRequestBatchingDelayMicros(250L)
             .build();
 
         OpcUaClientConfig copy = OpcUaClientConfig.copy(original).build();
@@ -43,6 +46,8 @@ public class OpcUaClientConfigTest {
         assertEquals(copy.getMaxResponseMessageSize(), original.getMaxResponseMessageSize());
         assertEquals(copy.getMaxPendingPublishRequests(), original.getMaxPendingPublishRequests());
         assertEquals(copy.getIdentityProvider(), original.getIdentityProvider());
+        assertEquals(copy.isRequestBatchingEnabled(), original.isRequestBatchingEnabled());
+        assertEquals(copy.getRequestBatchingDelayMicros(), original.getRequestBatchingDelayMicros());
     }
 
     @Test
@@ -75,4 +80,12 @@ public class OpcUaClientConfigTest {
         assertEquals(copy.getMaxPendingPublishRequests(), uint(0));
     }
 
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testChannelPoolRejected() {
+        OpcUaClientConfigBuilder builder = OpcUaClientConfig.builder();
+
+        builder.setChannelPoolSize(2);
+        builder.build();
+    }
+
 }
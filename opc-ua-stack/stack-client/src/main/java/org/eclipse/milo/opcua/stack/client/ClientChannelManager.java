@@ -48,9 +48,44 @@ class ClientChannelManager {
     private final AtomicReference<State> state = new AtomicReference<>(new Idle());
 
     private final UaTcpStackClient client;
+    private final int channelIndex;
+    private final RequestLimiter requestLimiter;
+    private final PendingRequestTable pendingRequests;
 
-    ClientChannelManager(UaTcpStackClient client) {
+    ClientChannelManager(UaTcpStackClient client, int channelIndex) {
         this.client = client;
+        this.channelIndex = channelIndex;
+
+        requestLimiter = new RequestLimiter(client);
+        pendingRequests = new PendingRequestTable(client);
+    }
+
+    /**
+     * @return the index of the channel managed by this {@link ClientChannelManager} in the client's channel pool.
+     */
+    int getChannelIndex() {
+        return channelIndex;
+    }
+
+    /**
+     * @return the {@link RequestLimiter} for requests sent on this channel.
+     */
+    RequestLimiter getRequestLimiter() {
+        return requestLimiter;
+    }
+
+    /**
+     * @return the {@link PendingRequestTable} of requests sent on this channel that are awaiting a response.
+     */
+    PendingRequestTable getPendingRequests() {
+        return pendingRequests;
+    }
+
+    /**
+     * @return the number of requests sent or queued to be sent on this channel that are still awaiting a response.
+     */
+    int getOutstandingRequests() {
+        return requestLimiter.getInFlight() + requestLimiter.getQueued();
     }
 
     public CompletableFuture<ClientSecureChannel> getChannel() {
@@ -193,7 +228,7 @@ class ClientChannelManager {
     private void connect(boolean initialAttempt, CompletableFuture<ClientSecureChannel> future) {
         try {
             CompletableFuture<ClientSecureChannel> bootstrap =
-                UaTcpStackClient.bootstrap(client, Optional.empty());
+                UaTcpStackClient.bootstrap(client, channelIndex, Optional.empty());
 
             bootstrap.whenCompleteAsync((sc, ex) -> {
                 if (sc != null) {
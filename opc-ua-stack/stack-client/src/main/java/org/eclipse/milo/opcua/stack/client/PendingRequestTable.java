@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.HashedWheelTimer;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
+
+/**
+ * The requests sent on one secure channel that are awaiting a response, keyed by request handle.
+ * <p>
+ * Entries are kept in parallel arrays indexed by request handle. Clients usually assign handles sequentially, so
+ * tracking a request allocates nothing and a lookup rarely probes past the first slot. Instead of a timer task per
+ * request, a single sweep every {@link #SWEEP_INTERVAL_MS} milliseconds fails the requests whose timeoutHint has
+ * passed. The sweep is only scheduled while there are requests pending.
+ */
+class PendingRequestTable {
+
+    /**
+     * How often pending requests are checked for timeouts; the same as the tick of a default {@link HashedWheelTimer}.
+     */
+    static final long SWEEP_INTERVAL_MS = 100L;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final long EMPTY = -1L;
+
+    private long[] handles;
+    private long[] deadlines;
+    private long[] timeoutHints;
+    private CompletableFuture<UaResponseMessage>[] futures;
+
+    private int mask;
+    private int size = 0;
+    private boolean sweepScheduled = false;
+
+    private final UaTcpStackClient client;
+    private final HashedWheelTimer wheelTimer;
+
+    PendingRequestTable(UaTcpStackClient client) {
+        this.client = client;
+        this.wheelTimer = client.getConfig().getWheelTimer();
+
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Track {@code future} until a response for {@code requestHandle} is received or {@code timeoutHint} passes,
+     * replacing any request already pending with the same handle.
+     *
+     * @param requestHandle the request handle of the request.
+     * @param future        the future to complete with the response.
+     * @param timeoutHint   the time to wait for a response, in milliseconds.
+     */
+    synchronized void put(long requestHandle, CompletableFuture<UaResponseMessage> future, long timeoutHint) {
+        if (size + 1 > (mask + 1) / 2) {
+            resize((mask + 1) * 2);
+        }
+
+        int i = slot(requestHandle);
+
+        while (handles[i] != EMPTY && handles[i] != requestHandle) {
+            i = (i + 1) & mask;
+        }
+
+        if (handles[i] == EMPTY) size++;
+
+        handles[i] = requestHandle;
+        deadlines[i] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutHint);
+        timeoutHints[i] = timeoutHint;
+        futures[i] = future;
+
+        if (!sweepScheduled) {
+            sweepScheduled = true;
+
+            wheelTimer.newTimeout(t -> sweep(), SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param requestHandle the request handle of the request.
+     * @return the future of the request pending with {@code requestHandle}, or {@code null} if there is none.
+     */
+    synchronized CompletableFuture<UaResponseMessage> remove(long requestHandle) {
+        int i = slot(requestHandle);
+
+        while (handles[i] != EMPTY) {
+            if (handles[i] == requestHandle) {
+                CompletableFuture<UaResponseMessage> future = futures[i];
+
+                delete(i);
+
+                return future;
+            }
+
+            i = (i + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Remove every pending request.
+     *
+     * @return the futures of the requests that were pending.
+     */
+    synchronized List<CompletableFuture<UaResponseMessage>> removeAll() {
+        List<CompletableFuture<UaResponseMessage>> removed = new ArrayList<>(size);
+
+        for (int i = 0; i <= mask; i++) {
+            if (handles[i] != EMPTY) removed.add(futures[i]);
+        }
+
+        allocate(INITIAL_CAPACITY);
+
+        return removed;
+    }
+
+    /**
+     * @return the number of requests pending.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Fail the requests whose timeoutHint has passed and schedule the next sweep if any requests remain.
+     */
+    void sweep() {
+        List<CompletableFuture<UaResponseMessage>> expired = null;
+        List<Long> expiredHints = null;
+
+        synchronized (this) {
+            long now = System.nanoTime();
+
+            int i = 0;
+            while (i <= mask) {
+                if (handles[i] != EMPTY && now - deadlines[i] >= 0) {
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                        expiredHints = new ArrayList<>();
+                    }
+                    expired.add(futures[i]);
+                    expiredHints.add(timeoutHints[i]);
+
+                    // Deleting may shift a later entry into this slot, so look at it again.
+                    delete(i);
+                } else {
+                    i++;
+                }
+            }
+
+            if (size > 0) {
+                wheelTimer.newTimeout(t -> sweep(), SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } else {
+                sweepScheduled = false;
+            }
+        }
+
+        if (expired != null) {
+            for (int j = 0; j < expired.size(); j++) {
+                String message = "request timed out after " + expiredHints.get(j) + "ms";
+
+                client.failRequest(expired.get(j), new UaException(StatusCodes.Bad_Timeout, message));
+            }
+        }
+    }
+
+    private int slot(long requestHandle) {
+        return (int) requestHandle & mask;
+    }
+
+    /**
+     * Empty slot {@code i}, shifting back any entries after it that would no longer be found.
+     */
+    private void delete(int i) {
+        int hole = i;
+        int j = (i + 1) & mask;
+
+        while (handles[j] != EMPTY) {
+            int home = slot(handles[j]);
+
+            // The entry at j can fill the hole unless its home slot lies after the hole.
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                handles[hole] = handles[j];
+                deadlines[hole] = deadlines[j];
+                timeoutHints[hole] = timeoutHints[j];
+                futures[hole] = futures[j];
+                hole = j;
+            }
+
+            j = (j + 1) & mask;
+        }
+
+        handles[hole] = EMPTY;
+        futures[hole] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHandles = handles;
+        long[] oldDeadlines = deadlines;
+        long[] oldTimeoutHints = timeoutHints;
+        CompletableFuture<UaResponseMessage>[] oldFutures = futures;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldHandles.length; i++) {
+            if (oldHandles[i] != EMPTY) {
+                int j = slot(oldHandles[i]);
+
+                while (handles[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+
+                handles[j] = oldHandles[i];
+                deadlines[j] = oldDeadlines[i];
+                timeoutHints[j] = oldTimeoutHints[i];
+                futures[j] = oldFutures[i];
+                size++;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        handles = new long[capacity];
+        deadlines = new long[capacity];
+        timeoutHints = new long[capacity];
+        futures = new CompletableFuture[capacity];
+        mask = capacity - 1;
+        size = 0;
+
+        Arrays.fill(handles, EMPTY);
+    }
+
+}
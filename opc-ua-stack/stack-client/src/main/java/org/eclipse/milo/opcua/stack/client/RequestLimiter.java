@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.EventExecutor;
+import org.eclipse.milo.opcua.stack.client.config.RequestOverflowPolicy;
+import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.UaServiceFaultException;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.eclipse.milo.opcua.stack.core.util.AsyncSemaphore;
+import org.eclipse.milo.opcua.stack.core.util.AsyncSemaphore.SemaphorePermit;
+
+import static org.eclipse.milo.opcua.stack.core.util.FutureUtils.failedFuture;
+
+/**
+ * Limits the number of requests awaiting a response on one secure channel, queueing requests over the limit until a
+ * response frees up a slot, and keeps queue depth and round-trip time gauges for the channel.
+ * <p>
+ * Publish requests are never limited or queued; the server holds on to them until it has something to publish, so
+ * they would otherwise use up the limit while idle.
+ */
+public final class RequestLimiter {
+
+    private static final SemaphorePermit NO_PERMIT = () -> {
+        // nothing was acquired, so there's nothing to release
+    };
+
+    /**
+     * Set while the current thread is completing request futures; see {@link #runDelivering(Runnable)}.
+     */
+    private static final ThreadLocal<Boolean> DELIVERING = ThreadLocal.withInitial(() -> false);
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final AtomicLong smoothedRoundTripNanos = new AtomicLong(0L);
+    private final AtomicLong maxRoundTripNanos = new AtomicLong(0L);
+
+    /**
+     * Requests waiting for a permit; guarded by {@code this}.
+     */
+    private int queued = 0;
+
+    private final AsyncSemaphore semaphore;
+    private final int maxQueuedRequests;
+    private final RequestOverflowPolicy overflowPolicy;
+    private final HashedWheelTimer wheelTimer;
+    private final EventLoopGroup eventLoop;
+
+    private final UaTcpStackClient client;
+
+    RequestLimiter(UaTcpStackClient client) {
+        this.client = client;
+
+        UaTcpStackClientConfig config = client.getConfig();
+
+        int maxInFlightRequests = config.getMaxInFlightRequests();
+
+        this.semaphore = maxInFlightRequests > 0 ? new AsyncSemaphore(maxInFlightRequests) : null;
+        this.maxQueuedRequests = config.getMaxQueuedRequests();
+        this.overflowPolicy = config.getRequestOverflowPolicy();
+        this.wheelTimer = config.getWheelTimer();
+        this.eventLoop = config.getEventLoop();
+    }
+
+    /**
+     * Acquire a permit to send {@code request}.
+     * <p>
+     * The permit must be released once the request's response has been received or it has failed. If the request's
+     * timeoutHint expires while it is queued the future fails with {@code Bad_Timeout}.
+     *
+     * @param request the request to be sent.
+     * @return a {@link CompletableFuture} completed by the permit once {@code request} may be sent.
+     */
+    CompletableFuture<SemaphorePermit> acquire(UaRequestMessage request) {
+        if (semaphore == null || request instanceof PublishRequest) {
+            return CompletableFuture.completedFuture(NO_PERMIT);
+        }
+
+        CompletableFuture<SemaphorePermit> permit = acquire(timeoutHint(request));
+
+        if (overflowPolicy == RequestOverflowPolicy.BLOCK) {
+            // A released permit can make room for a blocked sender too, not only a request leaving the queue.
+            return permit.<SemaphorePermit>thenApply(p -> () -> {
+                p.release();
+                released();
+            });
+        } else {
+            return permit;
+        }
+    }
+
+    private synchronized CompletableFuture<SemaphorePermit> acquire(long timeoutMillis) {
+        if (isQueueFull()) {
+            if (overflowPolicy == RequestOverflowPolicy.BLOCK && mayBlock()) {
+                UaException failure = awaitQueueSpace(timeoutMillis);
+
+                if (failure != null) {
+                    return failedFuture(failure);
+                }
+            } else {
+                rejected.increment();
+
+                return failedFuture(new UaException(
+                    StatusCodes.Bad_ResourceUnavailable,
+                    String.format("%d requests already queued", queued)));
+            }
+        }
+
+        CompletableFuture<SemaphorePermit> permit = semaphore.acquire();
+
+        if (!permit.isDone()) {
+            queued++;
+
+            Timeout timeout = timeoutMillis > 0 ? wheelTimer.newTimeout(t -> {
+                boolean expired;
+
+                synchronized (this) {
+                    expired = !permit.isDone();
+
+                    if (expired) timedOut.increment();
+                }
+
+                // Completed without holding the monitor: the failure runs the sender's callbacks, which mustn't
+                // hold up the timer or other senders. dequeued() keeps the queue gauge right.
+                if (expired) {
+                    String message = "request timed out after " + timeoutMillis + "ms waiting to be sent";
+
+                    client.deliver(() -> {
+                        if (!permit.completeExceptionally(new UaException(StatusCodes.Bad_Timeout, message))) {
+                            // A permit was handed over in the meantime; the request is sent after all.
+                            timedOut.decrement();
+                        }
+                    });
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS) : null;
+
+            permit.whenComplete((p, ex) -> {
+                if (timeout != null) timeout.cancel();
+
+                dequeued();
+            });
+        }
+
+        return permit;
+    }
+
+    /**
+     * Run {@code completion}, which completes request futures, marking the current thread as delivering responses
+     * until it returns. Only {@link UaTcpStackClient#deliver(Runnable)} calls this, so that every request future is
+     * completed the same way.
+     * <p>
+     * Under {@link RequestOverflowPolicy#BLOCK}, requests sent from the futures' callbacks fail fast instead of
+     * blocking: the blocked thread would otherwise be one the responses that make room are delivered on.
+     *
+     * @param completion the {@link Runnable} that completes request futures.
+     */
+    static void runDelivering(Runnable completion) {
+        if (DELIVERING.get()) {
+            completion.run();
+        } else {
+            DELIVERING.set(true);
+            try {
+                completion.run();
+            } finally {
+                DELIVERING.remove();
+            }
+        }
+    }
+
+    /**
+     * Count a request as awaiting a response until {@code future} completes, recording its round-trip time if a
+     * response was received.
+     *
+     * @param future the future completed by the response to the request.
+     */
+    void track(CompletableFuture<?> future) {
+        long sentNanos = System.nanoTime();
+
+        inFlight.incrementAndGet();
+
+        future.whenComplete((r, ex) -> {
+            inFlight.decrementAndGet();
+
+            if (ex == null || ex instanceof UaServiceFaultException) {
+                long rtt = System.nanoTime() - sentNanos;
+
+                completed.increment();
+                maxRoundTripNanos.accumulateAndGet(rtt, Math::max);
+                smoothedRoundTripNanos.accumulateAndGet(rtt, (s, x) -> s == 0L ? x : s + (x - s) / 8);
+            }
+        });
+    }
+
+    /**
+     * @return the number of requests sent and awaiting a response.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the number of requests waiting to be sent because the in-flight limit has been reached.
+     */
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return the number of requests that received a response, including service faults.
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * @return the number of requests rejected because the wait queue was full.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of requests failed with {@code Bad_Timeout} because their timeoutHint expired while they
+     * were queued.
+     */
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} of the result.
+     * @return the exponentially smoothed round-trip time of recent requests, or 0 if none have completed.
+     */
+    public long getSmoothedRoundTripTime(TimeUnit unit) {
+        return unit.convert(smoothedRoundTripNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} of the result.
+     * @return the longest round-trip time of any request so far.
+     */
+    public long getMaxRoundTripTime(TimeUnit unit) {
+        return unit.convert(maxRoundTripNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "RequestLimiter{inFlight=%d, queued=%d, completed=%d, rejected=%d, timedOut=%d, srtt=%dus, maxRtt=%dus}",
+            getInFlight(), getQueued(), getCompleted(), getRejected(), getTimedOut(),
+            getSmoothedRoundTripTime(TimeUnit.MICROSECONDS), getMaxRoundTripTime(TimeUnit.MICROSECONDS));
+    }
+
+    private synchronized void dequeued() {
+        queued--;
+
+        notifyAll();
+    }
+
+    private synchronized void released() {
+        notifyAll();
+    }
+
+    private boolean isQueueFull() {
+        return queued >= maxQueuedRequests && semaphore.getAvailablePermits() == 0;
+    }
+
+    /**
+     * Wait, holding the monitor, until there is room in the queue.
+     *
+     * @return {@code null} if there is room, or the reason the wait was given up.
+     */
+    private UaException awaitQueueSpace(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        try {
+            while (isQueueFull()) {
+                if (timeoutMillis > 0) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+                    if (remaining <= 0) {
+                        timedOut.increment();
+
+                        return new UaException(
+                            StatusCodes.Bad_Timeout,
+                            "request timed out after " + timeoutMillis + "ms waiting to be queued");
+                    }
+
+                    wait(remaining);
+                } else {
+                    wait();
+                }
+            }
+
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return new UaException(StatusCodes.Bad_RequestInterrupted, e);
+        }
+    }
+
+    /**
+     * @return {@code false} if the current thread is one of the client's event loop threads or is delivering
+     * responses, either of which would stop the responses that make room in the queue from arriving.
+     */
+    private boolean mayBlock() {
+        if (DELIVERING.get()) return false;
+
+        for (EventExecutor executor : eventLoop) {
+            if (executor.inEventLoop()) return false;
+        }
+
+        return true;
+    }
+
+    private static long timeoutHint(UaRequestMessage request) {
+        RequestHeader header = request.getRequestHeader();
+        UInteger timeoutHint = header != null ? header.getTimeoutHint() : null;
+
+        return timeoutHint != null ? timeoutHint.longValue() : 0L;
+    }
+
+}
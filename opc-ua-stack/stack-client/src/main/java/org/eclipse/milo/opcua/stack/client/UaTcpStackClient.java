@@ -18,6 +18,7 @@ import java.nio.channels.ClosedChannelException;
 import java.security.KeyPair;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -25,7 +26,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
@@ -35,10 +36,8 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.util.HashedWheelTimer;
-import io.netty.util.Timeout;
 import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
 import org.eclipse.milo.opcua.stack.client.handlers.UaRequestFuture;
 import org.eclipse.milo.opcua.stack.client.handlers.UaTcpClientAcknowledgeHandler;
@@ -49,12 +48,17 @@ import org.eclipse.milo.opcua.stack.core.UaServiceFaultException;
 import org.eclipse.milo.opcua.stack.core.application.UaStackClient;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
 import org.eclipse.milo.opcua.stack.core.channel.ClientSecureChannel;
+import org.eclipse.milo.opcua.stack.core.channel.NettyTransport;
 import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.ApplicationType;
 import org.eclipse.milo.opcua.stack.core.types.structured.ApplicationDescription;
+import org.eclipse.milo.opcua.stack.core.types.structured.CloseSessionRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.CreateSessionRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.CreateSessionResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.FindServersRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.FindServersResponse;
@@ -63,6 +67,7 @@ import org.eclipse.milo.opcua.stack.core.types.structured.GetEndpointsResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
 import org.eclipse.milo.opcua.stack.core.types.structured.ResponseHeader;
 import org.eclipse.milo.opcua.stack.core.types.structured.ServiceFault;
+import org.eclipse.milo.opcua.stack.core.util.FutureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,22 +79,17 @@ public class UaTcpStackClient implements UaStackClient {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private final Map<UInteger, CompletableFuture<UaResponseMessage>> pending = Maps.newConcurrentMap();
-    private final Map<UInteger, Timeout> timeouts = Maps.newConcurrentMap();
-
-    private final HashedWheelTimer wheelTimer;
-
     private final ApplicationDescription application;
 
-    private final ClientChannelManager channelManager;
+    private final Map<NodeId, ClientChannelManager> sessionChannels = Maps.newConcurrentMap();
+
+    private final List<ClientChannelManager> channelManagers;
 
     private final UaTcpStackClientConfig config;
 
     public UaTcpStackClient(UaTcpStackClientConfig config) {
         this.config = config;
 
-        wheelTimer = config.getWheelTimer();
-
         application = new ApplicationDescription(
             config.getApplicationUri(),
             config.getProductUri(),
@@ -97,7 +97,11 @@ public class UaTcpStackClient implements UaStackClient {
             ApplicationType.Client,
             null, null, null);
 
-        channelManager = new ClientChannelManager(this);
+        List<ClientChannelManager> managers = new ArrayList<>(config.getChannelPoolSize());
+        for (int i = 0; i < config.getChannelPoolSize(); i++) {
+            managers.add(new ClientChannelManager(this, i));
+        }
+        channelManagers = Collections.unmodifiableList(managers);
     }
 
     public UaTcpStackClientConfig getConfig() {
@@ -108,8 +112,10 @@ public class UaTcpStackClient implements UaStackClient {
     public CompletableFuture<UaStackClient> connect() {
         CompletableFuture<UaStackClient> future = new CompletableFuture<>();
 
-        channelManager.getChannel().whenComplete((ch, ex) -> {
-            if (ch != null) future.complete(this);
+        FutureUtils.sequence(
+            channelManagers.stream().map(ClientChannelManager::getChannel)
+        ).whenComplete((chs, ex) -> {
+            if (chs != null) future.complete(this);
             else future.completeExceptionally(ex);
         });
 
@@ -118,21 +124,39 @@ public class UaTcpStackClient implements UaStackClient {
 
     @Override
     public CompletableFuture<UaStackClient> disconnect() {
-        return channelManager.disconnect()
-            .whenComplete((u, ex) -> pending.forEach((h, cf) ->
-                cf.completeExceptionally(
-                    new UaException(StatusCodes.Bad_Disconnect, "client disconnect")))
-            )
-            .thenApply(v -> UaTcpStackClient.this);
+        return FutureUtils.sequence(
+            channelManagers.stream().map(ClientChannelManager::disconnect)
+        ).whenComplete((u, ex) -> {
+            sessionChannels.clear();
+
+            channelManagers.forEach(cm ->
+                cm.getPendingRequests().removeAll().forEach(cf ->
+                    failRequest(cf, new UaException(StatusCodes.Bad_Disconnect, "client disconnect"))));
+        }).thenApply(v -> UaTcpStackClient.this);
     }
 
     public <T extends UaResponseMessage> CompletableFuture<T> sendRequest(UaRequestMessage request) {
+        ClientChannelManager channelManager = route(request);
+
+        return channelManager.getRequestLimiter().acquire(request).thenCompose(permit -> {
+            CompletableFuture<T> future = sendRequest(request, channelManager);
+
+            future.whenComplete((r, ex) -> permit.release());
+
+            return future;
+        });
+    }
+
+    private <T extends UaResponseMessage> CompletableFuture<T> sendRequest(UaRequestMessage request,
+                                                                         ClientChannelManager channelManager) {
+
         return channelManager.getChannel()
-            .thenCompose(sc -> sendRequest(request, sc));
+            .thenCompose(sc -> sendRequest(request, channelManager, sc));
     }
 
     @SuppressWarnings("unchecked")
     private <T extends UaResponseMessage> CompletionStage<T> sendRequest(UaRequestMessage request,
+                                                                         ClientChannelManager channelManager,
                                                                          ClientSecureChannel sc) {
 
         Channel channel = sc.getChannel();
@@ -141,18 +165,20 @@ public class UaTcpStackClient implements UaStackClient {
         UaRequestFuture requestFuture = new UaRequestFuture(request);
 
         RequestHeader requestHeader = request.getRequestHeader();
+        PendingRequestTable pendingRequests = channelManager.getPendingRequests();
 
-        pending.put(requestHeader.getRequestHandle(), (CompletableFuture<UaResponseMessage>) future);
+        pendingRequests.put(
+            requestHeader.getRequestHandle().longValue(),
+            (CompletableFuture<UaResponseMessage>) future,
+            timeoutHint(requestHeader));
 
-        scheduleRequestTimeout(requestHeader);
+        track(request, channelManager, future);
 
         requestFuture.getFuture().whenComplete((r, x) -> {
             if (r != null) {
-                receiveResponse(r);
+                receiveResponse(channelManager, r);
             } else {
-                UInteger requestHandle = request.getRequestHeader().getRequestHandle();
-
-                pending.remove(requestHandle);
+                pendingRequests.remove(requestHeader.getRequestHandle().longValue());
                 future.completeExceptionally(x);
             }
         });
@@ -164,7 +190,7 @@ public class UaTcpStackClient implements UaStackClient {
                 if (cause instanceof ClosedChannelException) {
                     logger.debug("Channel closed; retrying...");
 
-                    sendRequest(request).whenComplete((r, ex) -> {
+                    this.<T>sendRequest(request, channelManager).whenComplete((r, ex) -> {
                         if (r != null) {
                             T t = (T) r;
                             future.complete(t);
@@ -173,9 +199,9 @@ public class UaTcpStackClient implements UaStackClient {
                         }
                     });
                 } else {
-                    UInteger requestHandle = request.getRequestHeader().getRequestHandle();
+                    UInteger requestHandle = requestHeader.getRequestHandle();
 
-                    pending.remove(requestHandle);
+                    pendingRequests.remove(requestHandle.longValue());
                     future.completeExceptionally(f.cause());
 
                     logger.debug("Write failed, requestHandle={}", requestHandle, cause);
@@ -192,15 +218,35 @@ public class UaTcpStackClient implements UaStackClient {
         return future;
     }
 
+    @SuppressWarnings("unchecked")
     public void sendRequests(List<? extends UaRequestMessage> requests,
                              List<CompletableFuture<? extends UaResponseMessage>> futures) {
 
         Preconditions.checkArgument(requests.size() == futures.size(),
             "requests and futures parameters must be same size");
 
+        if (requests.isEmpty()) return;
+
+        if (config.getMaxInFlightRequests() > 0) {
+            // Each request needs its own permit. Holding some permits while waiting for the rest could deadlock
+            // with other batches, so the requests are sent one by one instead.
+            for (int i = 0; i < requests.size(); i++) {
+                CompletableFuture<UaResponseMessage> future = (CompletableFuture<UaResponseMessage>) futures.get(i);
+
+                sendRequest(requests.get(i)).whenComplete((r, ex) -> {
+                    if (r != null) future.complete(r);
+                    else future.completeExceptionally(ex);
+                });
+            }
+
+            return;
+        }
+
+        ClientChannelManager channelManager = route(requests.get(0));
+
         channelManager.getChannel().whenComplete((sc, ex) -> {
             if (sc != null) {
-                sendRequests(requests, futures, sc);
+                sendRequests(requests, futures, channelManager, sc);
             } else {
                 futures.forEach(f -> f.completeExceptionally(ex));
             }
@@ -210,39 +256,41 @@ public class UaTcpStackClient implements UaStackClient {
     @SuppressWarnings("unchecked")
     private void sendRequests(List<? extends UaRequestMessage> requests,
                               List<CompletableFuture<? extends UaResponseMessage>> futures,
+                              ClientChannelManager channelManager,
                               ClientSecureChannel sc) {
 
         Channel channel = sc.getChannel();
         Iterator<? extends UaRequestMessage> requestIterator = requests.iterator();
         Iterator<CompletableFuture<? extends UaResponseMessage>> futureIterator = futures.iterator();
 
-        List<UaRequestFuture> pendingRequests = new ArrayList<>(requests.size());
+        PendingRequestTable pendingRequests = channelManager.getPendingRequests();
+        List<UaRequestFuture> requestFutures = new ArrayList<>(requests.size());
 
         while (requestIterator.hasNext() && futureIterator.hasNext()) {
             UaRequestMessage request = requestIterator.next();
             CompletableFuture<UaResponseMessage> future =
                 (CompletableFuture<UaResponseMessage>) futureIterator.next();
 
-            UaRequestFuture pendingRequest = new UaRequestFuture(request, future);
-            pendingRequests.add(pendingRequest);
+            UaRequestFuture requestFuture = new UaRequestFuture(request, future);
+            requestFutures.add(requestFuture);
 
             RequestHeader requestHeader = request.getRequestHeader();
 
-            pending.put(requestHeader.getRequestHandle(), future);
+            pendingRequests.put(requestHeader.getRequestHandle().longValue(), future, timeoutHint(requestHeader));
 
-            scheduleRequestTimeout(requestHeader);
+            track(request, channelManager, future);
 
-            pendingRequest.getFuture().thenAccept(this::receiveResponse);
+            requestFuture.getFuture().thenAccept(r -> receiveResponse(channelManager, r));
         }
 
         channel.eventLoop().execute(() -> {
-            for (UaRequestFuture pendingRequest : pendingRequests) {
-                channel.write(pendingRequest).addListener(f -> {
+            for (UaRequestFuture requestFuture : requestFutures) {
+                channel.write(requestFuture).addListener(f -> {
                     if (!f.isSuccess()) {
-                        UInteger requestHandle = pendingRequest
+                        UInteger requestHandle = requestFuture
                             .getRequest().getRequestHeader().getRequestHandle();
 
-                        CompletableFuture<?> future = pending.remove(requestHandle);
+                        CompletableFuture<?> future = pendingRequests.remove(requestHandle.longValue());
                         if (future != null) future.completeExceptionally(f.cause());
 
                         logger.debug("Write failed, requestHandle={}", requestHandle, f.cause());
@@ -254,34 +302,123 @@ public class UaTcpStackClient implements UaStackClient {
         });
     }
 
+    /**
+     * @return the first secure channel in the pool, which requests bound to a session are sent on unless the session
+     * was created on another channel.
+     */
     public CompletableFuture<ClientSecureChannel> getChannelFuture() {
-        return channelManager.getChannel();
+        return channelManagers.get(0).getChannel();
     }
 
-    private void scheduleRequestTimeout(RequestHeader requestHeader) {
-        UInteger requestHandle = requestHeader.getRequestHandle();
+    /**
+     * @param authenticationToken the authentication token of a session created by this client.
+     * @return the secure channel the session identified by {@code authenticationToken} was created on.
+     */
+    public CompletableFuture<ClientSecureChannel> getChannelFuture(NodeId authenticationToken) {
+        return sessionChannels.getOrDefault(authenticationToken, channelManagers.get(0)).getChannel();
+    }
 
-        long timeoutHint = requestHeader.getTimeoutHint() != null ?
-            requestHeader.getTimeoutHint().longValue() : DEFAULT_TIMEOUT_MS;
+    /**
+     * @return the secure channels in the pool, in pool order.
+     */
+    public List<CompletableFuture<ClientSecureChannel>> getChannelFutures() {
+        List<CompletableFuture<ClientSecureChannel>> channelFutures = new ArrayList<>(channelManagers.size());
+
+        channelManagers.forEach(cm -> channelFutures.add(cm.getChannel()));
+
+        return channelFutures;
+    }
+
+    /**
+     * @return the {@link RequestLimiter} of each secure channel in the pool, in pool order, for its in-flight, queue
+     * depth and round-trip time gauges.
+     */
+    public List<RequestLimiter> getRequestLimiters() {
+        List<RequestLimiter> requestLimiters = new ArrayList<>(channelManagers.size());
+
+        channelManagers.forEach(cm -> requestLimiters.add(cm.getRequestLimiter()));
 
-        Timeout timeout = wheelTimer.newTimeout(t -> {
-            if (timeouts.remove(requestHandle) != null && !t.isCancelled()) {
-                CompletableFuture<UaResponseMessage> f = pending.remove(requestHandle);
-                if (f != null) {
-                    String message = "request timed out after " + timeoutHint + "ms";
-                    f.completeExceptionally(new UaException(StatusCodes.Bad_Timeout, message));
+        return requestLimiters;
+    }
+
+    /**
+     * Choose the channel in the pool to send {@code request} on.
+     * <p>
+     * The server only accepts requests for a session on the secure channel the session was created on, so requests
+     * carrying an authentication token go to that channel. Everything else goes to the channel with the fewest
+     * requests outstanding.
+     */
+    private ClientChannelManager route(UaRequestMessage request) {
+        ClientChannelManager primary = channelManagers.get(0);
+
+        if (channelManagers.size() == 1) return primary;
+
+        RequestHeader header = request.getRequestHeader();
+        NodeId authenticationToken = header != null ? header.getAuthenticationToken() : null;
+
+        if (authenticationToken != null && authenticationToken.isNotNull()) {
+            return sessionChannels.getOrDefault(authenticationToken, primary);
+        }
+
+        ClientChannelManager leastOutstanding = primary;
+
+        for (ClientChannelManager channelManager : channelManagers) {
+            if (channelManager.getOutstandingRequests() < leastOutstanding.getOutstandingRequests()) {
+                leastOutstanding = channelManager;
+            }
+        }
+
+        return leastOutstanding;
+    }
+
+    /**
+     * Count {@code request} as in flight on {@code channelManager} until {@code future} completes, and remember
+     * which channel a session was created on until it's closed or the server reports it no longer exists, e.g.
+     * because it expired or the server restarted and the session was replaced by a new one.
+     */
+    private void track(UaRequestMessage request,
+                       ClientChannelManager channelManager,
+                       CompletableFuture<? extends UaResponseMessage> future) {
+
+        channelManager.getRequestLimiter().track(future);
+
+        future.whenComplete((r, ex) -> {
+            if (r instanceof CreateSessionResponse && request instanceof CreateSessionRequest) {
+                NodeId authenticationToken = ((CreateSessionResponse) r).getAuthenticationToken();
+
+                if (authenticationToken != null && channelManagers.size() > 1) {
+                    sessionChannels.put(authenticationToken, channelManager);
+                }
+            } else if (request instanceof CloseSessionRequest || isSessionGone(ex)) {
+                NodeId authenticationToken = request.getRequestHeader().getAuthenticationToken();
+
+                if (authenticationToken != null) {
+                    sessionChannels.remove(authenticationToken);
                 }
             }
-        }, timeoutHint, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private static boolean isSessionGone(Throwable ex) {
+        if (ex == null) return false;
+
+        return UaException.extract(ex)
+            .map(e -> e.getStatusCode().getValue())
+            .filter(status -> status == StatusCodes.Bad_SessionIdInvalid || status == StatusCodes.Bad_SessionClosed)
+            .isPresent();
+    }
 
-        timeouts.put(requestHandle, timeout);
+    private static long timeoutHint(RequestHeader requestHeader) {
+        return requestHeader.getTimeoutHint() != null ?
+            requestHeader.getTimeoutHint().longValue() : DEFAULT_TIMEOUT_MS;
     }
 
-    private void receiveResponse(UaResponseMessage response) {
+    private void receiveResponse(ClientChannelManager channelManager, UaResponseMessage response) {
         ResponseHeader header = response.getResponseHeader();
         UInteger requestHandle = header.getRequestHandle();
 
-        CompletableFuture<UaResponseMessage> future = pending.remove(requestHandle);
+        CompletableFuture<UaResponseMessage> future =
+            channelManager.getPendingRequests().remove(requestHandle.longValue());
 
         if (future != null) {
             if (header.getServiceResult().isGood()) {
@@ -297,9 +434,6 @@ public class UaTcpStackClient implements UaStackClient {
 
                 future.completeExceptionally(new UaServiceFaultException(serviceFault));
             }
-
-            Timeout timeout = timeouts.remove(requestHandle);
-            if (timeout != null) timeout.cancel();
         } else {
             logger.warn("Received {} for unknown requestHandle: {}",
                 response.getClass().getSimpleName(), requestHandle);
@@ -348,29 +482,92 @@ public class UaTcpStackClient implements UaStackClient {
         return config.getExecutor();
     }
 
+    /**
+     * Complete {@code future}, the future of a request sent by this client, with {@code response}.
+     * <p>
+     * Every request future is completed through {@link #completeRequest(CompletableFuture, Object)} or
+     * {@link #failRequest(CompletableFuture, Throwable)}: on the client's executor, so callbacks don't run on an
+     * event loop or timer thread, and with the thread marked so that a request sent from a callback fails fast
+     * rather than block under {@link org.eclipse.milo.opcua.stack.client.config.RequestOverflowPolicy#BLOCK}.
+     *
+     * @param future   the future of the request.
+     * @param response the response to complete it with.
+     */
+    public <T> void completeRequest(CompletableFuture<T> future, T response) {
+        deliver(() -> future.complete(response));
+    }
+
+    /**
+     * Fail {@code future}, the future of a request sent by this client, with {@code failure}; see
+     * {@link #completeRequest(CompletableFuture, Object)}.
+     *
+     * @param future  the future of the request.
+     * @param failure the reason the request failed.
+     */
+    public void failRequest(CompletableFuture<?> future, Throwable failure) {
+        deliver(() -> future.completeExceptionally(failure));
+    }
+
+    /**
+     * Run {@code completion}, which completes request futures, on the client's executor, or on the current thread
+     * if the executor rejects it.
+     */
+    void deliver(Runnable completion) {
+        try {
+            getExecutorService().execute(() -> RequestLimiter.runDelivering(completion));
+        } catch (RejectedExecutionException e) {
+            RequestLimiter.runDelivering(completion);
+        }
+    }
+
+    public static CompletableFuture<ClientSecureChannel> bootstrap(
+        UaTcpStackClient client,
+        Optional<ClientSecureChannel> existingChannel) {
+
+        return bootstrap(client, 0, existingChannel);
+    }
+
+    /**
+     * Bootstrap a secure channel for the channel at {@code channelIndex} in the client's channel pool.
+     * <p>
+     * The index staggers the channel's security token renewals relative to the other channels in the pool.
+     *
+     * @param client          the {@link UaTcpStackClient}.
+     * @param channelIndex    the index of the channel in the client's channel pool.
+     * @param existingChannel an existing {@link ClientSecureChannel} to re-open, if any.
+     * @return a {@link CompletableFuture} completed by the {@link ClientSecureChannel} once the handshake is done.
+     */
     public static CompletableFuture<ClientSecureChannel> bootstrap(
         UaTcpStackClient client,
+        int channelIndex,
         Optional<ClientSecureChannel> existingChannel) {
 
         CompletableFuture<ClientSecureChannel> handshake = new CompletableFuture<>();
 
+        UaTcpStackClientConfig config = client.getConfig();
+        NettyTransport transport = NettyTransport.of(config.getEventLoop());
+
         Bootstrap bootstrap = new Bootstrap();
 
-        bootstrap.group(client.getConfig().getEventLoop())
-            .channel(NioSocketChannel.class)
+        bootstrap.group(config.getEventLoop())
+            .channel(transport.getSocketChannelClass())
             .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
             .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-            .option(ChannelOption.TCP_NODELAY, true)
+            .option(ChannelOption.TCP_NODELAY, config.isTcpNoDelayEnabled())
             .handler(new ChannelInitializer<SocketChannel>() {
                 @Override
                 protected void initChannel(SocketChannel channel) throws Exception {
                     UaTcpClientAcknowledgeHandler acknowledgeHandler =
-                        new UaTcpClientAcknowledgeHandler(client, existingChannel, handshake);
+                        new UaTcpClientAcknowledgeHandler(client, channelIndex, existingChannel, handshake);
 
                     channel.pipeline().addLast(acknowledgeHandler);
                 }
             });
 
+        if (transport == NettyTransport.EPOLL && config.isTcpQuickAckEnabled()) {
+            bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+        }
+
         try {
             URI uri = new URI(client.getEndpointUrl()).parseServerAuthority();
 
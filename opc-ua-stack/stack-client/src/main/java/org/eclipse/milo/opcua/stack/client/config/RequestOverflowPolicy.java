@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.client.config;
+
+/**
+ * What happens to a request sent when {@link UaTcpStackClientConfig#getMaxInFlightRequests()} requests are already
+ * awaiting a response and {@link UaTcpStackClientConfig#getMaxQueuedRequests()} more are waiting to be sent.
+ */
+public enum RequestOverflowPolicy {
+
+    /**
+     * The request fails immediately with {@code Bad_ResourceUnavailable}.
+     */
+    FAIL,
+
+    /**
+     * The thread sending the request blocks until there is room in the queue or the request's timeoutHint expires.
+     * <p>
+     * Requests sent from one of the client's event loop threads, or from a callback of a future the client is
+     * completing on its executor, fail immediately instead, as if the policy were {@link #FAIL}, because blocking
+     * there would stop the responses that make room from being received or delivered.
+     * <p>
+     * Only send requests that may block from application threads. Other tasks running on the client's executor are
+     * not detected; if they block they hold up response delivery for as long as they wait.
+     */
+    BLOCK
+
+}
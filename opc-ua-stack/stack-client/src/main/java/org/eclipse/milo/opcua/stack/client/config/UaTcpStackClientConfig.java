@@ -19,10 +19,11 @@ import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.util.HashedWheelTimer;
 import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.NettyTransport;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
@@ -94,9 +95,16 @@ public interface UaTcpStackClientConfig {
     ExecutorService getExecutor();
 
     /**
-     * @return the {@link NioEventLoopGroup} the {@link UaTcpStackClient} will use.
+     * @return the {@link ExecutorService} messages are encoded, decoded, signed and encrypted on. Unless configured
+     * separately, this is the same as {@link #getExecutor()}.
      */
-    NioEventLoopGroup getEventLoop();
+    ExecutorService getSerializationExecutor();
+
+    /**
+     * @return the {@link EventLoopGroup} the {@link UaTcpStackClient} will use. The socket channel class is chosen to
+     * match its {@link NettyTransport}.
+     */
+    EventLoopGroup getEventLoop();
 
     /**
      * @return the {@link HashedWheelTimer} the {@link UaTcpStackClient} will use.
@@ -115,6 +123,51 @@ public interface UaTcpStackClientConfig {
      */
     boolean isSecureChannelReauthenticationEnabled();
 
+    /**
+     * @return {@code true} if TCP_NODELAY is set on the connection.
+     */
+    boolean isTcpNoDelayEnabled();
+
+    /**
+     * If {@code true}, TCP_QUICKACK is set on the connection. Only supported by {@link NettyTransport#EPOLL}; ignored
+     * by other transports.
+     *
+     * @return {@code true} if TCP_QUICKACK is set on the connection.
+     */
+    boolean isTcpQuickAckEnabled();
+
+    /**
+     * The number of secure channels the {@link UaTcpStackClient} opens to the endpoint.
+     * <p>
+     * Requests that aren't bound to a session are sent on whichever channel has the fewest requests outstanding.
+     * Requests bound to a session, including Publish requests, are always sent on the channel the session was created
+     * on. {@code OpcUaClient} sends every request through its one session, so it only accepts a pool size of 1.
+     *
+     * @return the number of secure channels to open to the endpoint.
+     */
+    int getChannelPoolSize();
+
+    /**
+     * The maximum number of requests awaiting a response on each secure channel, or 0 for no limit.
+     * <p>
+     * Requests over the limit wait in a queue of up to {@link #getMaxQueuedRequests()} requests until a response
+     * frees up a slot. Publish requests are not limited.
+     *
+     * @return the maximum number of requests awaiting a response on each secure channel, or 0 for no limit.
+     */
+    int getMaxInFlightRequests();
+
+    /**
+     * @return the maximum number of requests on each secure channel waiting for a slot once
+     * {@link #getMaxInFlightRequests()} has been reached.
+     */
+    int getMaxQueuedRequests();
+
+    /**
+     * @return the {@link RequestOverflowPolicy} applied to requests sent when a secure channel's wait queue is full.
+     */
+    RequestOverflowPolicy getRequestOverflowPolicy();
+
     /**
      * @return a new {@link UaTcpStackClientConfigBuilder}.
      */
@@ -143,9 +196,16 @@ public interface UaTcpStackClientConfig {
         builder.setChannelConfig(config.getChannelConfig());
         builder.setChannelLifetime(config.getChannelLifetime());
         builder.setExecutor(config.getExecutor());
+        builder.setSerializationExecutor(config.getSerializationExecutor());
         builder.setEventLoop(config.getEventLoop());
         builder.setWheelTimer(config.getWheelTimer());
         builder.setSecureChannelReauthenticationEnabled(config.isSecureChannelReauthenticationEnabled());
+        builder.setTcpNoDelayEnabled(config.isTcpNoDelayEnabled());
+        builder.setTcpQuickAckEnabled(config.isTcpQuickAckEnabled());
+        builder.setChannelPoolSize(config.getChannelPoolSize());
+        builder.setMaxInFlightRequests(config.getMaxInFlightRequests());
+        builder.setMaxQueuedRequests(config.getMaxQueuedRequests());
+        builder.setRequestOverflowPolicy(config.getRequestOverflowPolicy());
 
         return builder;
     }
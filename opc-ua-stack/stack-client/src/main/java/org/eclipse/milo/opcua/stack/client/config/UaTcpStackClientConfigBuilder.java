@@ -19,7 +19,8 @@ import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 
-import io.netty.channel.nio.NioEventLoopGroup;
+import com.google.common.base.Preconditions;
+import io.netty.channel.EventLoopGroup;
 import io.netty.util.HashedWheelTimer;
 import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
@@ -43,11 +44,21 @@ public class UaTcpStackClientConfigBuilder {
     private ChannelConfig channelConfig = ChannelConfig.DEFAULT;
     private UInteger channelLifetime = uint(60 * 60 * 1000);
     private ExecutorService executor;
-    private NioEventLoopGroup eventLoop;
+    private ExecutorService serializationExecutor;
+    private EventLoopGroup eventLoop;
     private HashedWheelTimer wheelTimer;
 
     private boolean secureChannelReauthenticationEnabled = true;
 
+    private boolean tcpNoDelayEnabled = true;
+    private boolean tcpQuickAckEnabled = false;
+
+    private int channelPoolSize = 1;
+
+    private int maxInFlightRequests = 0;
+    private int maxQueuedRequests = 1000;
+    private RequestOverflowPolicy requestOverflowPolicy = RequestOverflowPolicy.FAIL;
+
     public UaTcpStackClientConfigBuilder setEndpointUrl(String endpointUrl) {
         this.endpointUrl = endpointUrl;
         return this;
@@ -98,7 +109,12 @@ public class UaTcpStackClientConfigBuilder {
         return this;
     }
 
-    public UaTcpStackClientConfigBuilder setEventLoop(NioEventLoopGroup eventLoop) {
+    public UaTcpStackClientConfigBuilder setSerializationExecutor(ExecutorService serializationExecutor) {
+        this.serializationExecutor = serializationExecutor;
+        return this;
+    }
+
+    public UaTcpStackClientConfigBuilder setEventLoop(EventLoopGroup eventLoop) {
         this.eventLoop = eventLoop;
         return this;
     }
@@ -115,10 +131,48 @@ public class UaTcpStackClientConfigBuilder {
         return this;
     }
 
+    public UaTcpStackClientConfigBuilder setTcpNoDelayEnabled(boolean tcpNoDelayEnabled) {
+        this.tcpNoDelayEnabled = tcpNoDelayEnabled;
+        return this;
+    }
+
+    public UaTcpStackClientConfigBuilder setTcpQuickAckEnabled(boolean tcpQuickAckEnabled) {
+        this.tcpQuickAckEnabled = tcpQuickAckEnabled;
+        return this;
+    }
+
+    public UaTcpStackClientConfigBuilder setChannelPoolSize(int channelPoolSize) {
+        this.channelPoolSize = channelPoolSize;
+        return this;
+    }
+
+    public UaTcpStackClientConfigBuilder setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+        return this;
+    }
+
+    public UaTcpStackClientConfigBuilder setMaxQueuedRequests(int maxQueuedRequests) {
+        this.maxQueuedRequests = maxQueuedRequests;
+        return this;
+    }
+
+    public UaTcpStackClientConfigBuilder setRequestOverflowPolicy(RequestOverflowPolicy requestOverflowPolicy) {
+        this.requestOverflowPolicy = requestOverflowPolicy;
+        return this;
+    }
+
     public UaTcpStackClientConfig build() {
+        Preconditions.checkArgument(channelPoolSize > 0, "channelPoolSize must be > 0");
+        Preconditions.checkArgument(maxInFlightRequests >= 0, "maxInFlightRequests must be >= 0");
+        Preconditions.checkArgument(maxQueuedRequests >= 0, "maxQueuedRequests must be >= 0");
+        Preconditions.checkNotNull(requestOverflowPolicy, "requestOverflowPolicy");
+
         if (executor == null) {
             executor = Stack.sharedExecutor();
         }
+        if (serializationExecutor == null) {
+            serializationExecutor = executor;
+        }
         if (eventLoop == null) {
             eventLoop = Stack.sharedEventLoop();
         }
@@ -137,9 +191,16 @@ public class UaTcpStackClientConfigBuilder {
             channelConfig,
             channelLifetime,
             executor,
+            serializationExecutor,
             eventLoop,
             wheelTimer,
-            secureChannelReauthenticationEnabled);
+            secureChannelReauthenticationEnabled,
+            tcpNoDelayEnabled,
+            tcpQuickAckEnabled,
+            channelPoolSize,
+            maxInFlightRequests,
+            maxQueuedRequests,
+            requestOverflowPolicy);
     }
 
     public static class UaTcpStackClientConfigImpl implements UaTcpStackClientConfig {
@@ -156,11 +217,21 @@ public class UaTcpStackClientConfigBuilder {
         private final ChannelConfig channelConfig;
         private final UInteger channelLifetime;
         private final ExecutorService executor;
-        private final NioEventLoopGroup eventLoop;
+        private final ExecutorService serializationExecutor;
+        private final EventLoopGroup eventLoop;
         private final HashedWheelTimer wheelTimer;
 
         private final boolean secureChannelReauthenticationEnabled;
 
+        private final boolean tcpNoDelayEnabled;
+        private final boolean tcpQuickAckEnabled;
+
+        private final int channelPoolSize;
+
+        private final int maxInFlightRequests;
+        private final int maxQueuedRequests;
+        private final RequestOverflowPolicy requestOverflowPolicy;
+
         public UaTcpStackClientConfigImpl(
             @Nullable String endpointUrl,
             @Nullable EndpointDescription endpoint,
@@ -172,9 +243,16 @@ public class UaTcpStackClientConfigBuilder {
             ChannelConfig channelConfig,
             UInteger channelLifetime,
             ExecutorService executor,
-            NioEventLoopGroup eventLoop,
+            ExecutorService serializationExecutor,
+            EventLoopGroup eventLoop,
             HashedWheelTimer wheelTimer,
-            boolean secureChannelReauthenticationEnabled) {
+            boolean secureChannelReauthenticationEnabled,
+            boolean tcpNoDelayEnabled,
+            boolean tcpQuickAckEnabled,
+            int channelPoolSize,
+            int maxInFlightRequests,
+            int maxQueuedRequests,
+            RequestOverflowPolicy requestOverflowPolicy) {
 
             this.endpointUrl = endpointUrl;
             this.endpoint = endpoint;
@@ -186,9 +264,16 @@ public class UaTcpStackClientConfigBuilder {
             this.channelConfig = channelConfig;
             this.channelLifetime = channelLifetime;
             this.executor = executor;
+            this.serializationExecutor = serializationExecutor;
             this.eventLoop = eventLoop;
             this.wheelTimer = wheelTimer;
             this.secureChannelReauthenticationEnabled = secureChannelReauthenticationEnabled;
+            this.tcpNoDelayEnabled = tcpNoDelayEnabled;
+            this.tcpQuickAckEnabled = tcpQuickAckEnabled;
+            this.channelPoolSize = channelPoolSize;
+            this.maxInFlightRequests = maxInFlightRequests;
+            this.maxQueuedRequests = maxQueuedRequests;
+            this.requestOverflowPolicy = requestOverflowPolicy;
         }
 
         @Override
@@ -242,7 +327,12 @@ public class UaTcpStackClientConfigBuilder {
         }
 
         @Override
-        public NioEventLoopGroup getEventLoop() {
+        public ExecutorService getSerializationExecutor() {
+            return serializationExecutor;
+        }
+
+        @Override
+        public EventLoopGroup getEventLoop() {
             return eventLoop;
         }
 
@@ -256,6 +346,36 @@ public class UaTcpStackClientConfigBuilder {
             return secureChannelReauthenticationEnabled;
         }
 
+        @Override
+        public boolean isTcpNoDelayEnabled() {
+            return tcpNoDelayEnabled;
+        }
+
+        @Override
+        public boolean isTcpQuickAckEnabled() {
+            return tcpQuickAckEnabled;
+        }
+
+        @Override
+        public int getChannelPoolSize() {
+            return channelPoolSize;
+        }
+
+        @Override
+        public int getMaxInFlightRequests() {
+            return maxInFlightRequests;
+        }
+
+        @Override
+        public int getMaxQueuedRequests() {
+            return maxQueuedRequests;
+        }
+
+        @Override
+        public RequestOverflowPolicy getRequestOverflowPolicy() {
+            return requestOverflowPolicy;
+        }
+
     }
 
 }
@@ -66,13 +66,23 @@ public class UaTcpClientAcknowledgeHandler extends ByteToMessageCodec<UaRequestF
     private final ClientSecureChannel secureChannel;
 
     private final UaTcpStackClient client;
+    private final int channelIndex;
     private final CompletableFuture<ClientSecureChannel> handshakeFuture;
 
     public UaTcpClientAcknowledgeHandler(UaTcpStackClient client,
                                          Optional<ClientSecureChannel> existingChannel,
                                          CompletableFuture<ClientSecureChannel> handshakeFuture) {
 
+        this(client, 0, existingChannel, handshakeFuture);
+    }
+
+    public UaTcpClientAcknowledgeHandler(UaTcpStackClient client,
+                                         int channelIndex,
+                                         Optional<ClientSecureChannel> existingChannel,
+                                         CompletableFuture<ClientSecureChannel> handshakeFuture) {
+
         this.client = client;
+        this.channelIndex = channelIndex;
         this.handshakeFuture = handshakeFuture;
 
         UaTcpStackClientConfig config = client.getConfig();
@@ -247,18 +257,15 @@ public class UaTcpClientAcknowledgeHandler extends ByteToMessageCodec<UaRequestF
         ctx.channel().attr(KEY_AWAITING_HANDSHAKE).set(awaitingHandshake);
 
         ctx.executor().execute(() -> {
-            int maxArrayLength = client.getChannelConfig().getMaxArrayLength();
-            int maxStringLength = client.getChannelConfig().getMaxStringLength();
-
             SerializationQueue serializationQueue = new SerializationQueue(
-                client.getConfig().getExecutor(),
+                client.getConfig().getSerializationExecutor(),
                 parameters,
-                maxArrayLength,
-                maxStringLength
+                client.getChannelConfig()
             );
 
             UaTcpClientMessageHandler handler = new UaTcpClientMessageHandler(
                 client,
+                channelIndex,
                 secureChannel,
                 serializationQueue,
                 handshakeFuture
@@ -36,9 +36,11 @@ import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.UaRuntimeException;
 import org.eclipse.milo.opcua.stack.core.UaServiceFaultException;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelSecurity;
+import org.eclipse.milo.opcua.stack.core.channel.ChunkEncoder;
 import org.eclipse.milo.opcua.stack.core.channel.ClientSecureChannel;
 import org.eclipse.milo.opcua.stack.core.channel.MessageAbortedException;
 import org.eclipse.milo.opcua.stack.core.channel.SerializationQueue;
+import org.eclipse.milo.opcua.stack.core.channel.WriteCoalescer;
 import org.eclipse.milo.opcua.stack.core.channel.headers.AsymmetricSecurityHeader;
 import org.eclipse.milo.opcua.stack.core.channel.headers.HeaderDecoder;
 import org.eclipse.milo.opcua.stack.core.channel.messages.ErrorMessage;
@@ -47,6 +49,7 @@ import org.eclipse.milo.opcua.stack.core.channel.messages.TcpMessageDecoder;
 import org.eclipse.milo.opcua.stack.core.security.SecurityAlgorithm;
 import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
@@ -58,7 +61,6 @@ import org.eclipse.milo.opcua.stack.core.types.structured.OpenSecureChannelReque
 import org.eclipse.milo.opcua.stack.core.types.structured.OpenSecureChannelResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
 import org.eclipse.milo.opcua.stack.core.types.structured.ServiceFault;
-import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
 import org.eclipse.milo.opcua.stack.core.util.LongSequence;
 import org.eclipse.milo.opcua.stack.core.util.NonceUtil;
 import org.jooq.lambda.tuple.Tuple2;
@@ -77,16 +79,19 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private List<ByteBuf> chunkBuffers = new LinkedList<>();
+    private int symmetricChunkCount = 0;
 
     private final AtomicReference<AsymmetricSecurityHeader> headerRef = new AtomicReference<>();
 
     private ScheduledFuture renewFuture;
     private Timeout secureChannelTimeout;
+    private WriteCoalescer writeCoalescer;
 
     private final Map<Long, UaRequestFuture> pending;
     private final LongSequence requestIdSequence;
 
     private final UaTcpStackClient client;
+    private final int channelIndex;
     private final ClientSecureChannel secureChannel;
     private final SerializationQueue serializationQueue;
     private final CompletableFuture<ClientSecureChannel> handshakeFuture;
@@ -97,7 +102,18 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
         SerializationQueue serializationQueue,
         CompletableFuture<ClientSecureChannel> handshakeFuture) {
 
+        this(client, 0, secureChannel, serializationQueue, handshakeFuture);
+    }
+
+    public UaTcpClientMessageHandler(
+        UaTcpStackClient client,
+        int channelIndex,
+        ClientSecureChannel secureChannel,
+        SerializationQueue serializationQueue,
+        CompletableFuture<ClientSecureChannel> handshakeFuture) {
+
         this.client = client;
+        this.channelIndex = channelIndex;
         this.secureChannel = secureChannel;
         this.serializationQueue = serializationQueue;
         this.handshakeFuture = handshakeFuture;
@@ -136,6 +152,8 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
 
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        writeCoalescer = new WriteCoalescer(ctx, serializationQueue.getChannelConfig().getMaxFlushDelayMicros());
+
         SecurityTokenRequestType requestType = secureChannel.getChannelId() == 0 ?
             SecurityTokenRequestType.Issue : SecurityTokenRequestType.Renew;
 
@@ -164,6 +182,8 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
         handshakeFuture.completeExceptionally(
             new UaException(StatusCodes.Bad_ConnectionClosed, "connection closed"));
 
+        serializationQueue.decode((binaryDecoder, chunkDecoder) -> chunkDecoder.discardPartialMessage());
+
         super.channelInactive(ctx);
     }
 
@@ -209,10 +229,7 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
 
             List<ByteBuf> chunks = t2.v2();
 
-            ctx.executor().execute(() -> {
-                chunks.forEach(c -> ctx.write(c, ctx.voidPromise()));
-                ctx.flush();
-            });
+            writeCoalescer.write(chunks);
 
             ChannelSecurity channelSecurity = secureChannel.getChannelSecurity();
 
@@ -237,11 +254,7 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
 
             List<ByteBuf> chunks = t2.v2();
 
-            ctx.executor().execute(() -> {
-                chunks.forEach(c -> ctx.write(c, ctx.voidPromise()));
-                ctx.flush();
-                ctx.close();
-            });
+            writeCoalescer.writeAndClose(chunks);
 
             secureChannel.setChannelId(0);
         });
@@ -265,10 +278,7 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
             // upper layers as well as normal completion.
             request.getFuture().whenComplete((r, x) -> pending.remove(requestId));
 
-            ctx.executor().execute(() -> {
-                chunks.forEach(c -> ctx.write(c, ctx.voidPromise()));
-                ctx.flush();
-            });
+            writeCoalescer.write(chunks);
         });
     }
 
@@ -279,12 +289,9 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
         CompletableFuture<Tuple2<Long, List<ByteBuf>>> future = new CompletableFuture<>();
 
         serializationQueue.encode((binaryEncoder, chunkEncoder) -> {
-            ByteBuf messageBuffer = null;
-
             try {
-                messageBuffer = BufferUtil.buffer();
-                binaryEncoder.setBuffer(messageBuffer);
-                binaryEncoder.encodeMessage(null, request);
+                ChunkEncoder.MessageWriter writer =
+                    messageBuffer -> binaryEncoder.setBuffer(messageBuffer).encodeMessage(null, request);
 
                 List<ByteBuf> chunks;
 
@@ -292,14 +299,14 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
                     chunks = chunkEncoder.encodeAsymmetric(
                         secureChannel,
                         messageType,
-                        messageBuffer,
+                        writer,
                         requestIdSequence.getAndIncrement()
                     );
                 } else {
                     chunks = chunkEncoder.encodeSymmetric(
                         secureChannel,
                         messageType,
-                        messageBuffer,
+                        writer,
                         requestIdSequence.getAndIncrement()
                     );
                 }
@@ -309,10 +316,6 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
                 logger.error("Error encoding {}: {}", request, ex.getMessage(), ex);
 
                 future.completeExceptionally(ex);
-            } finally {
-                if (messageBuffer != null) {
-                    messageBuffer.release();
-                }
             }
         });
 
@@ -355,6 +358,20 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
     }
 
     private boolean accumulateChunk(ByteBuf buffer) throws UaException {
+        validateChunk(buffer, chunkBuffers.size() + 1);
+
+        chunkBuffers.add(buffer.retain());
+
+        char chunkType = (char) buffer.getByte(3);
+
+        return (chunkType == 'A' || chunkType == 'F');
+    }
+
+    /**
+     * @param buffer     the chunk.
+     * @param chunkCount the number of chunks received for the current message, including this one.
+     */
+    private void validateChunk(ByteBuf buffer, int chunkCount) throws UaException {
         int maxChunkCount = serializationQueue.getParameters().getLocalMaxChunkCount();
         int maxChunkSize = serializationQueue.getParameters().getLocalReceiveBufferSize();
 
@@ -365,16 +382,10 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
                 String.format("max chunk size exceeded (%s)", maxChunkSize));
         }
 
-        chunkBuffers.add(buffer.retain());
-
-        if (chunkBuffers.size() > maxChunkCount) {
+        if (chunkCount > maxChunkCount) {
             throw new UaException(StatusCodes.Bad_TcpMessageTooLarge,
                 String.format("max chunk count exceeded (%s)", maxChunkCount));
         }
-
-        char chunkType = (char) buffer.getByte(3);
-
-        return (chunkType == 'A' || chunkType == 'F');
     }
 
     private void onOpenSecureChannel(ChannelHandlerContext ctx, ByteBuf buffer) throws UaException {
@@ -483,7 +494,8 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
         long revisedLifetime = response.getSecurityToken().getRevisedLifetime().longValue();
 
         if (revisedLifetime > 0) {
-            long renewAt = (long) (revisedLifetime * 0.75);
+            double renewalPoint = renewalPoint(channelIndex, client.getConfig().getChannelPoolSize());
+            long renewAt = (long) (revisedLifetime * renewalPoint);
             renewFuture = ctx.executor().schedule(
                 () -> sendOpenSecureChannelRequest(ctx, SecurityTokenRequestType.Renew),
                 renewAt, TimeUnit.MILLISECONDS);
@@ -519,50 +531,97 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
                 "invalid secure channel id: " + secureChannelId);
         }
 
-        if (accumulateChunk(buffer)) {
-            final List<ByteBuf> buffersToDecode = ImmutableList.copyOf(chunkBuffers);
-            chunkBuffers = new LinkedList<>();
+        validateChunk(buffer, ++symmetricChunkCount);
 
-            serializationQueue.decode((binaryDecoder, chunkDecoder) -> {
-                ByteBuf decodedBuffer = null;
+        char chunkType = (char) buffer.getByte(3);
 
-                try {
-                    decodedBuffer = chunkDecoder.decodeSymmetric(secureChannel, buffersToDecode);
+        if (chunkType == 'A' || chunkType == 'F') {
+            symmetricChunkCount = 0;
+        }
 
-                    binaryDecoder.setBuffer(decodedBuffer);
-                    UaResponseMessage response = binaryDecoder.decodeMessage(null);
+        final ByteBuf chunkBuffer = buffer.retain();
 
-                    UaRequestFuture request = pending.remove(chunkDecoder.getLastRequestId());
+        // Each chunk is verified and decrypted as soon as it arrives rather than once the final chunk is received.
+        serializationQueue.decode((binaryDecoder, chunkDecoder) -> {
+            ByteBuf decodedBuffer = null;
 
-                    if (request != null) {
-                        client.getExecutorService().execute(
-                            () -> request.getFuture().complete(response));
-                    } else {
-                        logger.warn("No UaRequestFuture for requestId={}", chunkDecoder.getLastRequestId());
-                    }
-                } catch (MessageAbortedException e) {
-                    logger.debug(
-                        "Received message abort chunk; error={}, reason={}",
-                        e.getStatusCode(), e.getMessage());
+            try {
+                decodedBuffer = chunkDecoder.decodeSymmetricChunk(secureChannel, chunkBuffer);
 
-                    UaRequestFuture request = pending.remove(chunkDecoder.getLastRequestId());
+                if (decodedBuffer == null) return;
 
-                    if (request != null) {
-                        client.getExecutorService().execute(
-                            () -> request.getFuture().completeExceptionally(e));
-                    } else {
-                        logger.warn("No UaRequestFuture for requestId={}", chunkDecoder.getLastRequestId());
-                    }
-                } catch (Throwable t) {
-                    logger.error("Error decoding symmetric message: {}", t.getMessage(), t);
-                    serializationQueue.pause();
-                    ctx.close();
-                } finally {
-                    if (decodedBuffer != null) {
-                        decodedBuffer.release();
-                    }
+                long requestId = chunkDecoder.getLastRequestId();
+                ByteBuf messageBuffer = decodedBuffer;
+                decodedBuffer = null; // released once the body has been decoded
+
+                serializationQueue.decodeBody(
+                    decoder -> decodeResponse(ctx, decoder, requestId, messageBuffer),
+                    reason -> discardResponse(requestId, messageBuffer, reason));
+            } catch (MessageAbortedException e) {
+                logger.debug(
+                    "Received message abort chunk; error={}, reason={}",
+                    e.getStatusCode(), e.getMessage());
+
+                UaRequestFuture request = pending.remove(chunkDecoder.getLastRequestId());
+
+                if (request != null) {
+                    client.failRequest(request.getFuture(), e);
+                } else {
+                    logger.warn("No UaRequestFuture for requestId={}", chunkDecoder.getLastRequestId());
                 }
-            });
+            } catch (Throwable t) {
+                logger.error("Error decoding symmetric message: {}", t.getMessage(), t);
+                serializationQueue.pause();
+                ctx.close();
+            } finally {
+                if (decodedBuffer != null) {
+                    decodedBuffer.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Decode the body of a complete response and complete the future of the request it answers.
+     * <p>
+     * Runs on the decoding queue, or concurrently with other responses if the channel decodes message bodies in
+     * parallel; the request is found by request id, so responses may complete in any order.
+     */
+    private void decodeResponse(ChannelHandlerContext ctx,
+                                BinaryDecoder decoder,
+                                long requestId,
+                                ByteBuf messageBuffer) {
+
+        try {
+            decoder.setBuffer(messageBuffer);
+            UaResponseMessage response = decoder.decodeMessage(null);
+
+            UaRequestFuture request = pending.remove(requestId);
+
+            if (request != null) {
+                client.completeRequest(request.getFuture(), response);
+            } else {
+                logger.warn("No UaRequestFuture for requestId={}", requestId);
+            }
+        } catch (Throwable t) {
+            logger.error("Error decoding symmetric message: {}", t.getMessage(), t);
+            serializationQueue.pause();
+            ctx.close();
+        } finally {
+            messageBuffer.release();
+        }
+    }
+
+    /**
+     * Release the body of a response that won't be decoded and fail the request it answers with {@code reason}.
+     */
+    private void discardResponse(long requestId, ByteBuf messageBuffer, UaException reason) {
+        messageBuffer.release();
+
+        UaRequestFuture request = pending.remove(requestId);
+
+        if (request != null) {
+            client.failRequest(request.getFuture(), reason);
         }
     }
 
@@ -597,4 +656,18 @@ public class UaTcpClientMessageHandler extends ByteToMessageCodec<UaRequestFutur
         }
     }
 
+    /**
+     * The fraction of a security token's lifetime after which the channel at {@code channelIndex} renews it.
+     * <p>
+     * A lone channel renews at 75% of the lifetime; channels in a pool are spread between 50% and 75% so they don't
+     * all renew, and pay for the asymmetric crypto, at the same moment.
+     *
+     * @param channelIndex    the index of the channel in the client's channel pool.
+     * @param channelPoolSize the size of the client's channel pool.
+     * @return the fraction of the token lifetime after which to renew.
+     */
+    static double renewalPoint(int channelIndex, int channelPoolSize) {
+        return 0.75 - 0.25 * channelIndex / channelPoolSize;
+    }
+
 }
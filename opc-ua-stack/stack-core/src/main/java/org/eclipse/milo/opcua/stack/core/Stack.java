@@ -22,9 +22,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timeout;
+import org.eclipse.milo.opcua.stack.core.channel.NettyTransport;
 import org.eclipse.milo.opcua.stack.core.util.ManifestUtil;
 import org.slf4j.LoggerFactory;
 
@@ -39,16 +40,38 @@ public final class Stack {
     public static final int DEFAULT_PORT = 12685;
 
 
-    private static NioEventLoopGroup EVENT_LOOP;
+    private static NettyTransport TRANSPORT = NettyTransport.NIO;
+    private static EventLoopGroup EVENT_LOOP;
     private static ExecutorService EXECUTOR_SERVICE;
     private static ScheduledExecutorService SCHEDULED_EXECUTOR_SERVICE;
     private static HashedWheelTimer WHEEL_TIMER;
     private static ClassLoader CUSTOM_CLASS_LOADER;
 
     /**
-     * @return a shared {@link NioEventLoopGroup}.
+     * @return the {@link NettyTransport} the shared {@link EventLoopGroup} is created with.
      */
-    public static synchronized NioEventLoopGroup sharedEventLoop() {
+    public static synchronized NettyTransport getTransport() {
+        return TRANSPORT;
+    }
+
+    /**
+     * Set the {@link NettyTransport} the shared {@link EventLoopGroup} will be created with. Falls back to
+     * {@link NettyTransport#NIO} if {@code transport} is not available on this platform.
+     * <p>
+     * Takes effect the next time the shared {@link EventLoopGroup} is created, i.e. it must be set before the first
+     * call to {@link #sharedEventLoop()} or after {@link #releaseSharedResources()}.
+     *
+     * @param transport the {@link NettyTransport} to use.
+     */
+    public static synchronized void setTransport(NettyTransport transport) {
+        TRANSPORT = transport.orFallback();
+    }
+
+    /**
+     * @return a shared {@link EventLoopGroup} for the configured {@link NettyTransport}.
+     * @see #setTransport(NettyTransport)
+     */
+    public static synchronized EventLoopGroup sharedEventLoop() {
         if (EVENT_LOOP == null) {
             ThreadFactory threadFactory = new ThreadFactory() {
                 private final AtomicLong threadNumber = new AtomicLong(0L);
@@ -61,7 +84,7 @@ public final class Stack {
                 }
             };
 
-            EVENT_LOOP = new NioEventLoopGroup(0, threadFactory);
+            EVENT_LOOP = TRANSPORT.newEventLoopGroup(0, threadFactory);
         }
 
         return EVENT_LOOP;
@@ -145,14 +168,14 @@ public final class Stack {
     }
 
     /**
-     * Release shared resources, waiting at most 5 seconds for the {@link NioEventLoopGroup} to shutdown gracefully.
+     * Release shared resources, waiting at most 5 seconds for the {@link EventLoopGroup} to shutdown gracefully.
      */
     public static synchronized void releaseSharedResources() {
         releaseSharedResources(5, TimeUnit.SECONDS);
     }
 
     /**
-     * Release shared resources, waiting at most the specified timeout for the {@link NioEventLoopGroup} to shutdown
+     * Release shared resources, waiting at most the specified timeout for the {@link EventLoopGroup} to shutdown
      * gracefully.
      *
      * @param timeout the duration of the timeout.
@@ -14,6 +14,7 @@
 package org.eclipse.milo.opcua.stack.core.application.services;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.MoreObjects;
 import io.netty.util.DefaultAttributeMap;
@@ -24,6 +25,8 @@ import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
 import org.eclipse.milo.opcua.stack.core.types.structured.ResponseHeader;
 import org.eclipse.milo.opcua.stack.core.types.structured.ServiceFault;
 
@@ -35,16 +38,34 @@ public class ServiceRequest<ReqT extends UaRequestMessage, ResT extends UaRespon
     private final long requestId;
     private final UaStackServer server;
     private final ServerSecureChannel secureChannel;
+    private final long receivedNanos;
 
     public ServiceRequest(ReqT request,
                           long requestId,
                           UaStackServer server,
                           ServerSecureChannel secureChannel) {
 
+        this(request, requestId, server, secureChannel, System.nanoTime());
+    }
+
+    /**
+     * @param request       the request.
+     * @param requestId     the id of the message the request was received in.
+     * @param server        the {@link UaStackServer} the request was received by.
+     * @param secureChannel the {@link ServerSecureChannel} the request was received on.
+     * @param receivedNanos the {@link System#nanoTime()} at which the request's final chunk was received.
+     */
+    public ServiceRequest(ReqT request,
+                          long requestId,
+                          UaStackServer server,
+                          ServerSecureChannel secureChannel,
+                          long receivedNanos) {
+
         this.request = request;
         this.requestId = requestId;
         this.server = server;
         this.secureChannel = secureChannel;
+        this.receivedNanos = receivedNanos;
     }
 
     public CompletableFuture<ResT> getFuture() {
@@ -67,6 +88,30 @@ public class ServiceRequest<ReqT extends UaRequestMessage, ResT extends UaRespon
         return secureChannel;
     }
 
+    /**
+     * @return the {@link System#nanoTime()} at which this request was received.
+     */
+    public long getReceivedNanos() {
+        return receivedNanos;
+    }
+
+    /**
+     * @return {@code true} if the request header has a non-zero timeoutHint and more than that many milliseconds have
+     * passed since this request was received, i.e. the client has most likely given up waiting for the response.
+     */
+    public boolean isTimeoutHintExpired() {
+        RequestHeader header = request.getRequestHeader();
+        UInteger timeoutHint = header != null ? header.getTimeoutHint() : null;
+
+        if (timeoutHint == null || timeoutHint.longValue() == 0L) {
+            return false;
+        } else {
+            long elapsedNanos = System.nanoTime() - receivedNanos;
+
+            return elapsedNanos > TimeUnit.MILLISECONDS.toNanos(timeoutHint.longValue());
+        }
+    }
+
     public void setResponse(ResT response) {
         future.complete(response);
     }
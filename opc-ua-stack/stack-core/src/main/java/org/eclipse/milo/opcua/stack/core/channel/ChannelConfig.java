@@ -17,11 +17,6 @@ import com.google.common.base.Preconditions;
 
 public class ChannelConfig {
 
-    /**
-     * A {@link ChannelConfig} that uses the default settings.
-     */
-    public static final ChannelConfig DEFAULT = new ChannelConfig();
-
     /**
      * The default maximum size of a single chunk.
      */
@@ -41,11 +36,49 @@ public class ChannelConfig {
     public static final int DEFAULT_MAX_ARRAY_LENGTH = 65536;
     public static final int DEFAULT_MAX_STRING_LENGTH = 65536;
 
+    /**
+     * By default Variant arrays are decoded into boxed arrays (e.g. {@code Double[]}).
+     */
+    public static final boolean DEFAULT_PRIMITIVE_ARRAYS = false;
+
+    /**
+     * By default the chunks of a message are always signed/encrypted and decrypted/verified one after another.
+     */
+    public static final int DEFAULT_PARALLEL_CRYPTO_THRESHOLD = 0;
+
+    /**
+     * By default at most one thread per available processor works on the chunks of a single message.
+     */
+    public static final int DEFAULT_PARALLEL_CRYPTO_MAX_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * By default chunks written to a channel are flushed at the end of the event loop turn they were written in,
+     * without waiting for more writes.
+     */
+    public static final long DEFAULT_MAX_FLUSH_DELAY_MICROS = 0L;
+
+    /**
+     * By default the bodies of complete messages are decoded one after another, in the order they were received.
+     */
+    public static final int DEFAULT_DECODER_POOL_SIZE = 1;
+
+    /**
+     * A {@link ChannelConfig} that uses the default settings.
+     * <p>
+     * Must be declared after the defaults it is built from; they are not all compile-time constants.
+     */
+    public static final ChannelConfig DEFAULT = new ChannelConfig();
+
     private final int maxChunkSize;
     private final int maxChunkCount;
     private final int maxMessageSize;
     private final int maxArrayLength;
     private final int maxStringLength;
+    private final boolean primitiveArrays;
+    private final int parallelCryptoThreshold;
+    private final int parallelCryptoMaxThreads;
+    private final long maxFlushDelayMicros;
+    private final int decoderPoolSize;
 
     /**
      * Create a {@link ChannelConfig} using the default parameters.
@@ -55,6 +88,11 @@ public class ChannelConfig {
      * @see {@link ChannelConfig#DEFAULT_MAX_MESSAGE_SIZE}
      * @see {@link ChannelConfig#DEFAULT_MAX_ARRAY_LENGTH}
      * @see {@link ChannelConfig#DEFAULT_MAX_STRING_LENGTH}
+     * @see {@link ChannelConfig#DEFAULT_PRIMITIVE_ARRAYS}
+     * @see {@link ChannelConfig#DEFAULT_PARALLEL_CRYPTO_THRESHOLD}
+     * @see {@link ChannelConfig#DEFAULT_PARALLEL_CRYPTO_MAX_THREADS}
+     * @see {@link ChannelConfig#DEFAULT_MAX_FLUSH_DELAY_MICROS}
+     * @see {@link ChannelConfig#DEFAULT_DECODER_POOL_SIZE}
      */
     public ChannelConfig() {
         this(DEFAULT_MAX_CHUNK_SIZE,
@@ -65,23 +103,72 @@ public class ChannelConfig {
     }
 
     /**
-     * @param maxChunkSize   The maximum size of a single chunk. Must be greater than or equal to 8192.
-     * @param maxChunkCount  The maximum number of chunks that a message can break down into.
-     * @param maxMessageSize The maximum size of a message after all chunks have been assembled.
+     * @param maxChunkSize    The maximum size of a single chunk. Must be greater than or equal to 8192.
+     * @param maxChunkCount   The maximum number of chunks that a message can break down into.
+     * @param maxMessageSize  The maximum size of a message after all chunks have been assembled.
+     * @param maxArrayLength  The maximum length of an array that can be decoded.
+     * @param maxStringLength The maximum length of a string that can be decoded.
      */
     public ChannelConfig(int maxChunkSize,
                          int maxChunkCount,
                          int maxMessageSize,
                          int maxArrayLength,
                          int maxStringLength) {
+
+        this(maxChunkSize,
+            maxChunkCount,
+            maxMessageSize,
+            maxArrayLength,
+            maxStringLength,
+            DEFAULT_PRIMITIVE_ARRAYS,
+            DEFAULT_PARALLEL_CRYPTO_THRESHOLD,
+            DEFAULT_PARALLEL_CRYPTO_MAX_THREADS,
+            DEFAULT_MAX_FLUSH_DELAY_MICROS,
+            DEFAULT_DECODER_POOL_SIZE);
+    }
+
+    /**
+     * Validates and holds the settings gathered by a {@link ChannelConfigBuilder}.
+     */
+    ChannelConfig(int maxChunkSize,
+                  int maxChunkCount,
+                  int maxMessageSize,
+                  int maxArrayLength,
+                  int maxStringLength,
+                  boolean primitiveArrays,
+                  int parallelCryptoThreshold,
+                  int parallelCryptoMaxThreads,
+                  long maxFlushDelayMicros,
+                  int decoderPoolSize) {
+
         Preconditions.checkArgument(maxChunkSize >= 8192,
             "maxChunkSize must be greater than or equal to 8192");
+        Preconditions.checkArgument(parallelCryptoThreshold >= 0,
+            "parallelCryptoThreshold must be greater than or equal to 0");
+        Preconditions.checkArgument(parallelCryptoMaxThreads >= 1,
+            "parallelCryptoMaxThreads must be greater than or equal to 1");
+        Preconditions.checkArgument(maxFlushDelayMicros >= 0,
+            "maxFlushDelayMicros must be greater than or equal to 0");
+        Preconditions.checkArgument(decoderPoolSize >= 1,
+            "decoderPoolSize must be greater than or equal to 1");
 
         this.maxChunkSize = maxChunkSize;
         this.maxChunkCount = maxChunkCount;
         this.maxMessageSize = maxMessageSize;
         this.maxArrayLength = maxArrayLength;
         this.maxStringLength = maxStringLength;
+        this.primitiveArrays = primitiveArrays;
+        this.parallelCryptoThreshold = parallelCryptoThreshold;
+        this.parallelCryptoMaxThreads = parallelCryptoMaxThreads;
+        this.maxFlushDelayMicros = maxFlushDelayMicros;
+        this.decoderPoolSize = decoderPoolSize;
+    }
+
+    /**
+     * @return a new {@link ChannelConfigBuilder}, for settings beyond the sizes and lengths the constructors take.
+     */
+    public static ChannelConfigBuilder builder() {
+        return new ChannelConfigBuilder();
     }
 
     public int getMaxChunkSize() {
@@ -104,4 +191,24 @@ public class ChannelConfig {
         return maxStringLength;
     }
 
+    public boolean isPrimitiveArrays() {
+        return primitiveArrays;
+    }
+
+    public int getParallelCryptoThreshold() {
+        return parallelCryptoThreshold;
+    }
+
+    public int getParallelCryptoMaxThreads() {
+        return parallelCryptoMaxThreads;
+    }
+
+    public long getMaxFlushDelayMicros() {
+        return maxFlushDelayMicros;
+    }
+
+    public int getDecoderPoolSize() {
+        return decoderPoolSize;
+    }
+
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+/**
+ * Builds a {@link ChannelConfig}; every setting not set keeps its {@code ChannelConfig.DEFAULT_*} value.
+ *
+ * @see ChannelConfig#builder()
+ */
+public class ChannelConfigBuilder {
+
+    private int maxChunkSize = ChannelConfig.DEFAULT_MAX_CHUNK_SIZE;
+    private int maxChunkCount = ChannelConfig.DEFAULT_MAX_CHUNK_COUNT;
+    private int maxMessageSize = ChannelConfig.DEFAULT_MAX_MESSAGE_SIZE;
+    private int maxArrayLength = ChannelConfig.DEFAULT_MAX_ARRAY_LENGTH;
+    private int maxStringLength = ChannelConfig.DEFAULT_MAX_STRING_LENGTH;
+    private boolean primitiveArrays = ChannelConfig.DEFAULT_PRIMITIVE_ARRAYS;
+    private int parallelCryptoThreshold = ChannelConfig.DEFAULT_PARALLEL_CRYPTO_THRESHOLD;
+    private int parallelCryptoMaxThreads = ChannelConfig.DEFAULT_PARALLEL_CRYPTO_MAX_THREADS;
+    private long maxFlushDelayMicros = ChannelConfig.DEFAULT_MAX_FLUSH_DELAY_MICROS;
+    private int decoderPoolSize = ChannelConfig.DEFAULT_DECODER_POOL_SIZE;
+
+    /**
+     * @param maxChunkSize the maximum size of a single chunk. Must be greater than or equal to 8192.
+     */
+    public ChannelConfigBuilder setMaxChunkSize(int maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+        return this;
+    }
+
+    /**
+     * @param maxChunkCount the maximum number of chunks that a message can break down into.
+     */
+    public ChannelConfigBuilder setMaxChunkCount(int maxChunkCount) {
+        this.maxChunkCount = maxChunkCount;
+        return this;
+    }
+
+    /**
+     * @param maxMessageSize the maximum size of a message after all chunks have been assembled.
+     */
+    public ChannelConfigBuilder setMaxMessageSize(int maxMessageSize) {
+        this.maxMessageSize = maxMessageSize;
+        return this;
+    }
+
+    /**
+     * @param maxArrayLength the maximum length of an array that can be decoded.
+     */
+    public ChannelConfigBuilder setMaxArrayLength(int maxArrayLength) {
+        this.maxArrayLength = maxArrayLength;
+        return this;
+    }
+
+    /**
+     * @param maxStringLength the maximum length of a string that can be decoded.
+     */
+    public ChannelConfigBuilder setMaxStringLength(int maxStringLength) {
+        this.maxStringLength = maxStringLength;
+        return this;
+    }
+
+    /**
+     * @param primitiveArrays if true, Variant arrays of Boolean, SByte, Int16, Int32, Int64, Float and Double are
+     *                        decoded into primitive arrays (e.g. {@code double[]}) instead of boxed arrays.
+     */
+    public ChannelConfigBuilder setPrimitiveArrays(boolean primitiveArrays) {
+        this.primitiveArrays = primitiveArrays;
+        return this;
+    }
+
+    /**
+     * @param parallelCryptoThreshold the message size, in bytes, at or above which the chunks of a message are
+     *                                signed/encrypted and decrypted/verified in parallel. 0 disables parallel crypto.
+     */
+    public ChannelConfigBuilder setParallelCryptoThreshold(int parallelCryptoThreshold) {
+        this.parallelCryptoThreshold = parallelCryptoThreshold;
+        return this;
+    }
+
+    /**
+     * @param parallelCryptoMaxThreads the maximum number of threads, including the thread encoding or decoding the
+     *                                 message, that work on the chunks of a single message.
+     */
+    public ChannelConfigBuilder setParallelCryptoMaxThreads(int parallelCryptoMaxThreads) {
+        this.parallelCryptoMaxThreads = parallelCryptoMaxThreads;
+        return this;
+    }
+
+    /**
+     * @param maxFlushDelayMicros the maximum time, in microseconds, encoded chunks may wait to be flushed so that
+     *                            chunks of other messages can be written with them. 0 flushes at the end of the
+     *                            current event loop turn.
+     */
+    public ChannelConfigBuilder setMaxFlushDelayMicros(long maxFlushDelayMicros) {
+        this.maxFlushDelayMicros = maxFlushDelayMicros;
+        return this;
+    }
+
+    /**
+     * @param decoderPoolSize the number of message bodies that may be decoded at the same time. Chunks are always
+     *                        verified and decrypted in the order they were received; with more than 1, the bodies of
+     *                        complete messages are then decoded concurrently and may finish out of order.
+     */
+    public ChannelConfigBuilder setDecoderPoolSize(int decoderPoolSize) {
+        this.decoderPoolSize = decoderPoolSize;
+        return this;
+    }
+
+    public ChannelConfig build() {
+        return new ChannelConfig(
+            maxChunkSize,
+            maxChunkCount,
+            maxMessageSize,
+            maxArrayLength,
+            maxStringLength,
+            primitiveArrays,
+            parallelCryptoThreshold,
+            parallelCryptoMaxThreads,
+            maxFlushDelayMicros,
+            decoderPoolSize
+        );
+    }
+
+}
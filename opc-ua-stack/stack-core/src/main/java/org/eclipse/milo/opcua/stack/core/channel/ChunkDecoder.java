@@ -18,11 +18,16 @@ import java.nio.ByteOrder;
 import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
 import java.security.Signature;
 import java.security.SignatureException;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -38,7 +43,6 @@ import org.eclipse.milo.opcua.stack.core.channel.headers.SymmetricSecurityHeader
 import org.eclipse.milo.opcua.stack.core.channel.messages.ErrorMessage;
 import org.eclipse.milo.opcua.stack.core.security.SecurityAlgorithm;
 import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
-import org.eclipse.milo.opcua.stack.core.util.SignatureUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,16 +50,58 @@ public class ChunkDecoder {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private final Delegate asymmetricDelegate = new AsymmetricDelegate();
-    private final Delegate symmetricDelegate = new SymmetricDelegate();
+    private final Delegate asymmetricDelegate;
+    private final Delegate symmetricDelegate;
 
     private volatile long lastSequenceNumber = -1L;
     private volatile long lastRequestId;
 
+    private volatile CompositeByteBuf partialMessage;
+
     private final ChannelParameters parameters;
+    private final Executor executor;
+    private final int parallelThreshold;
+    private final int maxParallelism;
 
     public ChunkDecoder(ChannelParameters parameters) {
+        this(parameters, true);
+    }
+
+    /**
+     * @param parameters  the {@link ChannelParameters} for the channel.
+     * @param reuseCrypto if {@code true}, the {@link Cipher}, {@link Mac} and {@link Signature} instances used to
+     *                    verify and decrypt chunks are created once per security token and reused for every chunk;
+     *                    if {@code false}, new instances are created for every chunk.
+     */
+    public ChunkDecoder(ChannelParameters parameters, boolean reuseCrypto) {
+        this(parameters, reuseCrypto, null, 0, 1);
+    }
+
+    /**
+     * @param parameters        the {@link ChannelParameters} for the channel.
+     * @param reuseCrypto       if {@code true}, the {@link Cipher}, {@link Mac} and {@link Signature} instances used
+     *                          to verify and decrypt chunks are reused across chunks; if {@code false}, new instances
+     *                          are created for every chunk.
+     * @param executor          the {@link Executor} used to decrypt and verify the chunks of large messages in
+     *                          parallel, or {@code null} to always process chunks on the calling thread.
+     * @param parallelThreshold the message size, in bytes, at or above which chunks are processed in parallel. A
+     *                          value of 0 disables parallel decoding.
+     * @param maxParallelism    the maximum number of threads, including the calling thread, used to process the
+     *                          chunks of a single message.
+     */
+    public ChunkDecoder(ChannelParameters parameters,
+                        boolean reuseCrypto,
+                        Executor executor,
+                        int parallelThreshold,
+                        int maxParallelism) {
+
         this.parameters = parameters;
+        this.executor = executor;
+        this.parallelThreshold = parallelThreshold;
+        this.maxParallelism = maxParallelism;
+
+        asymmetricDelegate = new AsymmetricDelegate(reuseCrypto);
+        symmetricDelegate = new SymmetricDelegate(reuseCrypto);
     }
 
     public ByteBuf decodeAsymmetric(SecureChannel channel, List<ByteBuf> chunkBuffers) throws UaException {
@@ -66,71 +112,205 @@ public class ChunkDecoder {
         return decode(symmetricDelegate, channel, chunkBuffers);
     }
 
-    private ByteBuf decode(Delegate delegate, SecureChannel channel, List<ByteBuf> chunkBuffers) throws UaException {
-        CompositeByteBuf composite = BufferUtil.compositeBuffer();
+    /**
+     * Verify and decrypt a single chunk of a symmetric message as soon as it has been received, appending its body to
+     * the message being assembled.
+     * <p>
+     * Ownership of {@code chunkBuffer} passes to this decoder. If decoding fails the message assembled so far is
+     * discarded.
+     *
+     * @param channel     the {@link SecureChannel} the chunk was received on.
+     * @param chunkBuffer the chunk.
+     * @return the assembled message if {@code chunkBuffer} was the final chunk, otherwise {@code null}.
+     * @throws MessageAbortedException if {@code chunkBuffer} was an abort chunk.
+     * @throws UaException             if the chunk could not be verified or decrypted.
+     */
+    public ByteBuf decodeSymmetricChunk(SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
+        Delegate delegate = symmetricDelegate;
+
+        try {
+            final char chunkType = (char) chunkBuffer.getByte(3);
+
+            chunkBuffer.skipBytes(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE);
+
+            PendingChunk chunk = new PendingChunk(chunkBuffer, delegate.readSecurityHeader(channel, chunkBuffer));
+
+            openChunk(
+                delegate,
+                channel,
+                chunk,
+                delegate.isSigningEnabled(channel),
+                delegate.isEncryptionEnabled(channel),
+                delegate.getSignatureSize(channel),
+                delegate.getCipherTextBlockSize(channel)
+            );
+
+            ByteBuf bodyBuffer = readBody(chunk);
+
+            CompositeByteBuf composite = partialMessage;
 
+            if (composite == null) {
+                composite = partialMessage = BufferUtil.compositeBuffer();
+            }
+
+            composite.addComponent(bodyBuffer);
+            composite.writerIndex(composite.writerIndex() + bodyBuffer.readableBytes());
+
+            if (chunkType == 'F') {
+                partialMessage = null;
+
+                return composite.order(ByteOrder.LITTLE_ENDIAN);
+            } else {
+                return null;
+            }
+        } catch (UaException | RuntimeException e) {
+            chunkBuffer.release();
+
+            discardPartialMessage();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Release the chunks of a symmetric message that was being assembled by
+     * {@link #decodeSymmetricChunk(SecureChannel, ByteBuf)}, if any.
+     */
+    public void discardPartialMessage() {
+        CompositeByteBuf composite = partialMessage;
+        partialMessage = null;
+
+        if (composite != null) {
+            composite.release();
+        }
+    }
+
+    private ByteBuf decode(Delegate delegate, SecureChannel channel, List<ByteBuf> chunkBuffers) throws UaException {
         int signatureSize = delegate.getSignatureSize(channel);
         int cipherTextBlockSize = delegate.getCipherTextBlockSize(channel);
 
         boolean encrypted = delegate.isEncryptionEnabled(channel);
         boolean signed = delegate.isSigningEnabled(channel);
 
+        List<PendingChunk> pendingChunks = new ArrayList<>(chunkBuffers.size());
+        int messageSize = 0;
+
+        /* Security Headers */
         for (ByteBuf chunkBuffer : chunkBuffers) {
-            final char chunkType = (char) chunkBuffer.getByte(3);
+            messageSize += chunkBuffer.readableBytes();
 
             chunkBuffer.skipBytes(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE);
 
-            delegate.readSecurityHeader(channel, chunkBuffer);
+            ChannelSecurity.SecuritySecrets securitySecrets = delegate.readSecurityHeader(channel, chunkBuffer);
 
-            if (encrypted) {
-                decryptChunk(delegate, channel, chunkBuffer);
-            }
+            pendingChunks.add(new PendingChunk(chunkBuffer, securitySecrets));
+        }
 
-            int encryptedStart = chunkBuffer.readerIndex();
-            chunkBuffer.readerIndex(0);
+        /* Decryption and Signature Verification */
+        ParallelChunks.ChunkOperation<PendingChunk> openChunk = chunk ->
+            openChunk(delegate, channel, chunk, signed, encrypted, signatureSize, cipherTextBlockSize);
 
-            if (signed) {
-                delegate.verifyChunk(channel, chunkBuffer);
+        if ((signed || encrypted) && isParallel(messageSize, pendingChunks.size())) {
+            ParallelChunks.forEach(pendingChunks, executor, maxParallelism, openChunk);
+        } else {
+            for (PendingChunk chunk : pendingChunks) {
+                openChunk.apply(chunk);
             }
+        }
 
-            final int paddingSize = encrypted ? getPaddingSize(cipherTextBlockSize, signatureSize, chunkBuffer) : 0;
-            final int bodyEnd = chunkBuffer.readableBytes() - signatureSize - paddingSize;
+        /* Sequence Headers and Message Body */
+        CompositeByteBuf composite = BufferUtil.compositeBuffer();
 
-            chunkBuffer.readerIndex(encryptedStart);
+        for (PendingChunk chunk : pendingChunks) {
+            ByteBuf bodyBuffer = readBody(chunk);
 
-            SequenceHeader sequenceHeader = SequenceHeader.decode(chunkBuffer);
-            long sequenceNumber = sequenceHeader.getSequenceNumber();
-            lastRequestId = sequenceHeader.getRequestId();
+            composite.addComponent(bodyBuffer);
+            composite.writerIndex(composite.writerIndex() + bodyBuffer.readableBytes());
+        }
 
-            if (lastSequenceNumber == -1) {
-                lastSequenceNumber = sequenceNumber;
-            } else {
-                if (lastSequenceNumber + 1 != sequenceNumber) {
-                    String message = String.format("expected sequence number %s but received %s",
-                        lastSequenceNumber + 1, sequenceNumber);
+        return composite.order(ByteOrder.LITTLE_ENDIAN);
+    }
 
-                    logger.error(message);
-                    logger.error(ByteBufUtil.hexDump(chunkBuffer, 0, chunkBuffer.writerIndex()));
+    /**
+     * Check the sequence header of a chunk that has been opened by
+     * {@link #openChunk(Delegate, SecureChannel, PendingChunk, boolean, boolean, int, int)} and slice out its body.
+     *
+     * @throws MessageAbortedException if the chunk is an abort chunk.
+     */
+    private ByteBuf readBody(PendingChunk chunk) throws UaException {
+        ByteBuf chunkBuffer = chunk.buffer;
 
-                    throw new UaException(StatusCodes.Bad_SecurityChecksFailed, message);
-                }
+        final char chunkType = (char) chunkBuffer.getByte(3);
 
-                lastSequenceNumber = sequenceNumber;
-            }
+        SequenceHeader sequenceHeader = SequenceHeader.decode(chunkBuffer);
+        long sequenceNumber = sequenceHeader.getSequenceNumber();
+        lastRequestId = sequenceHeader.getRequestId();
 
-            ByteBuf bodyBuffer = chunkBuffer.readSlice(bodyEnd - chunkBuffer.readerIndex());
+        if (lastSequenceNumber == -1) {
+            lastSequenceNumber = sequenceNumber;
+        } else {
+            if (lastSequenceNumber + 1 != sequenceNumber) {
+                String message = String.format("expected sequence number %s but received %s",
+                    lastSequenceNumber + 1, sequenceNumber);
 
-            if (chunkType == 'A') {
-                ErrorMessage errorMessage = ErrorMessage.decode(bodyBuffer);
+                logger.error(message);
+                logger.error(ByteBufUtil.hexDump(chunkBuffer, 0, chunkBuffer.writerIndex()));
 
-                throw new MessageAbortedException(errorMessage.getError(), errorMessage.getReason());
+                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, message);
             }
 
-            composite.addComponent(bodyBuffer);
-            composite.writerIndex(composite.writerIndex() + bodyBuffer.readableBytes());
+            lastSequenceNumber = sequenceNumber;
         }
 
-        return composite.order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuf bodyBuffer = chunkBuffer.readSlice(chunk.bodyEnd - chunkBuffer.readerIndex());
+
+        if (chunkType == 'A') {
+            ErrorMessage errorMessage = ErrorMessage.decode(bodyBuffer);
+
+            throw new MessageAbortedException(errorMessage.getError(), errorMessage.getReason());
+        }
+
+        return bodyBuffer;
+    }
+
+    private boolean isParallel(int messageSize, int chunkCount) {
+        return executor != null &&
+            parallelThreshold > 0 &&
+            maxParallelism > 1 &&
+            chunkCount > 1 &&
+            messageSize >= parallelThreshold;
+    }
+
+    /**
+     * Decrypt and/or verify a chunk whose security header has already been read, leaving its reader index at the
+     * start of the sequence header. Chunks are independent of each other until their sequence headers are checked,
+     * so this may be called concurrently for different chunks of the same message.
+     */
+    private void openChunk(Delegate delegate,
+                           SecureChannel channel,
+                           PendingChunk chunk,
+                           boolean signed,
+                           boolean encrypted,
+                           int signatureSize,
+                           int cipherTextBlockSize) throws UaException {
+
+        ByteBuf chunkBuffer = chunk.buffer;
+
+        if (encrypted) {
+            decryptChunk(delegate, channel, chunk.securitySecrets, chunkBuffer);
+        }
+
+        int encryptedStart = chunkBuffer.readerIndex();
+        chunkBuffer.readerIndex(0);
+
+        if (signed) {
+            delegate.verifyChunk(channel, chunk.securitySecrets, chunkBuffer);
+        }
+
+        final int paddingSize = encrypted ? getPaddingSize(cipherTextBlockSize, signatureSize, chunkBuffer) : 0;
+        chunk.bodyEnd = chunkBuffer.readableBytes() - signatureSize - paddingSize;
+
+        chunkBuffer.readerIndex(encryptedStart);
     }
 
     /**
@@ -140,45 +320,56 @@ public class ChunkDecoder {
         return lastRequestId;
     }
 
-    private void decryptChunk(Delegate delegate, SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
+    private void decryptChunk(Delegate delegate,
+                              SecureChannel channel,
+                              ChannelSecurity.SecuritySecrets securitySecrets,
+                              ByteBuf chunkBuffer) throws UaException {
+
         int cipherTextBlockSize = delegate.getCipherTextBlockSize(channel);
         int blockCount = chunkBuffer.readableBytes() / cipherTextBlockSize;
 
-        int plainTextBufferSize = cipherTextBlockSize * blockCount;
+        int cipherTextSize = cipherTextBlockSize * blockCount;
 
-        ByteBuf plainTextBuffer = BufferUtil.buffer(plainTextBufferSize);
+        /*
+         * Plain text is never larger than the cipher text it was decrypted from, and Cipher is copy-safe, so the
+         * chunk can be decrypted in place: each block's plain text only ever overwrites cipher text that has already
+         * been consumed.
+         */
+        ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(chunkBuffer.readerIndex(), cipherTextSize);
+        ByteBuffer plainTextNioBuffer = chunkNioBuffer.duplicate();
 
-        ByteBuffer plainTextNioBuffer = plainTextBuffer
-            .writerIndex(plainTextBufferSize)
-            .nioBuffer();
+        int plainTextSize = 0;
 
-        ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer();
+        Cipher cipher = delegate.acquireCipher(channel, securitySecrets);
 
         try {
-            Cipher cipher = delegate.getCipher(channel);
-
             assert (chunkBuffer.readableBytes() % cipherTextBlockSize == 0);
 
             if (delegate instanceof AsymmetricDelegate) {
                 for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
                     chunkNioBuffer.limit(chunkNioBuffer.position() + cipherTextBlockSize);
 
-                    cipher.doFinal(chunkNioBuffer, plainTextNioBuffer);
+                    plainTextSize += cipher.doFinal(chunkNioBuffer, plainTextNioBuffer);
                 }
             } else {
-                cipher.doFinal(chunkNioBuffer, plainTextNioBuffer);
+                plainTextSize = cipher.doFinal(chunkNioBuffer, plainTextNioBuffer);
             }
         } catch (GeneralSecurityException e) {
             throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
         }
 
-        /* Write plainTextBuffer back into the chunk buffer we decrypted from. */
-        plainTextNioBuffer.flip(); // limit = pos, pos = 0
+        delegate.releaseCipher(channel, securitySecrets, cipher);
 
-        chunkBuffer.writerIndex(chunkBuffer.readerIndex());
-        chunkBuffer.writeBytes(plainTextNioBuffer);
+        /*
+         * If the ByteBuf isn't backed by a single shared buffer the plain text was written to a copy and has to be
+         * written back into the chunk buffer we decrypted from.
+         */
+        if (chunkBuffer.nioBufferCount() != 1) {
+            plainTextNioBuffer.flip();
+            chunkBuffer.setBytes(chunkBuffer.readerIndex(), plainTextNioBuffer);
+        }
 
-        plainTextBuffer.release();
+        chunkBuffer.writerIndex(chunkBuffer.readerIndex() + plainTextSize);
     }
 
     private int getPaddingSize(int cipherTextBlockSize, int signatureSize, ByteBuf buffer) {
@@ -189,16 +380,42 @@ public class ChunkDecoder {
             buffer.getUnsignedShort(lastPaddingByteOffset - 1) + 2;
     }
 
-    private static interface Delegate {
-        void readSecurityHeader(SecureChannel channel, ByteBuf chunkBuffer) throws UaException;
+    private static final class PendingChunk {
+        private final ByteBuf buffer;
+        private final ChannelSecurity.SecuritySecrets securitySecrets;
+        private int bodyEnd;
 
-        Cipher getCipher(SecureChannel channel) throws UaException;
+        private PendingChunk(ByteBuf buffer, ChannelSecurity.SecuritySecrets securitySecrets) {
+            this.buffer = buffer;
+            this.securitySecrets = securitySecrets;
+        }
+    }
+
+    private static interface Delegate {
+        /**
+         * Read the security header for a chunk.
+         *
+         * @return the {@link ChannelSecurity.SecuritySecrets} the chunk was secured with, or {@code null} if the chunk
+         * isn't secured with symmetric keys.
+         */
+        ChannelSecurity.SecuritySecrets readSecurityHeader(
+            SecureChannel channel,
+            ByteBuf chunkBuffer) throws UaException;
+
+        Cipher acquireCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets) throws UaException;
+
+        void releaseCipher(SecureChannel channel, ChannelSecurity.SecuritySecrets securitySecrets, Cipher cipher);
 
         int getCipherTextBlockSize(SecureChannel channel);
 
         int getSignatureSize(SecureChannel channel);
 
-        void verifyChunk(SecureChannel channel, ByteBuf chunkBuffer) throws UaException;
+        void verifyChunk(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            ByteBuf chunkBuffer) throws UaException;
 
         boolean isEncryptionEnabled(SecureChannel channel);
 
@@ -208,24 +425,50 @@ public class ChunkDecoder {
 
     private static class AsymmetricDelegate implements Delegate {
 
+        private final CryptoContext<Signature> signatureContext;
+        private final CryptoContext<Cipher> cipherContext;
+
+        AsymmetricDelegate(boolean reuseCrypto) {
+            signatureContext = new CryptoContext<>(reuseCrypto);
+            cipherContext = new CryptoContext<>(reuseCrypto);
+        }
+
         @Override
-        public void readSecurityHeader(SecureChannel channel, ByteBuf chunkBuffer) {
+        public ChannelSecurity.SecuritySecrets readSecurityHeader(SecureChannel channel, ByteBuf chunkBuffer) {
             AsymmetricSecurityHeader.decode(chunkBuffer);
+
+            return null;
         }
 
         @Override
-        public Cipher getCipher(SecureChannel channel) throws UaException {
+        public Cipher acquireCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets) throws UaException {
+
+            PrivateKey privateKey = channel.getKeyPair().getPrivate();
+
             try {
-                String transformation = channel.getSecurityPolicy()
-                    .getAsymmetricEncryptionAlgorithm().getTransformation();
-                Cipher cipher = Cipher.getInstance(transformation);
-                cipher.init(Cipher.DECRYPT_MODE, channel.getKeyPair().getPrivate());
-                return cipher;
+                return cipherContext.acquire(privateKey, () -> {
+                    String transformation = channel.getSecurityPolicy()
+                        .getAsymmetricEncryptionAlgorithm().getTransformation();
+                    Cipher cipher = Cipher.getInstance(transformation);
+                    cipher.init(Cipher.DECRYPT_MODE, privateKey);
+                    return cipher;
+                });
             } catch (GeneralSecurityException e) {
                 throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
             }
         }
 
+        @Override
+        public void releaseCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            Cipher cipher) {
+
+            cipherContext.release(channel.getKeyPair().getPrivate(), cipher);
+        }
+
         @Override
         public int getCipherTextBlockSize(SecureChannel channel) {
             return channel.getLocalAsymmetricCipherTextBlockSize();
@@ -237,30 +480,45 @@ public class ChunkDecoder {
         }
 
         @Override
-        public void verifyChunk(SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
+        public void verifyChunk(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            ByteBuf chunkBuffer) throws UaException {
+
             String transformation = channel.getSecurityPolicy().getAsymmetricSignatureAlgorithm().getTransformation();
             int signatureSize = channel.getRemoteAsymmetricSignatureSize();
 
             ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex());
             chunkNioBuffer.position(0).limit(chunkBuffer.writerIndex() - signatureSize);
 
+            Certificate remoteCertificate = channel.getRemoteCertificate();
+
             try {
-                Signature signature = Signature.getInstance(transformation);
+                Signature signature = signatureContext.acquire(remoteCertificate, () -> {
+                    Signature s = Signature.getInstance(transformation);
+                    s.initVerify(remoteCertificate.getPublicKey());
+                    return s;
+                });
 
-                signature.initVerify(channel.getRemoteCertificate().getPublicKey());
                 signature.update(chunkNioBuffer);
 
                 byte[] signatureBytes = new byte[signatureSize];
                 chunkNioBuffer.limit(chunkNioBuffer.position() + signatureSize);
                 chunkNioBuffer.get(signatureBytes);
 
-                if (!signature.verify(signatureBytes)) {
+                boolean verified = signature.verify(signatureBytes);
+
+                signatureContext.release(remoteCertificate, signature);
+
+                if (!verified) {
                     throw new UaException(StatusCodes.Bad_SecurityChecksFailed, "could not verify signature");
                 }
             } catch (NoSuchAlgorithmException | SignatureException e) {
                 throw new UaException(StatusCodes.Bad_InternalError, e);
             } catch (InvalidKeyException e) {
                 throw new UaException(StatusCodes.Bad_CertificateInvalid, e);
+            } catch (GeneralSecurityException e) {
+                throw new UaException(StatusCodes.Bad_InternalError, e);
             }
         }
 
@@ -282,8 +540,19 @@ public class ChunkDecoder {
 
         private volatile ChannelSecurity.SecuritySecrets securitySecrets;
 
+        private final CryptoContext<Mac> macContext;
+        private final CryptoContext<Cipher> cipherContext;
+
+        SymmetricDelegate(boolean reuseCrypto) {
+            macContext = new CryptoContext<>(reuseCrypto);
+            cipherContext = new CryptoContext<>(reuseCrypto);
+        }
+
         @Override
-        public void readSecurityHeader(SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
+        public ChannelSecurity.SecuritySecrets readSecurityHeader(
+            SecureChannel channel,
+            ByteBuf chunkBuffer) throws UaException {
+
             long receivedTokenId = SymmetricSecurityHeader.decode(chunkBuffer).getTokenId();
 
             ChannelSecurity channelSecurity = channel.getChannelSecurity();
@@ -319,28 +588,44 @@ public class ChunkDecoder {
                     }
                 }
             }
+
+            return securitySecrets;
         }
 
         @Override
-        public Cipher getCipher(SecureChannel channel) throws UaException {
-            try {
-                String transformation = channel.getSecurityPolicy()
-                    .getSymmetricEncryptionAlgorithm().getTransformation();
+        public Cipher acquireCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets) throws UaException {
 
-                ChannelSecurity.SecretKeys decryptionKeys = channel.getDecryptionKeys(securitySecrets);
+            ChannelSecurity.SecretKeys decryptionKeys = channel.getDecryptionKeys(securitySecrets);
 
-                SecretKeySpec keySpec = new SecretKeySpec(decryptionKeys.getEncryptionKey(), "AES");
-                IvParameterSpec ivSpec = new IvParameterSpec(decryptionKeys.getInitializationVector());
+            try {
+                return cipherContext.acquire(decryptionKeys, () -> {
+                    String transformation = channel.getSecurityPolicy()
+                        .getSymmetricEncryptionAlgorithm().getTransformation();
 
-                Cipher cipher = Cipher.getInstance(transformation);
-                cipher.init(Cipher.DECRYPT_MODE, keySpec, ivSpec);
+                    SecretKeySpec keySpec = new SecretKeySpec(decryptionKeys.getEncryptionKey(), "AES");
+                    IvParameterSpec ivSpec = new IvParameterSpec(decryptionKeys.getInitializationVector());
 
-                return cipher;
+                    Cipher cipher = Cipher.getInstance(transformation);
+                    cipher.init(Cipher.DECRYPT_MODE, keySpec, ivSpec);
+
+                    return cipher;
+                });
             } catch (GeneralSecurityException e) {
                 throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
             }
         }
 
+        @Override
+        public void releaseCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            Cipher cipher) {
+
+            cipherContext.release(channel.getDecryptionKeys(securitySecrets), cipher);
+        }
+
         @Override
         public int getCipherTextBlockSize(SecureChannel channel) {
             return channel.getSymmetricCipherTextBlockSize();
@@ -352,15 +637,38 @@ public class ChunkDecoder {
         }
 
         @Override
-        public void verifyChunk(SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
-            SecurityAlgorithm securityAlgorithm = channel.getSecurityPolicy().getSymmetricSignatureAlgorithm();
-            byte[] secretKey = channel.getDecryptionKeys(securitySecrets).getSignatureKey();
+        public void verifyChunk(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            ByteBuf chunkBuffer) throws UaException {
+
+            ChannelSecurity.SecretKeys decryptionKeys = channel.getDecryptionKeys(securitySecrets);
             int signatureSize = channel.getSymmetricSignatureSize();
 
             ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex());
             chunkNioBuffer.position(0).limit(chunkBuffer.writerIndex() - signatureSize);
 
-            byte[] signature = SignatureUtil.hmac(securityAlgorithm, secretKey, chunkNioBuffer);
+            byte[] signature;
+
+            try {
+                Mac mac = macContext.acquire(decryptionKeys, () -> {
+                    SecurityAlgorithm securityAlgorithm =
+                        channel.getSecurityPolicy().getSymmetricSignatureAlgorithm();
+                    String transformation = securityAlgorithm.getTransformation();
+
+                    Mac m = Mac.getInstance(transformation);
+                    m.init(new SecretKeySpec(decryptionKeys.getSignatureKey(), transformation));
+                    return m;
+                });
+
+                mac.update(chunkNioBuffer);
+
+                signature = mac.doFinal();
+
+                macContext.release(decryptionKeys, mac);
+            } catch (GeneralSecurityException e) {
+                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+            }
 
             byte[] signatureBytes = new byte[signatureSize];
             chunkNioBuffer.limit(chunkNioBuffer.position() + signatureSize);
@@ -14,11 +14,16 @@
 package org.eclipse.milo.opcua.stack.core.channel;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
 import java.security.cert.Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -33,12 +38,11 @@ import org.eclipse.milo.opcua.stack.core.channel.messages.MessageType;
 import org.eclipse.milo.opcua.stack.core.security.SecurityAlgorithm;
 import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
 import org.eclipse.milo.opcua.stack.core.util.LongSequence;
-import org.eclipse.milo.opcua.stack.core.util.SignatureUtil;
 
 public class ChunkEncoder {
 
-    private final Delegate asymmetricDelegate = new AsymmetricDelegate();
-    private final Delegate symmetricDelegate = new SymmetricDelegate();
+    private final Delegate asymmetricDelegate;
+    private final Delegate symmetricDelegate;
 
     // Wrap after UInt32.MAX - 1024
     private final LongSequence sequenceNumber = new LongSequence(1L, 4294966271L);
@@ -46,9 +50,49 @@ public class ChunkEncoder {
     private volatile long lastRequestId = 1L;
 
     private final ChannelParameters parameters;
+    private final Executor executor;
+    private final int parallelThreshold;
+    private final int maxParallelism;
 
     public ChunkEncoder(ChannelParameters parameters) {
+        this(parameters, true);
+    }
+
+    /**
+     * @param parameters  the {@link ChannelParameters} for the channel.
+     * @param reuseCrypto if {@code true}, the {@link Cipher}, {@link Mac} and {@link Signature} instances used to
+     *                    secure chunks are created once per security token and reused for every chunk; if
+     *                    {@code false}, new instances are created for every chunk.
+     */
+    public ChunkEncoder(ChannelParameters parameters, boolean reuseCrypto) {
+        this(parameters, reuseCrypto, null, 0, 1);
+    }
+
+    /**
+     * @param parameters        the {@link ChannelParameters} for the channel.
+     * @param reuseCrypto       if {@code true}, the {@link Cipher}, {@link Mac} and {@link Signature} instances used
+     *                          to secure chunks are reused across chunks; if {@code false}, new instances are created
+     *                          for every chunk.
+     * @param executor          the {@link Executor} used to sign and encrypt the chunks of large messages in parallel,
+     *                          or {@code null} to always secure chunks on the calling thread.
+     * @param parallelThreshold the message size, in bytes, at or above which chunks are secured in parallel. A value
+     *                          of 0 disables parallel encoding.
+     * @param maxParallelism    the maximum number of threads, including the calling thread, used to secure the
+     *                          chunks of a single message.
+     */
+    public ChunkEncoder(ChannelParameters parameters,
+                        boolean reuseCrypto,
+                        Executor executor,
+                        int parallelThreshold,
+                        int maxParallelism) {
+
         this.parameters = parameters;
+        this.executor = executor;
+        this.parallelThreshold = parallelThreshold;
+        this.maxParallelism = maxParallelism;
+
+        asymmetricDelegate = new AsymmetricDelegate(reuseCrypto);
+        symmetricDelegate = new SymmetricDelegate(reuseCrypto);
     }
 
     public List<ByteBuf> encodeAsymmetric(
@@ -57,7 +101,26 @@ public class ChunkEncoder {
         ByteBuf messageBuffer,
         long requestId) throws UaException {
 
-        return encode(asymmetricDelegate, channel, messageType, messageBuffer, requestId);
+        return encode(asymmetricDelegate, channel, messageType, b -> b.writeBytes(messageBuffer), requestId);
+    }
+
+    /**
+     * Encode a message directly into asymmetrically secured chunks.
+     *
+     * @param channel     the {@link SecureChannel} the message is sent on.
+     * @param messageType the {@link MessageType}.
+     * @param writer      writes the message body into the buffer it is given, e.g. using a
+     *                    {@link org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder}.
+     * @param requestId   the request id.
+     * @return the secured chunks.
+     */
+    public List<ByteBuf> encodeAsymmetric(
+        SecureChannel channel,
+        MessageType messageType,
+        MessageWriter writer,
+        long requestId) throws UaException {
+
+        return encode(asymmetricDelegate, channel, messageType, writer, requestId);
     }
 
     public List<ByteBuf> encodeSymmetric(
@@ -66,19 +129,37 @@ public class ChunkEncoder {
         ByteBuf messageBuffer,
         long requestId) throws UaException {
 
-        return encode(symmetricDelegate, channel, messageType, messageBuffer, requestId);
+        return encode(symmetricDelegate, channel, messageType, b -> b.writeBytes(messageBuffer), requestId);
+    }
+
+    /**
+     * Encode a message directly into symmetrically secured chunks.
+     *
+     * @param channel     the {@link SecureChannel} the message is sent on.
+     * @param messageType the {@link MessageType}.
+     * @param writer      writes the message body into the buffer it is given, e.g. using a
+     *                    {@link org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder}.
+     * @param requestId   the request id.
+     * @return the secured chunks.
+     */
+    public List<ByteBuf> encodeSymmetric(
+        SecureChannel channel,
+        MessageType messageType,
+        MessageWriter writer,
+        long requestId) throws UaException {
+
+        return encode(symmetricDelegate, channel, messageType, writer, requestId);
     }
 
     private List<ByteBuf> encode(
         Delegate delegate,
         SecureChannel channel,
         MessageType messageType,
-        ByteBuf messageBuffer,
+        MessageWriter writer,
         long requestId) throws UaException {
 
-        List<ByteBuf> chunks = new ArrayList<>();
-
         boolean encrypted = delegate.isEncryptionEnabled(channel);
+        boolean signed = delegate.isSigningEnabled(channel);
 
         int securityHeaderSize = delegate.getSecurityHeaderSize(channel);
         int cipherTextBlockSize = delegate.getCipherTextBlockSize(channel);
@@ -92,106 +173,199 @@ public class ChunkEncoder {
         int maxBlockCount = (maxChunkSize - headerSizes - signatureSize - paddingOverhead) / cipherTextBlockSize;
         int maxBodySize = (plainTextBlockSize * maxBlockCount - SequenceHeader.SEQUENCE_HEADER_SIZE);
 
-        while (messageBuffer.readableBytes() > 0) {
-            int bodySize = Math.min(messageBuffer.readableBytes(), maxBodySize);
+        int bodyOffset = headerSizes + SequenceHeader.SEQUENCE_HEADER_SIZE;
 
-            int paddingSize = encrypted ?
-                plainTextBlockSize -
-                    (SequenceHeader.SEQUENCE_HEADER_SIZE + bodySize + signatureSize + paddingOverhead) %
-                        plainTextBlockSize : 0;
+        /* Message Body */
+        ChunkedMessageBuffer messageBuffer = new ChunkedMessageBuffer(maxChunkSize, bodyOffset, maxBodySize);
+        List<ByteBuf> chunkBuffers = messageBuffer.getChunkBuffers();
 
-            int plainTextContentSize = SequenceHeader.SEQUENCE_HEADER_SIZE +
-                bodySize + signatureSize + paddingSize + paddingOverhead;
+        int messageSize;
 
-            assert (plainTextContentSize % plainTextBlockSize == 0);
+        try {
+            writer.write(messageBuffer.order(ByteOrder.LITTLE_ENDIAN));
 
-            int chunkSize = SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize +
-                (plainTextContentSize / plainTextBlockSize) * cipherTextBlockSize;
+            messageSize = messageBuffer.writerIndex();
+        } catch (RuntimeException e) {
+            chunkBuffers.forEach(ByteBuf::release);
 
-            ByteBuf chunkBuffer = BufferUtil.buffer(chunkSize);
+            throw e;
+        } finally {
+            messageBuffer.release();
+        }
 
-            /* Message Header */
-            SecureMessageHeader messageHeader = new SecureMessageHeader(
-                messageType,
-                messageBuffer.readableBytes() > bodySize ? 'C' : 'F',
-                chunkSize,
-                channel.getChannelId()
-            );
+        int chunkCount = (messageSize + maxBodySize - 1) / maxBodySize;
 
-            SecureMessageHeader.encode(messageHeader, chunkBuffer);
+        // Growing the message buffer may have allocated more chunks than the message ended up needing.
+        while (chunkBuffers.size() > chunkCount) {
+            chunkBuffers.remove(chunkBuffers.size() - 1).release();
+        }
 
-            /* Security Header */
-            delegate.encodeSecurityHeader(channel, chunkBuffer);
+        List<PendingChunk> pendingChunks = new ArrayList<>(chunkCount);
 
-            /* Sequence Header */
-            SequenceHeader sequenceHeader = new SequenceHeader(
-                sequenceNumber.getAndIncrement(),
-                requestId
-            );
+        try {
+            for (int i = 0; i < chunkCount; i++) {
+                ByteBuf chunkBuffer = chunkBuffers.get(i);
 
-            SequenceHeader.encode(sequenceHeader, chunkBuffer);
+                int bodySize = Math.min(messageSize - i * maxBodySize, maxBodySize);
 
-            /* Message Body */
-            chunkBuffer.writeBytes(messageBuffer, bodySize);
+                int paddingSize = encrypted ?
+                    plainTextBlockSize -
+                        (SequenceHeader.SEQUENCE_HEADER_SIZE + bodySize + signatureSize + paddingOverhead) %
+                            plainTextBlockSize : 0;
 
-            /* Padding and Signature */
-            if (encrypted) {
-                writePadding(cipherTextBlockSize, paddingSize, chunkBuffer);
-            }
+                int plainTextContentSize = SequenceHeader.SEQUENCE_HEADER_SIZE +
+                    bodySize + signatureSize + paddingSize + paddingOverhead;
 
-            if (delegate.isSigningEnabled(channel)) {
-                ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex());
+                assert (plainTextContentSize % plainTextBlockSize == 0);
 
-                byte[] signature = delegate.signChunk(channel, chunkNioBuffer);
+                int chunkSize = SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize +
+                    (plainTextContentSize / plainTextBlockSize) * cipherTextBlockSize;
 
-                chunkBuffer.writeBytes(signature);
-            }
+                /* Message Header */
+                SecureMessageHeader messageHeader = new SecureMessageHeader(
+                    messageType,
+                    i < chunkCount - 1 ? 'C' : 'F',
+                    chunkSize,
+                    channel.getChannelId()
+                );
 
-            /* Encryption */
-            if (encrypted) {
-                chunkBuffer.readerIndex(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize);
+                SecureMessageHeader.encode(messageHeader, chunkBuffer);
 
-                assert (chunkBuffer.readableBytes() % plainTextBlockSize == 0);
+                /* Security Header */
+                ChannelSecurity.SecuritySecrets securitySecrets = delegate.encodeSecurityHeader(channel, chunkBuffer);
 
-                try {
-                    int blockCount = chunkBuffer.readableBytes() / plainTextBlockSize;
+                /* Sequence Header */
+                SequenceHeader sequenceHeader = new SequenceHeader(
+                    sequenceNumber.getAndIncrement(),
+                    requestId
+                );
 
-                    ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(
-                        chunkBuffer.readerIndex(), blockCount * cipherTextBlockSize);
+                SequenceHeader.encode(sequenceHeader, chunkBuffer);
 
-                    ByteBuf copyBuffer = chunkBuffer.copy();
-                    ByteBuffer plainTextNioBuffer = copyBuffer.nioBuffer();
+                assert (chunkBuffer.writerIndex() == bodyOffset);
 
-                    Cipher cipher = delegate.getAndInitializeCipher(channel);
+                /* Message Body, already in place */
+                chunkBuffer.writerIndex(bodyOffset + bodySize);
 
-                    if (delegate instanceof AsymmetricDelegate) {
-                        for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
-                            int position = blockNumber * plainTextBlockSize;
-                            int limit = (blockNumber + 1) * plainTextBlockSize;
-                            plainTextNioBuffer.position(position).limit(limit);
+                // Asymmetric chunks can come out slightly larger than maxChunkSize; make room before securing.
+                chunkBuffer.ensureWritable(chunkSize - chunkBuffer.writerIndex());
 
-                            int bytesWritten = cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
+                /* Padding */
+                if (encrypted) {
+                    writePadding(cipherTextBlockSize, paddingSize, chunkBuffer);
+                }
 
-                            assert (bytesWritten == cipherTextBlockSize);
-                        }
-                    } else {
-                        cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
-                    }
+                pendingChunks.add(new PendingChunk(chunkBuffer, chunkSize, securitySecrets));
+            }
+
+            /* Signature and Encryption */
+            ParallelChunks.ChunkOperation<PendingChunk> secureChunk = chunk ->
+                secureChunk(delegate, channel, chunk, signed, encrypted,
+                    securityHeaderSize, plainTextBlockSize, cipherTextBlockSize);
 
-                    copyBuffer.release();
-                } catch (GeneralSecurityException e) {
-                    throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+            if ((signed || encrypted) && isParallel(messageSize, pendingChunks.size())) {
+                ParallelChunks.forEach(pendingChunks, executor, maxParallelism, secureChunk);
+            } else {
+                for (PendingChunk chunk : pendingChunks) {
+                    secureChunk.apply(chunk);
                 }
             }
+        } catch (UaException | RuntimeException e) {
+            chunkBuffers.forEach(ByteBuf::release);
 
-            chunkBuffer.readerIndex(0).writerIndex(chunkSize);
-
-            chunks.add(chunkBuffer);
+            throw e;
         }
 
         lastRequestId = requestId;
 
-        return chunks;
+        return chunkBuffers;
+    }
+
+    private boolean isParallel(int messageSize, int chunkCount) {
+        return executor != null &&
+            parallelThreshold > 0 &&
+            maxParallelism > 1 &&
+            chunkCount > 1 &&
+            messageSize >= parallelThreshold;
+    }
+
+    /**
+     * Sign and/or encrypt a chunk whose headers, body and padding have already been written. Chunks are independent
+     * of each other once their sequence header has been written, so this may be called concurrently for different
+     * chunks of the same message.
+     */
+    private void secureChunk(Delegate delegate,
+                             SecureChannel channel,
+                             PendingChunk chunk,
+                             boolean signed,
+                             boolean encrypted,
+                             int securityHeaderSize,
+                             int plainTextBlockSize,
+                             int cipherTextBlockSize) throws UaException {
+
+        ByteBuf chunkBuffer = chunk.buffer;
+
+        if (signed) {
+            ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex());
+
+            byte[] signature = delegate.signChunk(channel, chunk.securitySecrets, chunkNioBuffer);
+
+            chunkBuffer.writeBytes(signature);
+        }
+
+        if (encrypted) {
+            chunkBuffer.readerIndex(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize);
+
+            assert (chunkBuffer.readableBytes() % plainTextBlockSize == 0);
+
+            Cipher cipher = delegate.acquireCipher(channel, chunk.securitySecrets);
+
+            try {
+                int blockCount = chunkBuffer.readableBytes() / plainTextBlockSize;
+
+                ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(
+                    chunkBuffer.readerIndex(), blockCount * cipherTextBlockSize);
+
+                if (delegate instanceof AsymmetricDelegate) {
+                    /*
+                     * Cipher text blocks are larger than plain text blocks, so encrypting in place front to
+                     * back would overwrite plain text that hasn't been encrypted yet. Working back to front,
+                     * each cipher text block only overwrites plain text that has already been consumed.
+                     */
+                    ByteBuffer plainTextNioBuffer = ByteBuffer.allocate(plainTextBlockSize);
+
+                    for (int blockNumber = blockCount - 1; blockNumber >= 0; blockNumber--) {
+                        int plainTextPosition = blockNumber * plainTextBlockSize;
+                        chunkNioBuffer.limit(plainTextPosition + plainTextBlockSize).position(plainTextPosition);
+
+                        plainTextNioBuffer.clear();
+                        plainTextNioBuffer.put(chunkNioBuffer).flip();
+
+                        int cipherTextPosition = blockNumber * cipherTextBlockSize;
+                        chunkNioBuffer.limit(cipherTextPosition + cipherTextBlockSize).position(cipherTextPosition);
+
+                        int bytesWritten = cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
+
+                        assert (bytesWritten == cipherTextBlockSize);
+                    }
+                } else {
+                    /*
+                     * Symmetric cipher text is the same size as the plain text, and Cipher is copy-safe, so
+                     * the chunk can be encrypted in place.
+                     */
+                    ByteBuffer plainTextNioBuffer = chunkNioBuffer.duplicate();
+                    plainTextNioBuffer.limit(blockCount * plainTextBlockSize);
+
+                    cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
+                }
+            } catch (GeneralSecurityException e) {
+                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+            }
+
+            delegate.releaseCipher(channel, chunk.securitySecrets, cipher);
+        }
+
+        chunkBuffer.readerIndex(0).writerIndex(chunk.chunkSize);
     }
 
     public long getLastRequestId() {
@@ -217,12 +391,45 @@ public class ChunkEncoder {
         }
     }
 
+    /**
+     * Writes the body of a message into a buffer provided by the {@link ChunkEncoder}.
+     */
+    @FunctionalInterface
+    public interface MessageWriter {
+        void write(ByteBuf buffer);
+    }
+
+    private static final class PendingChunk {
+        private final ByteBuf buffer;
+        private final int chunkSize;
+        private final ChannelSecurity.SecuritySecrets securitySecrets;
+
+        private PendingChunk(ByteBuf buffer, int chunkSize, ChannelSecurity.SecuritySecrets securitySecrets) {
+            this.buffer = buffer;
+            this.chunkSize = chunkSize;
+            this.securitySecrets = securitySecrets;
+        }
+    }
+
     private static interface Delegate {
-        byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException;
+        byte[] signChunk(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            ByteBuffer chunkNioBuffer) throws UaException;
+
+        /**
+         * Encode the security header for a chunk.
+         *
+         * @return the {@link ChannelSecurity.SecuritySecrets} the chunk must be secured with, or {@code null} if the
+         * chunk isn't secured with symmetric keys.
+         */
+        ChannelSecurity.SecuritySecrets encodeSecurityHeader(SecureChannel channel, ByteBuf buffer) throws UaException;
 
-        void encodeSecurityHeader(SecureChannel channel, ByteBuf buffer) throws UaException;
+        Cipher acquireCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets) throws UaException;
 
-        Cipher getAndInitializeCipher(SecureChannel channel) throws UaException;
+        void releaseCipher(SecureChannel channel, ChannelSecurity.SecuritySecrets securitySecrets, Cipher cipher);
 
         int getSecurityHeaderSize(SecureChannel channel) throws UaException;
 
@@ -240,34 +447,79 @@ public class ChunkEncoder {
 
     private static class AsymmetricDelegate implements Delegate {
 
+        private final CryptoContext<Signature> signatureContext;
+        private final CryptoContext<Cipher> cipherContext;
+
+        AsymmetricDelegate(boolean reuseCrypto) {
+            signatureContext = new CryptoContext<>(reuseCrypto);
+            cipherContext = new CryptoContext<>(reuseCrypto);
+        }
+
         @Override
-        public byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException {
-            return SignatureUtil.sign(
-                channel.getSecurityPolicy().getAsymmetricSignatureAlgorithm(),
-                channel.getKeyPair().getPrivate(),
-                chunkNioBuffer
-            );
+        public byte[] signChunk(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            ByteBuffer chunkNioBuffer) throws UaException {
+
+            PrivateKey privateKey = channel.getKeyPair().getPrivate();
+
+            try {
+                Signature signature = signatureContext.acquire(privateKey, () -> {
+                    String transformation = channel.getSecurityPolicy()
+                        .getAsymmetricSignatureAlgorithm().getTransformation();
+                    Signature s = Signature.getInstance(transformation);
+                    s.initSign(privateKey);
+                    return s;
+                });
+
+                signature.update(chunkNioBuffer);
+
+                byte[] signatureBytes = signature.sign();
+
+                signatureContext.release(privateKey, signature);
+
+                return signatureBytes;
+            } catch (GeneralSecurityException e) {
+                throw new UaException(StatusCodes.Bad_InternalError, e);
+            }
         }
 
         @Override
-        public Cipher getAndInitializeCipher(SecureChannel channel) throws UaException {
+        public Cipher acquireCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets) throws UaException {
+
             Certificate remoteCertificate = channel.getRemoteCertificate();
 
             assert (remoteCertificate != null);
 
             try {
-                String transformation = channel.getSecurityPolicy()
-                    .getAsymmetricEncryptionAlgorithm().getTransformation();
-                Cipher cipher = Cipher.getInstance(transformation);
-                cipher.init(Cipher.ENCRYPT_MODE, remoteCertificate.getPublicKey());
-                return cipher;
+                return cipherContext.acquire(remoteCertificate, () -> {
+                    String transformation = channel.getSecurityPolicy()
+                        .getAsymmetricEncryptionAlgorithm().getTransformation();
+                    Cipher cipher = Cipher.getInstance(transformation);
+                    cipher.init(Cipher.ENCRYPT_MODE, remoteCertificate.getPublicKey());
+                    return cipher;
+                });
             } catch (GeneralSecurityException e) {
                 throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
             }
         }
 
         @Override
-        public void encodeSecurityHeader(SecureChannel channel, ByteBuf buffer) throws UaException {
+        public void releaseCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            Cipher cipher) {
+
+            cipherContext.release(channel.getRemoteCertificate(), cipher);
+        }
+
+        @Override
+        public ChannelSecurity.SecuritySecrets encodeSecurityHeader(
+            SecureChannel channel,
+            ByteBuf buffer) throws UaException {
+
             AsymmetricSecurityHeader header = new AsymmetricSecurityHeader(
                 channel.getSecurityPolicy().getSecurityPolicyUri(),
                 channel.getLocalCertificateBytes(),
@@ -275,6 +527,8 @@ public class ChunkEncoder {
             );
 
             AsymmetricSecurityHeader.encode(header, buffer);
+
+            return null;
         }
 
         @Override
@@ -317,51 +571,91 @@ public class ChunkEncoder {
 
     private static class SymmetricDelegate implements Delegate {
 
-        private volatile ChannelSecurity.SecuritySecrets securitySecrets;
+        private final CryptoContext<Mac> macContext;
+        private final CryptoContext<Cipher> cipherContext;
+
+        SymmetricDelegate(boolean reuseCrypto) {
+            macContext = new CryptoContext<>(reuseCrypto);
+            cipherContext = new CryptoContext<>(reuseCrypto);
+        }
 
         @Override
-        public void encodeSecurityHeader(SecureChannel channel, ByteBuf buffer) {
+        public ChannelSecurity.SecuritySecrets encodeSecurityHeader(SecureChannel channel, ByteBuf buffer) {
             ChannelSecurity channelSecurity = channel.getChannelSecurity();
             long tokenId = channelSecurity != null ? channelSecurity.getCurrentToken().getTokenId().longValue() : 0L;
 
             SymmetricSecurityHeader.encode(new SymmetricSecurityHeader(tokenId), buffer);
 
-            securitySecrets = channelSecurity != null ? channelSecurity.getCurrentKeys() : null;
+            return channelSecurity != null ? channelSecurity.getCurrentKeys() : null;
         }
 
         @Override
-        public byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException {
-            SecurityAlgorithm signatureAlgorithm = channel.getSecurityPolicy().getSymmetricSignatureAlgorithm();
-            byte[] signatureKey = channel.getEncryptionKeys(securitySecrets).getSignatureKey();
-
-            return SignatureUtil.hmac(
-                signatureAlgorithm,
-                signatureKey,
-                chunkNioBuffer
-            );
+        public byte[] signChunk(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            ByteBuffer chunkNioBuffer) throws UaException {
+
+            ChannelSecurity.SecretKeys secretKeys = channel.getEncryptionKeys(securitySecrets);
+
+            try {
+                Mac mac = macContext.acquire(secretKeys, () -> {
+                    SecurityAlgorithm signatureAlgorithm =
+                        channel.getSecurityPolicy().getSymmetricSignatureAlgorithm();
+                    String transformation = signatureAlgorithm.getTransformation();
+
+                    Mac m = Mac.getInstance(transformation);
+                    m.init(new SecretKeySpec(secretKeys.getSignatureKey(), transformation));
+                    return m;
+                });
+
+                mac.update(chunkNioBuffer);
+
+                byte[] signature = mac.doFinal();
+
+                macContext.release(secretKeys, mac);
+
+                return signature;
+            } catch (GeneralSecurityException e) {
+                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+            }
         }
 
         @Override
-        public Cipher getAndInitializeCipher(SecureChannel channel) throws UaException {
+        public Cipher acquireCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets) throws UaException {
+
+            ChannelSecurity.SecretKeys secretKeys = channel.getEncryptionKeys(securitySecrets);
+
             try {
-                String transformation = channel.getSecurityPolicy()
-                    .getSymmetricEncryptionAlgorithm().getTransformation();
-                ChannelSecurity.SecretKeys secretKeys = channel.getEncryptionKeys(securitySecrets);
+                return cipherContext.acquire(secretKeys, () -> {
+                    String transformation = channel.getSecurityPolicy()
+                        .getSymmetricEncryptionAlgorithm().getTransformation();
 
-                SecretKeySpec keySpec = new SecretKeySpec(secretKeys.getEncryptionKey(), "AES");
-                IvParameterSpec ivSpec = new IvParameterSpec(secretKeys.getInitializationVector());
+                    SecretKeySpec keySpec = new SecretKeySpec(secretKeys.getEncryptionKey(), "AES");
+                    IvParameterSpec ivSpec = new IvParameterSpec(secretKeys.getInitializationVector());
 
-                Cipher cipher = Cipher.getInstance(transformation);
-                cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
+                    Cipher cipher = Cipher.getInstance(transformation);
+                    cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
 
-                assert (cipher.getBlockSize() == channel.getSymmetricCipherTextBlockSize());
+                    assert (cipher.getBlockSize() == channel.getSymmetricCipherTextBlockSize());
 
-                return cipher;
+                    return cipher;
+                });
             } catch (GeneralSecurityException e) {
                 throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
             }
         }
 
+        @Override
+        public void releaseCipher(
+            SecureChannel channel,
+            ChannelSecurity.SecuritySecrets securitySecrets,
+            Cipher cipher) {
+
+            cipherContext.release(channel.getEncryptionKeys(securitySecrets), cipher);
+        }
+
         @Override
         public int getSecurityHeaderSize(SecureChannel channel) {
             return SymmetricSecurityHeader.SYMMETRIC_SECURITY_HEADER_SIZE;
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
+
+/**
+ * A message buffer whose storage is the body region of a sequence of chunk buffers.
+ * <p>
+ * Each component is a slice of a chunk buffer that starts after the space reserved for the secure message header,
+ * security header and sequence header, and is exactly as long as the maximum body size of a chunk. Anything written
+ * to this buffer lands directly in the chunk it will be sent in, so encoding a message neither reallocates a growing
+ * buffer nor copies the encoded message into chunks afterwards.
+ * <p>
+ * Chunk buffers are allocated as the buffer grows, only as many as the bytes written need. Releasing this buffer
+ * releases only the slices; the chunk buffers obtained from {@link #getChunkBuffers()} must be released separately.
+ * <p>
+ * This removes the reallocation and the second copy, but not the message-sized peak: every chunk stays allocated
+ * until the whole message has been written, and {@link ChunkEncoder} seals them only after that. Chunks can't be
+ * sealed and sent as they fill because {@link org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder}
+ * goes back to fill in string lengths and ExtensionObject body lengths, which may be any number of chunks behind the
+ * writer index.
+ */
+final class ChunkedMessageBuffer extends CompositeByteBuf {
+
+    private final List<ByteBuf> chunkBuffers = new ArrayList<>();
+
+    private final int chunkSize;
+    private final int bodyOffset;
+    private final int maxBodySize;
+
+    /**
+     * @param chunkSize   the capacity of each chunk buffer.
+     * @param bodyOffset  the offset of the message body in each chunk buffer.
+     * @param maxBodySize the maximum size of the message body in each chunk buffer.
+     */
+    ChunkedMessageBuffer(int chunkSize, int bodyOffset, int maxBodySize) {
+        super(PooledByteBufAllocator.DEFAULT, false, Integer.MAX_VALUE);
+
+        this.chunkSize = chunkSize;
+        this.bodyOffset = bodyOffset;
+        this.maxBodySize = maxBodySize;
+
+        limitGrowth();
+    }
+
+    @Override
+    public CompositeByteBuf capacity(int newCapacity) {
+        if (newCapacity <= capacity()) {
+            return super.capacity(newCapacity);
+        }
+
+        while (capacity() < newCapacity) {
+            ByteBuf chunkBuffer = BufferUtil.buffer(chunkSize);
+            chunkBuffers.add(chunkBuffer);
+
+            // The slice shares the chunk buffer's reference count; retain it on behalf of this composite.
+            addComponent(chunkBuffer.retain().slice(bodyOffset, maxBodySize));
+        }
+
+        limitGrowth();
+
+        return this;
+    }
+
+    @Override
+    public CompositeByteBuf ensureWritable(int minWritableBytes) {
+        growFor(minWritableBytes);
+
+        return super.ensureWritable(minWritableBytes);
+    }
+
+    @Override
+    public int ensureWritable(int minWritableBytes, boolean force) {
+        growFor(minWritableBytes);
+
+        return super.ensureWritable(minWritableBytes, force);
+    }
+
+    /**
+     * Grow to exactly as many chunks as {@code minWritableBytes} more bytes need, instead of the doubled capacity
+     * {@link io.netty.buffer.AbstractByteBuf} would ask for.
+     */
+    private void growFor(int minWritableBytes) {
+        if (minWritableBytes > writableBytes()) {
+            long minNewCapacity = (long) writerIndex() + minWritableBytes;
+
+            if (minNewCapacity <= Integer.MAX_VALUE) {
+                capacity((int) minNewCapacity);
+            }
+        }
+    }
+
+    /**
+     * Small writes such as {@link #writeInt(int)} grow the buffer without calling {@link #ensureWritable(int)}, to a
+     * doubled capacity capped at {@link #maxCapacity()}. Keeping {@link #maxCapacity()} one chunk ahead of the
+     * capacity makes them add a single chunk.
+     */
+    private void limitGrowth() {
+        maxCapacity((int) Math.min(Integer.MAX_VALUE, (long) capacity() + maxBodySize));
+    }
+
+    /**
+     * @return the chunk buffers backing this buffer, in order. Their reader and writer indices are untouched by
+     * writes to this buffer.
+     */
+    List<ByteBuf> getChunkBuffers() {
+        return chunkBuffers;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Holds {@link javax.crypto.Cipher}, {@link javax.crypto.Mac} or {@link java.security.Signature} instances that have
+ * been initialized for a particular key, so they can be reused for every chunk secured with that key instead of being
+ * looked up and initialized again for each chunk.
+ * <p>
+ * Instances are created only when the key changes, i.e. when the channel's security token is renewed, or when more
+ * chunks are being secured concurrently than there are idle instances. Keys are compared by identity;
+ * {@link ChannelSecurity.SecretKeys}, {@link java.security.PrivateKey} and {@link java.security.cert.Certificate}
+ * instances do not change for the lifetime of a token.
+ * <p>
+ * An instance obtained from {@link #acquire(Object, Factory)} is owned exclusively by the caller until it is handed
+ * back with {@link #release(Object, Object)}. An instance that threw while in use may be left in an unusable state
+ * (e.g. a {@link java.security.Signature} still holding the bytes it was updated with) and must not be released; it
+ * is dropped and a fresh one is created by a later {@link #acquire(Object, Factory)}.
+ *
+ * @param <T> the type of the cached primitive.
+ */
+final class CryptoContext<T> {
+
+    private final ConcurrentLinkedQueue<Entry<T>> idle = new ConcurrentLinkedQueue<>();
+
+    private final boolean reuse;
+
+    /**
+     * @param reuse if {@code false}, a new instance is created on every call to {@link #acquire(Object, Factory)}.
+     */
+    CryptoContext(boolean reuse) {
+        this.reuse = reuse;
+    }
+
+    /**
+     * Acquire an instance initialized for {@code key}, creating one with {@code factory} if there is no idle instance
+     * for {@code key}.
+     *
+     * @param key     the key the instance must be initialized with.
+     * @param factory creates and initializes a new instance for {@code key}.
+     * @return an instance initialized for {@code key}.
+     * @throws GeneralSecurityException if {@code factory} fails.
+     */
+    T acquire(Object key, Factory<T> factory) throws GeneralSecurityException {
+        if (reuse) {
+            Entry<T> entry;
+
+            while ((entry = idle.poll()) != null) {
+                // Instances initialized for any other key are left over from a previous token; drop them.
+                if (entry.key == key) return entry.instance;
+            }
+        }
+
+        return factory.create();
+    }
+
+    /**
+     * Hand back an instance obtained from {@link #acquire(Object, Factory)} so it can be reused.
+     *
+     * @param key      the key {@code instance} was initialized with.
+     * @param instance the instance to release.
+     */
+    void release(Object key, T instance) {
+        if (reuse) {
+            idle.offer(new Entry<>(key, instance));
+        }
+    }
+
+    interface Factory<T> {
+        T create() throws GeneralSecurityException;
+    }
+
+    private static final class Entry<T> {
+        private final Object key;
+        private final T instance;
+
+        private Entry(Object key, T instance) {
+            this.key = key;
+            this.instance = instance;
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.concurrent.ThreadFactory;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty transports the stack can run its event loop and sockets on.
+ * <p>
+ * The {@link EventLoopGroup} and the socket channel classes used with it must come from the same transport; use
+ * {@link #of(EventLoopGroup)} to find the channel classes that go with a given group.
+ */
+public enum NettyTransport {
+
+    /**
+     * The portable transport based on {@link java.nio.channels.Selector}.
+     */
+    NIO {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(nThreads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannelClass() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+    },
+
+    /**
+     * The native Linux transport based on epoll. Supports {@code SO_REUSEPORT} and {@code TCP_QUICKACK}.
+     * <p>
+     * Only available when the native library can be loaded, i.e. on Linux x86_64, and only if
+     * {@code io.netty:netty-transport-native-epoll} (classifier {@code linux-x86_64}) is on the classpath; it is an
+     * optional dependency and is not pulled in transitively.
+     */
+    EPOLL {
+        @Override
+        public boolean isAvailable() {
+            try {
+                return Epoll.isAvailable();
+            } catch (LinkageError e) {
+                return false;
+            }
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(nThreads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+    };
+
+    /**
+     * @return {@code true} if this transport can be used on the current platform.
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * Create a new {@link EventLoopGroup} for this transport.
+     *
+     * @param nThreads      the number of event loop threads, or 0 to use Netty's default.
+     * @param threadFactory the {@link ThreadFactory} used to create the event loop threads.
+     * @return a new {@link EventLoopGroup} for this transport.
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory);
+
+    /**
+     * @return the client {@link SocketChannel} class for this transport.
+     */
+    public abstract Class<? extends SocketChannel> getSocketChannelClass();
+
+    /**
+     * @return the {@link ServerSocketChannel} class for this transport.
+     */
+    public abstract Class<? extends ServerSocketChannel> getServerSocketChannelClass();
+
+    /**
+     * @return this transport if it is available, otherwise {@link #NIO}.
+     */
+    public NettyTransport orFallback() {
+        if (isAvailable()) {
+            return this;
+        } else {
+            LoggerFactory.getLogger(NettyTransport.class)
+                .warn("{} transport not available; falling back to {}.", this, NIO);
+
+            return NIO;
+        }
+    }
+
+    /**
+     * Get the transport an {@link EventLoopGroup} belongs to.
+     *
+     * @param eventLoopGroup the {@link EventLoopGroup}.
+     * @return {@link #EPOLL} if {@code eventLoopGroup} is an {@link EpollEventLoopGroup}, otherwise {@link #NIO}.
+     */
+    public static NettyTransport of(EventLoopGroup eventLoopGroup) {
+        if (EPOLL.isAvailable() && eventLoopGroup instanceof EpollEventLoopGroup) {
+            return EPOLL;
+        } else {
+            return NIO;
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+
+/**
+ * Applies an independent per-chunk operation, e.g. signing and encrypting, to every chunk of a message using up to
+ * {@code parallelism} threads.
+ * <p>
+ * The calling thread always takes part, and helper tasks submitted to the executor only claim chunks that haven't
+ * been processed yet, so the call completes even if the executor is saturated and the helpers never get to run.
+ */
+final class ParallelChunks {
+
+    private ParallelChunks() {}
+
+    static <T> void forEach(List<T> chunks,
+                            Executor executor,
+                            int parallelism,
+                            ChunkOperation<T> operation) throws UaException {
+
+        int chunkCount = chunks.size();
+
+        AtomicInteger next = new AtomicInteger(0);
+        CountDownLatch remaining = new CountDownLatch(chunkCount);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        Runnable worker = () -> {
+            int index;
+
+            while ((index = next.getAndIncrement()) < chunkCount) {
+                try {
+                    if (failure.get() == null) {
+                        operation.apply(chunks.get(index));
+                    }
+                } catch (UaException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    remaining.countDown();
+                }
+            }
+        };
+
+        int helperCount = Math.min(parallelism, chunkCount) - 1;
+
+        try {
+            for (int i = 0; i < helperCount; i++) {
+                executor.execute(worker);
+            }
+        } catch (RejectedExecutionException ignored) {
+            // The calling thread picks up whatever the helpers can't.
+        }
+
+        worker.run();
+
+        try {
+            remaining.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new UaException(StatusCodes.Bad_InternalError, e);
+        }
+
+        Exception e = failure.get();
+
+        if (e instanceof UaException) {
+            throw (UaException) e;
+        } else if (e != null) {
+            throw (RuntimeException) e;
+        }
+    }
+
+    interface ChunkOperation<T> {
+        void apply(T chunk) throws UaException;
+    }
+
+}
@@ -13,9 +13,15 @@
 
 package org.eclipse.milo.opcua.stack.core.channel;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
 import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder;
 import org.eclipse.milo.opcua.stack.core.util.ExecutionQueue;
@@ -31,23 +37,76 @@ public class SerializationQueue {
     private final ExecutionQueue encodingQueue;
     private final ExecutionQueue decodingQueue;
 
+    /**
+     * Idle decoders for message bodies; {@code null} when bodies are decoded on the decoding queue.
+     */
+    private final ArrayBlockingQueue<BinaryDecoder> decoderPool;
+    private final ConcurrentLinkedQueue<Body> bodyQueue = new ConcurrentLinkedQueue<>();
+    private volatile boolean paused = false;
+
+    private final ExecutorService executor;
+
     private final ChannelParameters parameters;
+    private final ChannelConfig config;
 
     public SerializationQueue(ExecutorService executor,
                               ChannelParameters parameters,
                               int maxArrayLength,
                               int maxStringLength) {
 
+        this(executor, parameters, maxArrayLength, maxStringLength, ChannelConfig.DEFAULT_PRIMITIVE_ARRAYS);
+    }
+
+    public SerializationQueue(ExecutorService executor,
+                              ChannelParameters parameters,
+                              int maxArrayLength,
+                              int maxStringLength,
+                              boolean primitiveArrays) {
+
+        this(executor, parameters, ChannelConfig.builder()
+            .setMaxArrayLength(maxArrayLength)
+            .setMaxStringLength(maxStringLength)
+            .setPrimitiveArrays(primitiveArrays)
+            .build());
+    }
+
+    /**
+     * @param executor   the {@link ExecutorService} encoding and decoding happens on. Also used to sign/encrypt and
+     *                   decrypt/verify the chunks of large messages in parallel, and to decode message bodies in
+     *                   parallel, if enabled in {@code config}.
+     * @param parameters the negotiated {@link ChannelParameters}.
+     * @param config     the {@link ChannelConfig} for the channel.
+     */
+    public SerializationQueue(ExecutorService executor,
+                              ChannelParameters parameters,
+                              ChannelConfig config) {
+
+        this.executor = executor;
         this.parameters = parameters;
+        this.config = config;
 
-        binaryEncoder = new BinaryEncoder(maxArrayLength, maxStringLength);
-        binaryDecoder = new BinaryDecoder(maxArrayLength, maxStringLength);
+        binaryEncoder = new BinaryEncoder(config.getMaxArrayLength(), config.getMaxStringLength());
+        binaryDecoder = new BinaryDecoder(
+            config.getMaxArrayLength(), config.getMaxStringLength(), config.isPrimitiveArrays());
 
-        chunkEncoder = new ChunkEncoder(parameters);
-        chunkDecoder = new ChunkDecoder(parameters);
+        chunkEncoder = new ChunkEncoder(parameters, true,
+            executor, config.getParallelCryptoThreshold(), config.getParallelCryptoMaxThreads());
+        chunkDecoder = new ChunkDecoder(parameters, true,
+            executor, config.getParallelCryptoThreshold(), config.getParallelCryptoMaxThreads());
 
         encodingQueue = new ExecutionQueue(executor);
         decodingQueue = new ExecutionQueue(executor);
+
+        if (config.getDecoderPoolSize() > 1) {
+            decoderPool = new ArrayBlockingQueue<>(config.getDecoderPoolSize());
+
+            for (int i = 0; i < config.getDecoderPoolSize(); i++) {
+                decoderPool.add(new BinaryDecoder(
+                    config.getMaxArrayLength(), config.getMaxStringLength(), config.isPrimitiveArrays()));
+            }
+        } else {
+            decoderPool = null;
+        }
     }
 
     public void encode(BiConsumer<BinaryEncoder, ChunkEncoder> consumer) {
@@ -58,13 +117,105 @@ public class SerializationQueue {
         decodingQueue.submit(() -> consumer.accept(binaryDecoder, chunkDecoder));
     }
 
+    /**
+     * Decode the body of a complete message. Must be called from a {@link #decode(BiConsumer)} task, once its chunks
+     * have been verified and decrypted.
+     * <p>
+     * If {@link ChannelConfig#getDecoderPoolSize()} is 1 the body is decoded right away, before the next message's
+     * chunks are decoded. Otherwise it is decoded on the executor with a {@link BinaryDecoder} from the pool,
+     * concurrently with other bodies, and may finish after bodies of messages received later.
+     * <p>
+     * A body still waiting for a decoder when the queue is paused, or when the executor rejects the task that would
+     * decode it, is never decoded; {@code discard} is called with the reason instead.
+     *
+     * @param consumer decodes the body using the {@link BinaryDecoder} it is given. Must not throw.
+     * @param discard  releases the body, and fails whatever was waiting on it, if it won't be decoded. Must not
+     *                 throw.
+     */
+    public void decodeBody(Consumer<BinaryDecoder> consumer, Consumer<UaException> discard) {
+        if (decoderPool == null) {
+            consumer.accept(binaryDecoder);
+        } else {
+            bodyQueue.offer(new Body(consumer, discard));
+
+            if (paused) {
+                // pause() may have emptied the queue before this body was added.
+                discardBodies(new UaException(StatusCodes.Bad_Disconnect, "serialization queue paused"));
+                return;
+            }
+
+            try {
+                executor.execute(this::drainBodies);
+            } catch (RejectedExecutionException e) {
+                discardBodies(new UaException(StatusCodes.Bad_ResourceUnavailable, e));
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if message bodies are decoded concurrently; see {@link #decodeBody(Consumer, Consumer)}.
+     */
+    public boolean isParallelDecodingEnabled() {
+        return decoderPool != null;
+    }
+
+    /**
+     * Stop encoding and decoding. Message bodies waiting to be decoded are discarded with {@code Bad_Disconnect}.
+     */
     public void pause() {
+        paused = true;
+
         encodingQueue.pause();
         decodingQueue.pause();
+
+        discardBodies(new UaException(StatusCodes.Bad_Disconnect, "serialization queue paused"));
+    }
+
+    private void drainBodies() {
+        while (!paused && !bodyQueue.isEmpty()) {
+            BinaryDecoder decoder = decoderPool.poll();
+
+            // Every decoder is in use; the workers holding them pick up the queued bodies.
+            if (decoder == null) return;
+
+            try {
+                Body body;
+
+                while (!paused && (body = bodyQueue.poll()) != null) {
+                    body.consumer.accept(decoder);
+                }
+            } finally {
+                decoderPool.offer(decoder);
+            }
+        }
+    }
+
+    private void discardBodies(UaException reason) {
+        Body body;
+
+        while ((body = bodyQueue.poll()) != null) {
+            body.discard.accept(reason);
+        }
     }
 
     public ChannelParameters getParameters() {
         return parameters;
     }
 
+    public ChannelConfig getChannelConfig() {
+        return config;
+    }
+
+    private static final class Body {
+
+        private final Consumer<BinaryDecoder> consumer;
+        private final Consumer<UaException> discard;
+
+        private Body(Consumer<BinaryDecoder> consumer, Consumer<UaException> discard) {
+            this.consumer = consumer;
+            this.discard = discard;
+        }
+
+    }
+
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Writes the chunks of encoded messages to a channel, batching the messages that become ready in the same event loop
+ * turn (or within {@code maxFlushDelayMicros} of each other) into a single flush.
+ * <p>
+ * Chunks may be written from any thread. The chunks of each message are kept together and messages are written in
+ * the order they were passed to {@link #write(List)}.
+ */
+public final class WriteCoalescer {
+
+    private final Queue<List<ByteBuf>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final LongAdder messagesWritten = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    private final ChannelHandlerContext ctx;
+    private final long maxFlushDelayMicros;
+
+    /**
+     * @param ctx                 the {@link ChannelHandlerContext} to write to.
+     * @param maxFlushDelayMicros the maximum time, in microseconds, written chunks wait to be flushed. 0 flushes at
+     *                            the end of the current event loop turn.
+     */
+    public WriteCoalescer(ChannelHandlerContext ctx, long maxFlushDelayMicros) {
+        this.ctx = ctx;
+        this.maxFlushDelayMicros = maxFlushDelayMicros;
+    }
+
+    /**
+     * Queue the chunks of a message to be written and flushed with any other messages written before the flush.
+     *
+     * @param chunks the chunks of an encoded message.
+     */
+    public void write(List<ByteBuf> chunks) {
+        pending.add(chunks);
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            if (maxFlushDelayMicros > 0) {
+                ctx.executor().schedule(this::flushPending, maxFlushDelayMicros, TimeUnit.MICROSECONDS);
+            } else {
+                ctx.executor().execute(this::flushPending);
+            }
+        }
+    }
+
+    /**
+     * Queue the chunks of a message to be written, then flush everything pending without waiting for the flush delay
+     * and close the channel.
+     *
+     * @param chunks the chunks of an encoded message.
+     */
+    public void writeAndClose(List<ByteBuf> chunks) {
+        pending.add(chunks);
+
+        ctx.executor().execute(() -> {
+            flushPending();
+            ctx.close();
+        });
+    }
+
+    /**
+     * @return the number of messages written so far.
+     */
+    public long getMessagesWritten() {
+        return messagesWritten.sum();
+    }
+
+    /**
+     * @return the number of times the channel was flushed so far.
+     */
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    private void flushPending() {
+        // Clear the flag first so a write that races with this flush schedules another one.
+        flushScheduled.set(false);
+
+        boolean written = false;
+
+        List<ByteBuf> chunks;
+        while ((chunks = pending.poll()) != null) {
+            chunks.forEach(c -> ctx.write(c, ctx.voidPromise()));
+            messagesWritten.increment();
+            written = true;
+        }
+
+        if (written) {
+            ctx.flush();
+            flushes.increment();
+        }
+    }
+
+}
@@ -19,7 +19,6 @@ import java.nio.ByteOrder;
 import javax.xml.stream.XMLStreamException;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.UaSerializationException;
@@ -35,24 +34,33 @@ public class OpcUaDataTypeEncoding implements DataTypeEncoding {
 
     private static final DelegateRegistry.Instance DELEGATE_REGISTRY = DelegateRegistry.getInstance();
 
-    private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+    /**
+     * Scratch buffers that have grown beyond this capacity are discarded rather than kept for the next encode.
+     */
+    static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final ThreadLocal<Codecs> CODECS = ThreadLocal.withInitial(Codecs::new);
 
     @Override
     public ByteString encodeToByteString(Object object, NodeId encodingTypeId) {
         EncoderDelegate<Object> delegate = DELEGATE_REGISTRY.getEncoder(encodingTypeId);
 
-        ByteBuf buffer = allocator.buffer().order(ByteOrder.LITTLE_ENDIAN);
+        Codecs codecs = Codecs.acquire();
 
-        BinaryEncoder encoder = new BinaryEncoder();
-        encoder.setBuffer(buffer);
+        try {
+            ByteBuf buffer = codecs.buffer.clear();
 
-        delegate.encode(object, encoder);
+            delegate.encode(object, codecs.encoder.setBuffer(buffer));
 
-        byte[] bs = new byte[buffer.readableBytes()];
-        buffer.readBytes(bs);
-        buffer.release();
+            byte[] bs = new byte[buffer.readableBytes()];
+            buffer.getBytes(buffer.readerIndex(), bs);
 
-        return ByteString.of(bs);
+            return ByteString.of(bs);
+        } finally {
+            codecs.release();
+        }
     }
 
     @Override
@@ -60,16 +68,18 @@ public class OpcUaDataTypeEncoding implements DataTypeEncoding {
         DecoderDelegate<Object> delegate = DELEGATE_REGISTRY.getDecoder(encodingTypeId);
 
         byte[] bs = encoded.bytes();
-        if (bs == null) bs = new byte[0];
 
-        ByteBuf buffer = Unpooled
-            .wrappedBuffer(bs)
-            .order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuf buffer = bs != null ?
+            Unpooled.wrappedBuffer(bs).order(ByteOrder.LITTLE_ENDIAN) :
+            Unpooled.EMPTY_BUFFER.order(ByteOrder.LITTLE_ENDIAN);
 
-        BinaryDecoder decoder = new BinaryDecoder();
-        decoder.setBuffer(buffer);
+        Codecs codecs = Codecs.acquire();
 
-        return delegate.decode(decoder);
+        try {
+            return delegate.decode(codecs.decoder.setBuffer(buffer));
+        } finally {
+            codecs.release();
+        }
     }
 
     @Override
@@ -104,4 +114,46 @@ public class OpcUaDataTypeEncoding implements DataTypeEncoding {
         }
     }
 
+    /**
+     * The encoder, decoder and scratch buffer of one thread, reused by every call it makes that isn't nested in
+     * another; a nested call, e.g. from a delegate that encodes a field as a {@link ByteString}, gets its own.
+     */
+    private static final class Codecs {
+
+        private final BinaryEncoder encoder = new BinaryEncoder();
+        private final BinaryDecoder decoder = new BinaryDecoder();
+
+        private ByteBuf buffer = newBuffer();
+
+        private boolean inUse = false;
+
+        static Codecs acquire() {
+            Codecs codecs = CODECS.get();
+
+            if (codecs.inUse) {
+                codecs = new Codecs();
+            }
+
+            codecs.inUse = true;
+
+            return codecs;
+        }
+
+        void release() {
+            encoder.setBuffer(null);
+            decoder.setBuffer(null);
+
+            if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+                buffer = newBuffer();
+            }
+
+            inUse = false;
+        }
+
+        private static ByteBuf newBuffer() {
+            return Unpooled.buffer(INITIAL_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+    }
+
 }
@@ -15,13 +15,17 @@ package org.eclipse.milo.opcua.stack.core.serialization.binary;
 
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import com.google.common.collect.ImmutableSet;
 import io.netty.buffer.ByteBuf;
+import org.eclipse.milo.opcua.stack.core.Identifiers;
 import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.UaSerializationException;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
@@ -55,18 +59,40 @@ public class BinaryDecoder implements UaDecoder {
 
     private static final DelegateRegistry.Instance DELEGATE_REGISTRY = DelegateRegistry.getInstance();
 
+    /**
+     * Encoding ids of the ExtensionObject bodies decoded as part of the message that contains them instead of on
+     * demand: the notifications in a PublishResponse, which are always decoded once received.
+     */
+    private static final Set<NodeId> DIRECTLY_DECODED = ImmutableSet.of(
+        Identifiers.DataChangeNotification_Encoding_DefaultBinary,
+        Identifiers.EventNotificationList_Encoding_DefaultBinary,
+        Identifiers.StatusChangeNotification_Encoding_DefaultBinary
+    );
+
     private volatile ByteBuf buffer;
 
     private final int maxArrayLength;
     private final int maxStringLength;
+    private final boolean primitiveArrays;
 
     public BinaryDecoder() {
         this(ChannelConfig.DEFAULT_MAX_ARRAY_LENGTH, ChannelConfig.DEFAULT_MAX_STRING_LENGTH);
     }
 
     public BinaryDecoder(int maxArrayLength, int maxStringLength) {
+        this(maxArrayLength, maxStringLength, ChannelConfig.DEFAULT_PRIMITIVE_ARRAYS);
+    }
+
+    /**
+     * @param maxArrayLength  the maximum length of a decoded array.
+     * @param maxStringLength the maximum length of a decoded String.
+     * @param primitiveArrays if {@code true}, Variant arrays of Boolean, SByte, Int16, Int32, Int64, Float and Double
+     *                        are decoded into primitive arrays (e.g. {@code double[]}) instead of boxed arrays.
+     */
+    public BinaryDecoder(int maxArrayLength, int maxStringLength, boolean primitiveArrays) {
         this.maxArrayLength = maxArrayLength;
         this.maxStringLength = maxStringLength;
+        this.primitiveArrays = primitiveArrays;
     }
 
     public BinaryDecoder setBuffer(ByteBuf buffer) {
@@ -281,6 +307,12 @@ public class BinaryDecoder implements UaDecoder {
         if (encoding == 0) {
             return new ExtensionObject((ByteString) null, encodingTypeId);
         } else if (encoding == 1) {
+            if (DIRECTLY_DECODED.contains(encodingTypeId)) {
+                ExtensionObject xo = decodeBodyDirectly(encodingTypeId);
+
+                if (xo != null) return xo;
+            }
+
             ByteString byteString = decodeByteString(null);
 
             return new ExtensionObject(byteString, encodingTypeId);
@@ -295,6 +327,42 @@ public class BinaryDecoder implements UaDecoder {
         }
     }
 
+    /**
+     * Decode the binary body of an ExtensionObject straight from the buffer rather than copying it into a
+     * {@link ByteString} to be decoded later.
+     *
+     * @param encodingTypeId the encoding id of the body.
+     * @return an {@link ExtensionObject} holding the decoded structure, or {@code null} if the body couldn't be
+     * decoded, in which case the buffer is left positioned at the start of the body.
+     */
+    private ExtensionObject decodeBodyDirectly(NodeId encodingTypeId) {
+        int bodyIndex = buffer.readerIndex();
+        int length = buffer.readInt();
+
+        if (length < 0 || length > buffer.readableBytes()) {
+            buffer.readerIndex(bodyIndex);
+            return null;
+        }
+
+        int endIndex = buffer.readerIndex() + length;
+
+        try {
+            DecoderDelegate<UaStructure> delegate = DELEGATE_REGISTRY.getDecoder(encodingTypeId);
+            UaStructure structure = delegate.decode(this);
+
+            if (buffer.readerIndex() <= endIndex) {
+                buffer.readerIndex(endIndex);
+
+                return ExtensionObject.encodeDeferred(structure);
+            }
+        } catch (RuntimeException e) {
+            // Whatever a delegate throws on a malformed body, leave it to ExtensionObject.decode() to report.
+        }
+
+        buffer.readerIndex(bodyIndex);
+        return null;
+    }
+
     @Override
     public DataValue decodeDataValue(String field) throws UaSerializationException {
         int mask = buffer.readByte() & 0x0F;
@@ -319,7 +387,6 @@ public class BinaryDecoder implements UaDecoder {
             boolean arrayEncoded = (encodingMask & 0x80) == 0x80;
 
             if (arrayEncoded) {
-                Class<?> backingClass = TypeUtil.getBackingClass(typeId);
                 int length = decodeInt32(null);
 
                 if (length == -1) {
@@ -330,12 +397,19 @@ public class BinaryDecoder implements UaDecoder {
                             String.format("max array length exceeded (length=%s, max=%s)", length, maxArrayLength));
                     }
 
-                    Object flatArray = Array.newInstance(backingClass, length);
+                    Object flatArray;
+
+                    if (primitiveArrays && TypeUtil.getPrimitiveBackingClass(typeId) != null) {
+                        flatArray = decodePrimitiveArray(typeId, length);
+                    } else {
+                        Class<?> backingClass = TypeUtil.getBackingClass(typeId);
+                        flatArray = Array.newInstance(backingClass, length);
 
-                    for (int i = 0; i < length; i++) {
-                        Object element = decodeBuiltinType(typeId);
+                        for (int i = 0; i < length; i++) {
+                            Object element = decodeBuiltinType(typeId);
 
-                        Array.set(flatArray, i, element);
+                            Array.set(flatArray, i, element);
+                        }
                     }
 
                     int[] dimensions = dimensionsEncoded ? decodeDimensions() : new int[]{length};
@@ -470,6 +544,86 @@ public class BinaryDecoder implements UaDecoder {
         }
     }
 
+    private Object decodePrimitiveArray(int typeId, int length) throws UaSerializationException {
+        int elementSize = primitiveSize(typeId);
+
+        // Checked before allocating, and so that length * elementSize can't overflow.
+        if (length < 0 || length > buffer.readableBytes() / elementSize) {
+            throw new UaSerializationException(StatusCodes.Bad_DecodingError,
+                String.format("array length exceeds remaining bytes (length=%s, readable=%s)",
+                    length, buffer.readableBytes()));
+        }
+
+        switch (typeId) {
+            case 1: {
+                boolean[] array = new boolean[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = buffer.readBoolean();
+                }
+                return array;
+            }
+            case 2: {
+                byte[] array = new byte[length];
+                buffer.readBytes(array);
+                return array;
+            }
+            case 4: {
+                short[] array = new short[length];
+                readNioBuffer(length * 2).asShortBuffer().get(array);
+                return array;
+            }
+            case 6: {
+                int[] array = new int[length];
+                readNioBuffer(length * 4).asIntBuffer().get(array);
+                return array;
+            }
+            case 8: {
+                long[] array = new long[length];
+                readNioBuffer(length * 8).asLongBuffer().get(array);
+                return array;
+            }
+            case 10: {
+                float[] array = new float[length];
+                readNioBuffer(length * 4).asFloatBuffer().get(array);
+                return array;
+            }
+            case 11: {
+                double[] array = new double[length];
+                readNioBuffer(length * 8).asDoubleBuffer().get(array);
+                return array;
+            }
+            default:
+                throw new UaSerializationException(StatusCodes.Bad_DecodingError, "not a primitive type: " + typeId);
+        }
+    }
+
+    private static int primitiveSize(int typeId) throws UaSerializationException {
+        switch (typeId) {
+            case 1:
+            case 2:
+                return 1;
+            case 4:
+                return 2;
+            case 6:
+            case 10:
+                return 4;
+            case 8:
+            case 11:
+                return 8;
+            default:
+                throw new UaSerializationException(StatusCodes.Bad_DecodingError, "not a primitive type: " + typeId);
+        }
+    }
+
+    /**
+     * Expose the next {@code length} readable bytes as a little-endian {@link ByteBuffer} and advance past them.
+     */
+    private ByteBuffer readNioBuffer(int length) {
+        ByteBuffer nioBuffer = buffer.nioBuffer(buffer.readerIndex(), length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.skipBytes(length);
+        return nioBuffer;
+    }
+
     private Object decodeBuiltinType(int typeId) throws UaSerializationException {
         switch (typeId) {
             case 1:
@@ -427,7 +427,9 @@ public class BinaryEncoder implements UaEncoder {
 
     @Override
     public void encodeExtensionObject(String field, ExtensionObject value) throws UaSerializationException {
-        if (value == null || value.getEncoded() == null) {
+        if (value != null && value.isDeferred()) {
+            encodeDeferredExtensionObject(value);
+        } else if (value == null || value.getEncoded() == null) {
             encodeNodeId(null, NodeId.NULL_VALUE);
             buffer.writeByte(0); // No body is encoded
         } else {
@@ -461,6 +463,24 @@ public class BinaryEncoder implements UaEncoder {
         }
     }
 
+    /**
+     * Encode the structure held by a deferred {@link ExtensionObject} straight into the buffer, then go back and fill
+     * in the length of the body.
+     */
+    private void encodeDeferredExtensionObject(ExtensionObject value) throws UaSerializationException {
+        EncoderDelegate<Object> delegate = DELEGATE_REGISTRY.getEncoder(value.getEncodingTypeId());
+
+        encodeNodeId(null, value.getEncodingTypeId());
+        buffer.writeByte(1); // Body is binary encoded
+
+        int lengthIndex = buffer.writerIndex();
+        buffer.writeInt(0);
+
+        delegate.encode(value.decode(), this);
+
+        buffer.setInt(lengthIndex, buffer.writerIndex() - lengthIndex - 4);
+    }
+
     @Override
     public void encodeDataValue(String field, DataValue value) throws UaSerializationException {
         if (value == null) {
@@ -517,10 +537,14 @@ public class BinaryEncoder implements UaEncoder {
                     int length = Array.getLength(value);
                     buffer.writeInt(length);
 
-                    for (int i = 0; i < length; i++) {
-                        Object o = Array.get(value, i);
+                    if (valueClass.isPrimitive()) {
+                        encodePrimitiveArray(value);
+                    } else {
+                        for (int i = 0; i < length; i++) {
+                            Object o = Array.get(value, i);
 
-                        encodeValue(o, typeId, structure, enumeration);
+                            encodeValue(o, typeId, structure, enumeration);
+                        }
                     }
                 } else {
                     buffer.writeByte(typeId | 0xC0);
@@ -529,10 +553,14 @@ public class BinaryEncoder implements UaEncoder {
                     int length = Array.getLength(flattened);
                     buffer.writeInt(length);
 
-                    for (int i = 0; i < length; i++) {
-                        Object o = Array.get(flattened, i);
+                    if (valueClass.isPrimitive()) {
+                        encodePrimitiveArray(flattened);
+                    } else {
+                        for (int i = 0; i < length; i++) {
+                            Object o = Array.get(flattened, i);
 
-                        encodeValue(o, typeId, structure, enumeration);
+                            encodeValue(o, typeId, structure, enumeration);
+                        }
                     }
 
                     encodeInt32(null, dimensions.length);
@@ -548,6 +576,57 @@ public class BinaryEncoder implements UaEncoder {
         }
     }
 
+    /**
+     * Encode the elements of a one-dimensional primitive array without boxing each element.
+     *
+     * @param array a {@code boolean[]}, {@code byte[]}, {@code short[]}, {@code int[]}, {@code long[]},
+     *              {@code float[]} or {@code double[]}.
+     */
+    private void encodePrimitiveArray(Object array) throws UaSerializationException {
+        if (array instanceof boolean[]) {
+            boolean[] a = (boolean[]) array;
+            buffer.ensureWritable(a.length);
+            for (boolean b : a) {
+                buffer.writeBoolean(b);
+            }
+        } else if (array instanceof byte[]) {
+            buffer.writeBytes((byte[]) array);
+        } else if (array instanceof short[]) {
+            short[] a = (short[]) array;
+            buffer.ensureWritable(a.length * 2);
+            for (short v : a) {
+                buffer.writeShort(v);
+            }
+        } else if (array instanceof int[]) {
+            int[] a = (int[]) array;
+            buffer.ensureWritable(a.length * 4);
+            for (int v : a) {
+                buffer.writeInt(v);
+            }
+        } else if (array instanceof long[]) {
+            long[] a = (long[]) array;
+            buffer.ensureWritable(a.length * 8);
+            for (long v : a) {
+                buffer.writeLong(v);
+            }
+        } else if (array instanceof float[]) {
+            float[] a = (float[]) array;
+            buffer.ensureWritable(a.length * 4);
+            for (float v : a) {
+                buffer.writeFloat(v);
+            }
+        } else if (array instanceof double[]) {
+            double[] a = (double[]) array;
+            buffer.ensureWritable(a.length * 8);
+            for (double v : a) {
+                buffer.writeDouble(v);
+            }
+        } else {
+            throw new UaSerializationException(StatusCodes.Bad_EncodingError,
+                "not a primitive array: " + array.getClass());
+        }
+    }
+
     private void encodeValue(Object value, int typeId, boolean structure, boolean enumeration) {
         if (structure) {
             ExtensionObject extensionObject = ExtensionObject.encode((UaStructure) value);
@@ -27,10 +27,9 @@ public final class ExtensionObject {
     }
 
     private volatile Object decoded;
+    private volatile Object encoded;
 
     private final BodyType bodyType;
-
-    private final Object encoded;
     private final NodeId encodingTypeId;
 
     public ExtensionObject(ByteString encoded, NodeId encodingTypeId) {
@@ -47,8 +46,41 @@ public final class ExtensionObject {
         bodyType = BodyType.XmlElement;
     }
 
+    private ExtensionObject(UaStructure structure) {
+        this.decoded = structure;
+        this.encodingTypeId = structure.getBinaryEncodingId();
+
+        bodyType = BodyType.ByteString;
+    }
+
+    /**
+     * Get the encoded body.
+     * <p>
+     * If this was created by {@link #encodeDeferred(UaStructure)} the body is encoded now, once, and kept.
+     *
+     * @return the encoded body, a {@link ByteString} or {@link XmlElement} depending on {@link #getBodyType()}.
+     */
     public Object getEncoded() {
-        return encoded;
+        Object e = encoded;
+
+        if (e == null && decoded != null) {
+            synchronized (this) {
+                if (encoded == null) {
+                    encoded = DataTypeEncoding.OPC_UA.encodeToByteString(decoded, encodingTypeId);
+                }
+                e = encoded;
+            }
+        }
+
+        return e;
+    }
+
+    /**
+     * @return {@code true} if this was created by {@link #encodeDeferred(UaStructure)} and its body hasn't been
+     * encoded yet; an encoder can then encode the structure, available from {@link #decode()}, in place.
+     */
+    public boolean isDeferred() {
+        return encoded == null && decoded != null;
     }
 
     public NodeId getEncodingTypeId() {
@@ -96,6 +128,21 @@ public final class ExtensionObject {
         return encodeAsByteString(structure, structure.getBinaryEncodingId());
     }
 
+    /**
+     * Create an {@link ExtensionObject} that holds {@code structure} and defers encoding it.
+     * <p>
+     * The binary encoder writes the structure directly into the message it is part of, instead of encoding it into
+     * an intermediate {@link ByteString} that is then copied into the message. Use this for structures that are
+     * created to be sent, e.g. notifications, and that won't be modified afterwards. The binary decoder also uses it
+     * for the notifications it decodes as part of the message containing them.
+     *
+     * @param structure the structure to hold.
+     * @return an {@link ExtensionObject} with a binary body that is encoded when it is written.
+     */
+    public static ExtensionObject encodeDeferred(UaStructure structure) {
+        return new ExtensionObject(structure);
+    }
+
     public static ExtensionObject encodeAsByteString(Object object,
                                                      NodeId encodingTypeId) throws UaSerializationException {
 
@@ -133,19 +180,19 @@ public final class ExtensionObject {
 
         ExtensionObject that = (ExtensionObject) o;
 
-        return Objects.equal(encoded, that.encoded) &&
+        return Objects.equal(getEncoded(), that.getEncoded()) &&
             Objects.equal(encodingTypeId, that.encodingTypeId);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(encoded, encodingTypeId);
+        return Objects.hashCode(getEncoded(), encodingTypeId);
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-            .add("encoded", encoded)
+            .add("encoded", isDeferred() ? decoded : encoded)
             .add("encodingTypeId", encodingTypeId)
             .toString();
     }
@@ -41,6 +41,13 @@ public class AsyncSemaphore {
         return f;
     }
 
+    /**
+     * @return the number of permits that can be acquired without waiting.
+     */
+    public int getAvailablePermits() {
+        return availablePermits.get();
+    }
+
     public interface SemaphorePermit {
 
         /**
@@ -53,14 +60,17 @@ public class AsyncSemaphore {
     private final class PermitImpl implements SemaphorePermit {
         @Override
         public void release() {
-            CompletableFuture<SemaphorePermit> next;
+            while (true) {
+                CompletableFuture<SemaphorePermit> next;
 
-            synchronized (AsyncSemaphore.this) {
-                next = waitQueue.pollFirst();
-                if (next == null) availablePermits.incrementAndGet();
-            }
+                synchronized (AsyncSemaphore.this) {
+                    next = waitQueue.pollFirst();
+                    if (next == null) availablePermits.incrementAndGet();
+                }
 
-            if (next != null) next.complete(new PermitImpl());
+                // A waiter that was completed or cancelled by someone else gave up on its permit; pass it along.
+                if (next == null || next.complete(new PermitImpl())) break;
+            }
         }
     }
 
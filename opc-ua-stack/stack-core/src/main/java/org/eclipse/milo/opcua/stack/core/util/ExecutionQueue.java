@@ -13,30 +13,56 @@
 
 package org.eclipse.milo.opcua.stack.core.util;
 
-import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Queues up submitted {@link java.lang.Runnable}s and executes them in serial on an
  * {@link java.util.concurrent.ExecutorService}.
+ * <p>
+ * Submitting never blocks: {@link Runnable}s are added to a lock-free queue, and a single drain task is scheduled on
+ * the executor when the queue goes from idle to non-empty. The drain task executes up to {@code maxBatchSize} queued
+ * {@link Runnable}s per hop onto the executor before rescheduling itself, so a busy queue doesn't monopolize an
+ * executor thread and an idle one costs nothing.
  */
 public class ExecutionQueue {
 
+    /**
+     * The default maximum number of {@link Runnable}s executed per hop onto the executor.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 16;
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
-    private final Object queueLock = new Object();
-    private final LinkedList<Runnable> queue = new LinkedList<>();
+    private final ConcurrentLinkedDeque<Runnable> queue = new ConcurrentLinkedDeque<>();
 
-    private volatile boolean pollSubmitted = false;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
     private volatile boolean paused = false;
 
+    private final Drain drain = new Drain();
+
     private final ExecutorService service;
+    private final int maxBatchSize;
 
     public ExecutionQueue(ExecutorService service) {
+        this(service, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * @param service      the {@link ExecutorService} to execute on.
+     * @param maxBatchSize the maximum number of {@link Runnable}s to execute per hop onto {@code service}.
+     */
+    public ExecutionQueue(ExecutorService service, int maxBatchSize) {
+        Preconditions.checkArgument(maxBatchSize >= 1, "maxBatchSize must be greater than or equal to 1");
+
         this.service = service;
+        this.maxBatchSize = maxBatchSize;
     }
 
     /**
@@ -45,11 +71,9 @@ public class ExecutionQueue {
      * @param runnable the {@link Runnable} to be executed.
      */
     public void submit(Runnable runnable) {
-        synchronized (queueLock) {
-            queue.add(runnable);
+        queue.offerLast(runnable);
 
-            maybeSubmitPoll();
-        }
+        maybeScheduleDrain();
     }
 
     /**
@@ -58,65 +82,76 @@ public class ExecutionQueue {
      * @param runnable the {@link Runnable} to be executed.
      */
     public void submitToHead(Runnable runnable) {
-        synchronized (queueLock) {
-            queue.addFirst(runnable);
+        queue.offerFirst(runnable);
 
-            maybeSubmitPoll();
-        }
+        maybeScheduleDrain();
     }
 
     /**
      * Pause execution of queued {@link java.lang.Runnable}s.
+     * <p>
+     * A {@link Runnable} that is already executing runs to completion; no further {@link Runnable}s are executed
+     * until {@link #resume()} is called.
      */
     public void pause() {
-        synchronized (queueLock) {
-            paused = true;
-        }
+        paused = true;
     }
 
     /**
      * Resume execution of queued {@link java.lang.Runnable}s.
      */
     public void resume() {
-        synchronized (queueLock) {
-            paused = false;
+        paused = false;
 
-            maybeSubmitPoll();
-        }
+        maybeScheduleDrain();
     }
 
-    private void maybeSubmitPoll() {
-        synchronized (queueLock) {
-            if (!pollSubmitted && !paused && !queue.isEmpty()) {
-                service.submit(new PollAndExecute());
-                pollSubmitted = true;
+    private void maybeScheduleDrain() {
+        if (!paused && !queue.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+            try {
+                service.execute(drain);
+            } catch (RejectedExecutionException e) {
+                drainScheduled.set(false);
+
+                throw e;
             }
         }
     }
 
-    private class PollAndExecute implements Runnable {
+    private class Drain implements Runnable {
         @Override
         public void run() {
-            Runnable runnable;
+            int executed = 0;
 
-            synchronized (queueLock) {
-                runnable = queue.poll();
-            }
+            while (executed < maxBatchSize && !paused) {
+                Runnable runnable = queue.pollFirst();
 
-            try {
-                runnable.run();
-            } catch (Throwable throwable) {
-                log.warn("Uncaught Throwable during execution.", throwable);
+                if (runnable == null) break;
+
+                try {
+                    runnable.run();
+                } catch (Throwable throwable) {
+                    log.warn("Uncaught Throwable during execution.", throwable);
+                }
+
+                executed++;
             }
 
-            synchronized (queueLock) {
-                if (queue.isEmpty() || paused) {
-                    pollSubmitted = false;
-                } else {
-                    // polling remains true
-                    service.submit(new PollAndExecute());
+            if (executed == maxBatchSize && !paused && !queue.isEmpty()) {
+                // Still draining; hop back onto the executor without giving up the schedule.
+                try {
+                    service.execute(this);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    log.warn("Drain rejected by executor.", e);
                 }
             }
+
+            drainScheduled.set(false);
+
+            // A Runnable submitted after the last poll but before the schedule was released would otherwise
+            // be stranded until the next submission.
+            maybeScheduleDrain();
         }
     }
 
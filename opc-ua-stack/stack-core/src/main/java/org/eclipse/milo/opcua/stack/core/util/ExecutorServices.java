@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory methods for bounded {@link ExecutorService}s suitable for the executors in the stack and SDK configs.
+ * <p>
+ * Every executor returned is a {@link MonitoredExecutorService}, so its queue depth and active task count can be
+ * observed, and rejects new tasks once its queue is full.
+ */
+public final class ExecutorServices {
+
+    private ExecutorServices() {}
+
+    /**
+     * Create a work-stealing pool with at most {@code parallelism} threads.
+     * <p>
+     * Threads are not added when tasks block, so tasks run on this pool should not block waiting on other tasks.
+     *
+     * @param name           the name of the pool; threads are named "{name}-{n}".
+     * @param parallelism    the number of threads.
+     * @param maxQueuedTasks the maximum number of tasks waiting to run before new tasks are rejected.
+     * @return a new bounded work-stealing pool.
+     */
+    public static MonitoredExecutorService newWorkStealingPool(String name, int parallelism, int maxQueuedTasks) {
+        AtomicLong threadNumber = new AtomicLong(0L);
+
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // asyncMode: tasks submitted from outside the pool are run in FIFO order.
+        ForkJoinPool pool = new ForkJoinPool(parallelism, threadFactory, null, true);
+
+        return new MonitoredExecutorService(name, pool, maxQueuedTasks);
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for each task.
+     * <p>
+     * Virtual threads require a JDK that provides {@code Executors.newVirtualThreadPerTaskExecutor()}; on older JDKs
+     * a {@link #newWorkStealingPool(String, int, int)} with one thread per available processor is returned instead.
+     *
+     * @param name           the name of the executor.
+     * @param maxQueuedTasks the maximum number of tasks waiting to run before new tasks are rejected.
+     * @return a new virtual-thread-per-task executor, or a work-stealing pool if virtual threads are not supported.
+     */
+    public static MonitoredExecutorService newVirtualThreadPerTaskExecutor(String name, int maxQueuedTasks) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            ExecutorService executor = (ExecutorService) method.invoke(null);
+
+            return new MonitoredExecutorService(name, executor, maxQueuedTasks);
+        } catch (ReflectiveOperationException e) {
+            LoggerFactory.getLogger(ExecutorServices.class)
+                .debug("Virtual threads not supported; using a work-stealing pool for {}.", name);
+
+            return newWorkStealingPool(name, Runtime.getRuntime().availableProcessors(), maxQueuedTasks);
+        }
+    }
+
+    /**
+     * @return {@code true} if this JDK supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+}
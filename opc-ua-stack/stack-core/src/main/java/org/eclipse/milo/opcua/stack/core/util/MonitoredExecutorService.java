@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.util;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * An {@link ExecutorService} that bounds the number of tasks waiting to run on a delegate {@link ExecutorService} and
+ * keeps count of queued, active, completed and rejected tasks.
+ * <p>
+ * Once {@code maxQueuedTasks} tasks are waiting, further tasks are rejected with a
+ * {@link RejectedExecutionException} rather than queued, so an overloaded server pushes back on new work instead of
+ * buffering it without limit.
+ */
+public final class MonitoredExecutorService extends AbstractExecutorService {
+
+    private final AtomicInteger queuedTasks = new AtomicInteger(0);
+    private final AtomicInteger activeTasks = new AtomicInteger(0);
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    private final String name;
+    private final ExecutorService delegate;
+    private final int maxQueuedTasks;
+
+    /**
+     * @param name           a name used in rejection messages.
+     * @param delegate       the {@link ExecutorService} that runs the tasks.
+     * @param maxQueuedTasks the maximum number of tasks waiting to run before new tasks are rejected.
+     */
+    public MonitoredExecutorService(String name, ExecutorService delegate, int maxQueuedTasks) {
+        Preconditions.checkArgument(maxQueuedTasks > 0, "maxQueuedTasks must be > 0");
+
+        this.name = name;
+        this.delegate = delegate;
+        this.maxQueuedTasks = maxQueuedTasks;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (queuedTasks.incrementAndGet() > maxQueuedTasks) {
+            queuedTasks.decrementAndGet();
+            rejectedTasks.increment();
+
+            throw new RejectedExecutionException(
+                String.format("%s: %d tasks already queued", name, maxQueuedTasks));
+        }
+
+        try {
+            delegate.execute(() -> {
+                queuedTasks.decrementAndGet();
+                activeTasks.incrementAndGet();
+
+                try {
+                    command.run();
+                } finally {
+                    activeTasks.decrementAndGet();
+                    completedTasks.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedTasks.decrementAndGet();
+            rejectedTasks.increment();
+
+            throw e;
+        }
+    }
+
+    /**
+     * @return the name of this executor.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the maximum number of tasks waiting to run before new tasks are rejected.
+     */
+    public int getMaxQueuedTasks() {
+        return maxQueuedTasks;
+    }
+
+    /**
+     * @return the number of tasks submitted but not yet started.
+     */
+    public int getQueuedTaskCount() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * @return the number of tasks currently running.
+     */
+    public int getActiveTaskCount() {
+        return activeTasks.get();
+    }
+
+    /**
+     * @return the number of tasks that have finished running, normally or not.
+     */
+    public long getCompletedTaskCount() {
+        return completedTasks.sum();
+    }
+
+    /**
+     * @return the number of tasks rejected because the queue was full or the delegate rejected them.
+     */
+    public long getRejectedTaskCount() {
+        return rejectedTasks.sum();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{queued=%d, active=%d, completed=%d, rejected=%d}",
+            name, getQueuedTaskCount(), getActiveTaskCount(), getCompletedTaskCount(), getRejectedTaskCount());
+    }
+
+}
@@ -117,6 +117,15 @@ public class TypeUtil {
         return BUILTIN_TYPES.get(typeId);
     }
 
+    /**
+     * @param typeId the id of the builtin type.
+     * @return the primitive {@link Class} that can back the builtin type, or {@code null} if the builtin type has no
+     * primitive representation.
+     */
+    public static Class<?> getPrimitiveBackingClass(int typeId) {
+        return PRIMITIVE_BUILTIN_TYPES.inverse().get(typeId);
+    }
+
     public static Class<?> getBackingClass(ExpandedNodeId typeId) {
         if (typeId.getNamespaceIndex().intValue() == 0 && typeId.getType() == IdType.Numeric) {
             int id = ((Number) typeId.getIdentifier()).intValue();
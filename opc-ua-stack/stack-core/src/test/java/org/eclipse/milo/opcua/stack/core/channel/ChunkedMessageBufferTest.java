@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import io.netty.buffer.ByteBuf;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class ChunkedMessageBufferTest {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int BODY_OFFSET = 24;
+    private static final int MAX_BODY_SIZE = 1000;
+
+    @Test
+    public void testSmallWritesAddOneChunkAtATime() {
+        ChunkedMessageBuffer buffer = new ChunkedMessageBuffer(CHUNK_SIZE, BODY_OFFSET, MAX_BODY_SIZE);
+
+        try {
+            for (int i = 0; i < 5000 / 8; i++) {
+                buffer.writeLong(i);
+            }
+            buffer.writeInt(0);
+
+            assertEquals(buffer.getChunkBuffers().size(), 6);
+            assertEquals(buffer.capacity(), 6 * MAX_BODY_SIZE);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    @Test
+    public void testLargeWritesAddOnlyTheChunksNeeded() {
+        ChunkedMessageBuffer buffer = new ChunkedMessageBuffer(CHUNK_SIZE, BODY_OFFSET, MAX_BODY_SIZE);
+
+        try {
+            buffer.writeBytes(new byte[2500]);
+
+            assertEquals(buffer.getChunkBuffers().size(), 3);
+
+            buffer.writeZero(4500);
+
+            assertEquals(buffer.getChunkBuffers().size(), 7);
+            assertEquals(buffer.writerIndex(), 7000);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    @Test
+    public void testWritesLandInChunkBodies() {
+        ChunkedMessageBuffer buffer = new ChunkedMessageBuffer(CHUNK_SIZE, BODY_OFFSET, MAX_BODY_SIZE);
+
+        try {
+            buffer.writeBytes(new byte[MAX_BODY_SIZE - 2]);
+            buffer.writeInt(0x01020304);
+
+            ByteBuf first = buffer.getChunkBuffers().get(0);
+            ByteBuf second = buffer.getChunkBuffers().get(1);
+
+            assertEquals(first.getByte(BODY_OFFSET + MAX_BODY_SIZE - 2), 0x01);
+            assertEquals(first.getByte(BODY_OFFSET + MAX_BODY_SIZE - 1), 0x02);
+            assertEquals(second.getByte(BODY_OFFSET), 0x03);
+            assertEquals(second.getByte(BODY_OFFSET + 1), 0x04);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    private static void release(ChunkedMessageBuffer buffer) {
+        buffer.getChunkBuffers().forEach(ByteBuf::release);
+        buffer.release();
+    }
+
+}
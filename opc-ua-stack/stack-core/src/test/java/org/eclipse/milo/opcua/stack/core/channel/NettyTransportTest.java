@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.concurrent.Executors;
+
+import io.netty.channel.EventLoopGroup;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class NettyTransportTest {
+
+    @Test
+    public void testNioTransport() throws Exception {
+        assertTrue(NettyTransport.NIO.isAvailable());
+        assertEquals(NettyTransport.NIO.orFallback(), NettyTransport.NIO);
+
+        EventLoopGroup eventLoop = NettyTransport.NIO.newEventLoopGroup(1, Executors.defaultThreadFactory());
+
+        try {
+            assertEquals(NettyTransport.of(eventLoop), NettyTransport.NIO);
+        } finally {
+            eventLoop.shutdownGracefully().await();
+        }
+    }
+
+    @Test
+    public void testEpollTransportFallback() {
+        NettyTransport expected = NettyTransport.EPOLL.isAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO;
+
+        assertEquals(NettyTransport.EPOLL.orFallback(), expected);
+    }
+
+    @Test
+    public void testEpollTransport() throws Exception {
+        if (!NettyTransport.EPOLL.isAvailable()) {
+            throw new SkipException("epoll transport not available");
+        }
+
+        EventLoopGroup eventLoop = NettyTransport.EPOLL.newEventLoopGroup(1, Executors.defaultThreadFactory());
+
+        try {
+            assertEquals(NettyTransport.of(eventLoop), NettyTransport.EPOLL);
+        } finally {
+            eventLoop.shutdownGracefully().await();
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class SerializationQueueTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final ChannelParameters parameters = new ChannelParameters(
+        ChannelConfig.DEFAULT_MAX_MESSAGE_SIZE,
+        ChannelConfig.DEFAULT_MAX_CHUNK_SIZE,
+        ChannelConfig.DEFAULT_MAX_CHUNK_SIZE,
+        ChannelConfig.DEFAULT_MAX_CHUNK_COUNT,
+        ChannelConfig.DEFAULT_MAX_MESSAGE_SIZE,
+        ChannelConfig.DEFAULT_MAX_CHUNK_SIZE,
+        ChannelConfig.DEFAULT_MAX_CHUNK_SIZE,
+        ChannelConfig.DEFAULT_MAX_CHUNK_COUNT);
+
+    @AfterClass
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBodyDecodedInOrderByDefault() throws Exception {
+        SerializationQueue queue = new SerializationQueue(executor, parameters, ChannelConfig.DEFAULT);
+
+        CompletableFuture<Boolean> sameDecoder = new CompletableFuture<>();
+
+        queue.decode((binaryDecoder, chunkDecoder) -> {
+            BinaryDecoder[] bodyDecoder = new BinaryDecoder[1];
+
+            queue.decodeBody(decoder -> bodyDecoder[0] = decoder, SerializationQueueTest::notDiscarded);
+
+            // Decoded before decodeBody returned, with the decoding queue's own decoder.
+            sameDecoder.complete(bodyDecoder[0] == binaryDecoder);
+        });
+
+        assertFalse(queue.isParallelDecodingEnabled());
+        assertTrue(sameDecoder.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBodiesDecodedConcurrently() throws Exception {
+        SerializationQueue queue = new SerializationQueue(executor, parameters, withDecoderPoolSize(2));
+
+        CountDownLatch secondDecoded = new CountDownLatch(1);
+        CompletableFuture<BinaryDecoder> first = new CompletableFuture<>();
+        CompletableFuture<BinaryDecoder> second = new CompletableFuture<>();
+
+        queue.decode((binaryDecoder, chunkDecoder) -> {
+            queue.decodeBody(decoder -> {
+                try {
+                    // Only finishes if the second body can be decoded while this one is still being decoded.
+                    if (secondDecoded.await(5, TimeUnit.SECONDS)) first.complete(decoder);
+                } catch (InterruptedException e) {
+                    first.completeExceptionally(e);
+                }
+            }, SerializationQueueTest::notDiscarded);
+
+            queue.decodeBody(decoder -> {
+                second.complete(decoder);
+                secondDecoded.countDown();
+            }, SerializationQueueTest::notDiscarded);
+        });
+
+        assertTrue(queue.isParallelDecodingEnabled());
+        assertNotSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDecodersReused() throws Exception {
+        SerializationQueue queue = new SerializationQueue(executor, parameters, withDecoderPoolSize(2));
+
+        Set<BinaryDecoder> decoders = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        CountDownLatch done = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            queue.decode((binaryDecoder, chunkDecoder) -> queue.decodeBody(d -> {
+                decoders.add(d);
+                done.countDown();
+            }, SerializationQueueTest::notDiscarded));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(decoders.size() <= 2, "decoders=" + decoders.size());
+    }
+
+    @Test
+    public void testQueuedBodiesDiscardedOnPause() throws Exception {
+        SerializationQueue queue = new SerializationQueue(executor, parameters, withDecoderPoolSize(2));
+
+        CountDownLatch decoding = new CountDownLatch(2);
+        CountDownLatch paused = new CountDownLatch(1);
+        CompletableFuture<BinaryDecoder> third = new CompletableFuture<>();
+        CompletableFuture<UaException> discarded = new CompletableFuture<>();
+
+        queue.decode((binaryDecoder, chunkDecoder) -> {
+            for (int i = 0; i < 2; i++) {
+                // Hold on to both decoders until the queue has been paused.
+                queue.decodeBody(decoder -> {
+                    decoding.countDown();
+                    try {
+                        paused.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, SerializationQueueTest::notDiscarded);
+            }
+
+            queue.decodeBody(third::complete, discarded::complete);
+        });
+
+        assertTrue(decoding.await(5, TimeUnit.SECONDS));
+
+        queue.pause();
+        paused.countDown();
+
+        assertEquals(discarded.get(5, TimeUnit.SECONDS).getStatusCode().getValue(), StatusCodes.Bad_Disconnect);
+        assertFalse(third.isDone());
+
+        // Bodies decoded after the pause are discarded too.
+        CompletableFuture<UaException> late = new CompletableFuture<>();
+        queue.decodeBody(decoder -> fail("decoded after pause"), late::complete);
+
+        assertEquals(late.get(5, TimeUnit.SECONDS).getStatusCode().getValue(), StatusCodes.Bad_Disconnect);
+    }
+
+    @Test
+    public void testBodyDiscardedWhenExecutorRejects() throws Exception {
+        ExecutorService shutdown = Executors.newSingleThreadExecutor();
+        shutdown.shutdown();
+
+        SerializationQueue queue = new SerializationQueue(shutdown, parameters, withDecoderPoolSize(2));
+
+        CompletableFuture<UaException> discarded = new CompletableFuture<>();
+        queue.decodeBody(decoder -> fail("decoded by a shut down executor"), discarded::complete);
+
+        assertEquals(
+            discarded.get(5, TimeUnit.SECONDS).getStatusCode().getValue(),
+            StatusCodes.Bad_ResourceUnavailable);
+    }
+
+    private static void notDiscarded(UaException reason) {
+        fail("body discarded", reason);
+    }
+
+    private static ChannelConfig withDecoderPoolSize(int decoderPoolSize) {
+        return ChannelConfig.builder().setDecoderPoolSize(decoderPoolSize).build();
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.channel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+public class WriteCoalescerTest {
+
+    @Test
+    public void testMessagesInSameTurnShareOneFlush() {
+        AtomicInteger flushCount = new AtomicInteger(0);
+        EmbeddedChannel channel = newChannel(flushCount);
+        WriteCoalescer coalescer = new WriteCoalescer(lastContext(channel), 0L);
+
+        coalescer.write(Lists.newArrayList(buffer(1), buffer(2)));
+        coalescer.write(Lists.newArrayList(buffer(3)));
+
+        assertNull(channel.readOutbound());
+
+        channel.runPendingTasks();
+
+        assertEquals(flushCount.get(), 1);
+        assertEquals(coalescer.getMessagesWritten(), 2L);
+        assertEquals(coalescer.getFlushes(), 1L);
+
+        for (int i = 1; i <= 3; i++) {
+            ByteBuf b = (ByteBuf) channel.readOutbound();
+            assertEquals(b.readByte(), i);
+            b.release();
+        }
+
+        coalescer.write(Lists.newArrayList(buffer(4)));
+        channel.runPendingTasks();
+
+        assertEquals(flushCount.get(), 2);
+
+        ((ByteBuf) channel.readOutbound()).release();
+
+        channel.finish();
+    }
+
+    @Test
+    public void testFlushDelay() throws Exception {
+        AtomicInteger flushCount = new AtomicInteger(0);
+        EmbeddedChannel channel = newChannel(flushCount);
+        WriteCoalescer coalescer = new WriteCoalescer(lastContext(channel), 10_000L);
+
+        coalescer.write(Lists.newArrayList(buffer(1)));
+        channel.runPendingTasks();
+        coalescer.write(Lists.newArrayList(buffer(2)));
+        channel.runPendingTasks();
+
+        assertEquals(flushCount.get(), 0);
+
+        Thread.sleep(20);
+        channel.runPendingTasks();
+
+        assertEquals(flushCount.get(), 1);
+        assertEquals(coalescer.getMessagesWritten(), 2L);
+
+        ((ByteBuf) channel.readOutbound()).release();
+        ((ByteBuf) channel.readOutbound()).release();
+
+        channel.finish();
+    }
+
+    @Test
+    public void testWriteAndClose() throws Exception {
+        AtomicInteger flushCount = new AtomicInteger(0);
+        EmbeddedChannel channel = newChannel(flushCount);
+        WriteCoalescer coalescer = new WriteCoalescer(lastContext(channel), 10_000L);
+
+        coalescer.write(Lists.newArrayList(buffer(1)));
+        coalescer.writeAndClose(Lists.newArrayList(buffer(2)));
+        channel.runPendingTasks();
+
+        assertEquals(flushCount.get(), 1);
+        assertEquals(coalescer.getMessagesWritten(), 2L);
+        assertFalse(channel.isOpen());
+
+        ((ByteBuf) channel.readOutbound()).release();
+        ((ByteBuf) channel.readOutbound()).release();
+    }
+
+    private static EmbeddedChannel newChannel(AtomicInteger flushCount) {
+        return new EmbeddedChannel(
+            new ChannelOutboundHandlerAdapter() {
+                @Override
+                public void flush(ChannelHandlerContext ctx) throws Exception {
+                    flushCount.incrementAndGet();
+                    super.flush(ctx);
+                }
+            },
+            new ChannelOutboundHandlerAdapter()
+        );
+    }
+
+    private static ChannelHandlerContext lastContext(EmbeddedChannel channel) {
+        return channel.pipeline().lastContext();
+    }
+
+    private static ByteBuf buffer(int b) {
+        return Unpooled.buffer(1).writeByte(b);
+    }
+
+}
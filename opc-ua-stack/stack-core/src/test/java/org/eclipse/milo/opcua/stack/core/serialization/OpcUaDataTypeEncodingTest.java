@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.serialization;
+
+import java.util.Arrays;
+
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class OpcUaDataTypeEncodingTest {
+
+    private static final NodeId NESTED_ENCODING_ID = new NodeId(2, "OpcUaDataTypeEncodingTest.Nested");
+
+    private final DataTypeEncoding encoding = DataTypeEncoding.OPC_UA;
+
+    @Test
+    public void testRoundTrip() {
+        ReadValueId readValueId = readValueId("foo");
+
+        ByteString encoded = encoding.encodeToByteString(readValueId, ReadValueId.BinaryEncodingId);
+        ReadValueId decoded = (ReadValueId) encoding.decodeFromByteString(encoded, ReadValueId.BinaryEncodingId);
+
+        assertEquals(decoded.getNodeId(), readValueId.getNodeId());
+        assertEquals(decoded.getIndexRange(), "foo");
+
+        // The second encode reuses the first one's buffer.
+        ByteString encodedAgain = encoding.encodeToByteString(readValueId, ReadValueId.BinaryEncodingId);
+
+        assertEquals(encodedAgain, encoded);
+    }
+
+    @Test
+    public void testLargeEncodeThenSmallEncode() {
+        ReadValueId[] nodesToRead = new ReadValueId[OpcUaDataTypeEncoding.MAX_RETAINED_CAPACITY / 10];
+        Arrays.fill(nodesToRead, readValueId("foo"));
+
+        ReadRequest large = new ReadRequest(
+            new RequestHeader(NodeId.NULL_VALUE, DateTime.now(), uint(0), uint(0), null, uint(0), null),
+            0.0, TimestampsToReturn.Both, nodesToRead);
+
+        ByteString encodedLarge = encoding.encodeToByteString(large, ReadRequest.BinaryEncodingId);
+        ByteString encodedSmall = encoding.encodeToByteString(readValueId("bar"), ReadValueId.BinaryEncodingId);
+
+        assertTrue(encodedLarge.length() > OpcUaDataTypeEncoding.MAX_RETAINED_CAPACITY);
+
+        ReadRequest decodedLarge =
+            (ReadRequest) encoding.decodeFromByteString(encodedLarge, ReadRequest.BinaryEncodingId);
+        ReadValueId decodedSmall =
+            (ReadValueId) encoding.decodeFromByteString(encodedSmall, ReadValueId.BinaryEncodingId);
+
+        assertEquals(decodedLarge.getNodesToRead().length, nodesToRead.length);
+        assertEquals(decodedSmall.getIndexRange(), "bar");
+    }
+
+    @Test
+    public void testNestedEncodeAndDecode() {
+        DelegateRegistry.register(
+            (Nested nested, UaEncoder encoder) -> {
+                encoder.encodeString("Name", nested.name);
+                encoder.encodeByteString("Inner",
+                    encoding.encodeToByteString(nested.inner, ReadValueId.BinaryEncodingId));
+                encoder.encodeString("Name", nested.name);
+            },
+            decoder -> {
+                String name = decoder.decodeString("Name");
+                ReadValueId inner = (ReadValueId) encoding.decodeFromByteString(
+                    decoder.decodeByteString("Inner"), ReadValueId.BinaryEncodingId);
+                assertEquals(decoder.decodeString("Name"), name);
+
+                return new Nested(name, inner);
+            },
+            Nested.class, NESTED_ENCODING_ID
+        );
+
+        Nested nested = new Nested("outer", readValueId("inner"));
+
+        ByteString encoded = encoding.encodeToByteString(nested, NESTED_ENCODING_ID);
+        Nested decoded = (Nested) encoding.decodeFromByteString(encoded, NESTED_ENCODING_ID);
+
+        assertEquals(decoded.name, "outer");
+        assertEquals(decoded.inner.getIndexRange(), "inner");
+    }
+
+    private static ReadValueId readValueId(String indexRange) {
+        return new ReadValueId(new NodeId(1, 42), AttributeId.Value.uid(), indexRange, QualifiedName.NULL_VALUE);
+    }
+
+    private static class Nested {
+
+        private final String name;
+        private final ReadValueId inner;
+
+        Nested(String name, ReadValueId inner) {
+            this.name = name;
+            this.inner = inner;
+        }
+
+    }
+
+}
@@ -13,14 +13,25 @@
 
 package org.eclipse.milo.opcua.stack.core.serialization.binary;
 
+import org.eclipse.milo.opcua.stack.core.AttributeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DiagnosticInfo;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
 import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.QualifiedName;
+import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
 import org.eclipse.milo.opcua.stack.core.types.builtin.XmlElement;
+import org.eclipse.milo.opcua.stack.core.types.structured.DataChangeNotification;
+import org.eclipse.milo.opcua.stack.core.types.structured.MonitoredItemNotification;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class ExtensionObjectSerializationTest extends BinarySerializationFixture {
 
@@ -40,4 +51,88 @@ public class ExtensionObjectSerializationTest extends BinarySerializationFixture
         assertEquals(decoded, xo);
     }
 
+    @Test(description = "A deferred ExtensionObject is encoded the same as one encoded up front.")
+    public void testDeferredExtensionObject() throws Exception {
+        ReadValueId readValueId = new ReadValueId(
+            new NodeId(2, "foo"), AttributeId.Value.uid(), "1:2", QualifiedName.NULL_VALUE);
+
+        ExtensionObject deferred = ExtensionObject.encodeDeferred(readValueId);
+        assertTrue(deferred.isDeferred());
+
+        encoder.encodeExtensionObject(null, deferred);
+        byte[] deferredBytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(deferredBytes);
+
+        // Writing it to a message doesn't keep the encoded body around.
+        assertTrue(deferred.isDeferred());
+
+        buffer.clear();
+        encoder.encodeExtensionObject(null, ExtensionObject.encode(readValueId));
+        byte[] eagerBytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(eagerBytes);
+
+        assertEquals(deferredBytes, eagerBytes);
+
+        buffer.readerIndex(0);
+        ExtensionObject decoded = decoder.decodeExtensionObject(null);
+
+        assertEquals(decoded, deferred);
+        assertEquals(((ReadValueId) decoded.decode()).getIndexRange(), "1:2");
+    }
+
+    @Test(description = "Notifications are decoded with the message that contains them.")
+    public void testNotificationDecodedDirectly() throws Exception {
+        MonitoredItemNotification notification =
+            new MonitoredItemNotification(uint(42), new DataValue(new Variant(3.14)));
+        DataChangeNotification dataChange = new DataChangeNotification(
+            new MonitoredItemNotification[]{notification}, new DiagnosticInfo[0]);
+
+        ExtensionObject xo = ExtensionObject.encode(dataChange);
+
+        encoder.encodeExtensionObject(null, xo);
+        encoder.encodeInt32(null, 7);
+
+        ExtensionObject decoded = decoder.decodeExtensionObject(null);
+
+        assertTrue(decoded.isDeferred());
+        assertEquals(decoder.decodeInt32(null), Integer.valueOf(7));
+
+        DataChangeNotification decodedDataChange = decoded.decode();
+        assertEquals(decodedDataChange.getMonitoredItems()[0].getClientHandle(), uint(42));
+        assertEquals(decodedDataChange.getMonitoredItems()[0].getValue().getValue(), new Variant(3.14));
+        assertEquals(decoded, xo);
+    }
+
+    @Test(description = "A notification body that can't be decoded is kept to be decoded on demand.")
+    public void testMalformedNotificationKept() throws Exception {
+        ExtensionObject xo = new ExtensionObject(
+            ByteString.of(new byte[]{1, 2, 3}), DataChangeNotification.BinaryEncodingId);
+
+        encoder.encodeExtensionObject(null, xo);
+        encoder.encodeInt32(null, 7);
+
+        ExtensionObject decoded = decoder.decodeExtensionObject(null);
+
+        assertFalse(decoded.isDeferred());
+        assertEquals(decoded, xo);
+        assertEquals(decoder.decodeInt32(null), Integer.valueOf(7));
+    }
+
+    @Test(description = "A notification body whose decoding fails with any runtime exception is kept too.")
+    public void testNotificationFailingWithRuntimeExceptionKept() throws Exception {
+        // A MonitoredItems array length of -2 makes the delegate allocate an array of negative size.
+        ExtensionObject xo = new ExtensionObject(
+            ByteString.of(new byte[]{(byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF}),
+            DataChangeNotification.BinaryEncodingId);
+
+        encoder.encodeExtensionObject(null, xo);
+        encoder.encodeInt32(null, 7);
+
+        ExtensionObject decoded = decoder.decodeExtensionObject(null);
+
+        assertFalse(decoded.isDeferred());
+        assertEquals(decoded, xo);
+        assertEquals(decoder.decodeInt32(null), Integer.valueOf(7));
+    }
+
 }
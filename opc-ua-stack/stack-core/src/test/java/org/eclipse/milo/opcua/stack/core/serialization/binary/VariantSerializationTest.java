@@ -14,10 +14,15 @@
 package org.eclipse.milo.opcua.stack.core.serialization.binary;
 
 import java.nio.ByteOrder;
+import java.util.Arrays;
 
+import com.google.common.primitives.Doubles;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.eclipse.milo.opcua.stack.core.BuiltinDataType;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaSerializationException;
+import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ExtensionObject;
 import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
@@ -31,6 +36,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 public class VariantSerializationTest extends BinarySerializationFixture {
 
@@ -99,6 +105,58 @@ public class VariantSerializationTest extends BinarySerializationFixture {
         assertEquals(decoded, expected);
     }
 
+    @DataProvider(name = "PrimitiveArrayDecodingProvider")
+    public Object[][] getPrimitiveArrayDecodingVariants() {
+        return new Object[][]{
+            {new Variant(new boolean[]{true, false, true})},
+            {new Variant(new byte[]{0, 1, -1, 127})},
+            {new Variant(new short[]{0, 1, -1, Short.MAX_VALUE})},
+            {new Variant(new int[]{0, 1, -1, Integer.MAX_VALUE})},
+            {new Variant(new long[]{0L, 1L, -1L, Long.MAX_VALUE})},
+            {new Variant(new float[]{0.0f, 1.5f, -1.5f, Float.NaN})},
+            {new Variant(new double[]{0.0, 1.5, -1.5, Double.MAX_VALUE})},
+            {new Variant(new double[][]{{0.0, 1.0}, {2.0, 3.0}, {4.0, 5.0}})},
+            {new Variant(new Double[]{0.0, 1.0, 2.0})}
+        };
+    }
+
+    @Test(dataProvider = "PrimitiveArrayDecodingProvider",
+        description = "Test that primitive arrays round trip as primitive arrays when the decoder is configured for them.")
+    public void testPrimitiveArrayDecodingRoundTrip(Variant variant) {
+        BinaryDecoder decoder = new BinaryDecoder(
+            ChannelConfig.DEFAULT_MAX_ARRAY_LENGTH,
+            ChannelConfig.DEFAULT_MAX_STRING_LENGTH,
+            true
+        ).setBuffer(buffer);
+
+        Object value = variant.getValue();
+        Object expected = value instanceof Double[] ? Doubles.toArray(Arrays.asList((Double[]) value)) : value;
+
+        encoder.encodeVariant(null, variant);
+        Variant decoded = decoder.decodeVariant(null);
+
+        assertEquals(decoded, new Variant(expected));
+        assertEquals(buffer.readableBytes(), 0);
+    }
+
+    @Test(description = "Test that a primitive array longer than the bytes left fails before the array is allocated.")
+    public void testPrimitiveArrayLengthExceedsBuffer() {
+        ByteBuf buffer = Unpooled.buffer().order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.writeByte(BuiltinDataType.Int64.getTypeId() | (1 << 7));
+        buffer.writeInt(Integer.MAX_VALUE / 4);
+        buffer.writeLong(0L);
+
+        BinaryDecoder decoder = new BinaryDecoder(Integer.MAX_VALUE, Integer.MAX_VALUE, true).setBuffer(buffer);
+
+        try {
+            decoder.decodeVariant(null);
+            fail("expected UaSerializationException");
+        } catch (UaSerializationException e) {
+            assertEquals(e.getStatusCode().getValue(), StatusCodes.Bad_DecodingError);
+        }
+    }
+
     @Test(description = "Test that a Variant containing a null array encoded with a negative array size to indicate a null value decodes properly.")
     public void testNullArrayEncodedWithNegativeArraySize() {
         ByteBuf buffer = Unpooled.buffer().order(ByteOrder.LITTLE_ENDIAN);
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ExecutionQueueTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterClass
+    public void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @DataProvider
+    public Object[][] getBatchSizes() {
+        return new Object[][]{{1}, {ExecutionQueue.DEFAULT_MAX_BATCH_SIZE}, {1024}};
+    }
+
+    @Test(dataProvider = "getBatchSizes")
+    public void testSerialExecutionInSubmissionOrder(int maxBatchSize) throws Exception {
+        ExecutionQueue queue = new ExecutionQueue(executor, maxBatchSize);
+
+        int producers = 4;
+        int tasksPerProducer = 10000;
+
+        List<List<Integer>> executed = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            executed.add(new ArrayList<>());
+        }
+
+        AtomicInteger concurrent = new AtomicInteger(0);
+        AtomicInteger maxConcurrent = new AtomicInteger(0);
+        CountDownLatch done = new CountDownLatch(producers * tasksPerProducer);
+
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+
+            executor.execute(() -> {
+                for (int i = 0; i < tasksPerProducer; i++) {
+                    final int task = i;
+
+                    queue.submit(() -> {
+                        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                        executed.get(producer).add(task);
+                        concurrent.decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals(maxConcurrent.get(), 1);
+
+        for (List<Integer> tasks : executed) {
+            assertEquals(tasks.size(), tasksPerProducer);
+
+            for (int i = 0; i < tasksPerProducer; i++) {
+                assertEquals(tasks.get(i).intValue(), i);
+            }
+        }
+    }
+
+    @Test
+    public void testPauseResumeAndSubmitToHead() throws Exception {
+        ExecutionQueue queue = new ExecutionQueue(executor);
+
+        List<Integer> executed = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+
+        queue.pause();
+
+        queue.submit(() -> {
+            executed.add(1);
+            done.countDown();
+        });
+        queue.submit(() -> {
+            executed.add(2);
+            done.countDown();
+        });
+        queue.submitToHead(() -> {
+            executed.add(0);
+            done.countDown();
+        });
+
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+        assertTrue(executed.isEmpty());
+
+        queue.resume();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(executed, Arrays.asList(0, 1, 2));
+    }
+
+}
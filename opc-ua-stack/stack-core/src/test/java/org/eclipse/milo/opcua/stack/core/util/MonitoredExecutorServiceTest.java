@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.core.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class MonitoredExecutorServiceTest {
+
+    @Test
+    public void testQueueBoundAndGauges() throws Exception {
+        MonitoredExecutorService executor =
+            new MonitoredExecutorService("test", Executors.newSingleThreadExecutor(), 2);
+
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(3);
+
+            Runnable blocking = () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            };
+
+            executor.execute(blocking);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            executor.execute(done::countDown);
+            executor.execute(done::countDown);
+
+            assertEquals(executor.getActiveTaskCount(), 1);
+            assertEquals(executor.getQueuedTaskCount(), 2);
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+            assertEquals(executor.getRejectedTaskCount(), 1L);
+
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertEquals(executor.getQueuedTaskCount(), 0);
+            assertEquals(executor.getActiveTaskCount(), 0);
+            assertEquals(executor.getCompletedTaskCount(), 3L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWorkStealingPool() throws Exception {
+        MonitoredExecutorService executor = ExecutorServices.newWorkStealingPool("test-pool", 4, 1000);
+
+        try {
+            CountDownLatch done = new CountDownLatch(100);
+
+            for (int i = 0; i < 100; i++) {
+                executor.execute(done::countDown);
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadPerTaskExecutor() throws Exception {
+        MonitoredExecutorService executor = ExecutorServices.newVirtualThreadPerTaskExecutor("test-virtual", 1000);
+
+        try {
+            assertEquals(executor.submit(() -> 42).get(5, TimeUnit.SECONDS).intValue(), 42);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
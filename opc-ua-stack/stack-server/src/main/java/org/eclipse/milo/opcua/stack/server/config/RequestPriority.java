@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.config;
+
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
+import org.eclipse.milo.opcua.stack.core.types.structured.ActivateSessionRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.CancelRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.CloseSessionRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.CreateSessionRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.HistoryReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.HistoryUpdateRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.QueryFirstRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.QueryNextRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
+import org.eclipse.milo.opcua.stack.core.types.structured.RepublishRequest;
+
+/**
+ * The priority classes service requests are queued in before being dispatched.
+ * <p>
+ * Requests are taken from each class in proportion to its weight, so higher priority requests are dispatched ahead
+ * of lower priority ones without starving them.
+ */
+public enum RequestPriority {
+
+    HIGH(8),
+    NORMAL(4),
+    LOW(1);
+
+    /**
+     * Reads of more than this many nodes are considered bulk reads by {@link #of(UaRequestMessage)}.
+     */
+    public static final int BULK_READ_THRESHOLD = 100;
+
+    private final int weight;
+
+    RequestPriority(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * @return the number of requests taken from this class for each request taken from a class of weight 1.
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * The default priority of a request:
+     * <ul>
+     * <li>{@link #HIGH}: Publish and Republish, and the session services.</li>
+     * <li>{@link #LOW}: HistoryRead, HistoryUpdate, the query services, and Reads of more than
+     * {@link #BULK_READ_THRESHOLD} nodes.</li>
+     * <li>{@link #NORMAL}: everything else.</li>
+     * </ul>
+     *
+     * @param request the request.
+     * @return the {@link RequestPriority} of {@code request}.
+     */
+    public static RequestPriority of(UaRequestMessage request) {
+        if (request instanceof PublishRequest ||
+            request instanceof RepublishRequest ||
+            request instanceof CreateSessionRequest ||
+            request instanceof ActivateSessionRequest ||
+            request instanceof CloseSessionRequest ||
+            request instanceof CancelRequest) {
+
+            return HIGH;
+        } else if (request instanceof HistoryReadRequest ||
+            request instanceof HistoryUpdateRequest ||
+            request instanceof QueryFirstRequest ||
+            request instanceof QueryNextRequest) {
+
+            return LOW;
+        } else if (request instanceof ReadRequest) {
+            ReadValueId[] nodesToRead = ((ReadRequest) request).getNodesToRead();
+
+            return nodesToRead != null && nodesToRead.length > BULK_READ_THRESHOLD ? LOW : NORMAL;
+        } else {
+            return NORMAL;
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.config;
+
+/**
+ * What the server does with a channel that stays unwritable longer than
+ * {@link UaTcpStackServerConfig#getSlowConsumerTimeout()}.
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * Close the channel. The client must reconnect and re-open its secure channel.
+     */
+    CLOSE,
+
+    /**
+     * Keep the channel open in a degraded state: requests are not read and Publish responses stay deferred until the
+     * client has drained the channel below its low water mark.
+     */
+    DEGRADE
+
+}
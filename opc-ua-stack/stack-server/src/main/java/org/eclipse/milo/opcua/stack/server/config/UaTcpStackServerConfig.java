@@ -16,10 +16,13 @@ package org.eclipse.milo.opcua.stack.server.config;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.milo.opcua.stack.core.application.CertificateManager;
 import org.eclipse.milo.opcua.stack.core.application.CertificateValidator;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.channel.NettyTransport;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.structured.ApplicationDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.SignedSoftwareCertificate;
@@ -75,8 +78,17 @@ public interface UaTcpStackServerConfig {
      */
     CertificateValidator getCertificateValidator();
 
+    /**
+     * @return the {@link ExecutorService} service requests are dispatched and processed on.
+     */
     ExecutorService getExecutor();
 
+    /**
+     * @return the {@link ExecutorService} messages are encoded, decoded, signed and encrypted on. Unless configured
+     * separately, this is the same as {@link #getExecutor()}.
+     */
+    ExecutorService getSerializationExecutor();
+
     /**
      * Get the list of {@link UserTokenPolicy}s supported by the server.
      *
@@ -97,6 +109,92 @@ public interface UaTcpStackServerConfig {
      */
     boolean isStrictEndpointUrlsEnabled();
 
+    /**
+     * If {@code true}, TCP_NODELAY is set on accepted connections.
+     * <p>
+     * Servers bound to the same address share a listening socket; the socket options of the first server to bind are
+     * used for all of them.
+     *
+     * @return {@code true} if TCP_NODELAY is set on accepted connections.
+     */
+    boolean isTcpNoDelayEnabled();
+
+    /**
+     * If {@code true}, TCP_QUICKACK is set on accepted connections. Only supported by {@link NettyTransport#EPOLL};
+     * ignored by other transports.
+     *
+     * @return {@code true} if TCP_QUICKACK is set on accepted connections.
+     */
+    boolean isTcpQuickAckEnabled();
+
+    /**
+     * Get the number of listening sockets bound to each address.
+     * <p>
+     * With {@link NettyTransport#EPOLL}, more than one acceptor binds that many sockets with SO_REUSEPORT, each on its
+     * own event loop, and the kernel spreads incoming connections across them. Other transports always bind a single
+     * socket.
+     *
+     * @return the number of listening sockets bound to each address.
+     */
+    int getAcceptorCount();
+
+    /**
+     * Get the number of bytes queued for writing on a channel below which a channel that was unwritable becomes
+     * writable again.
+     *
+     * @return the low water mark, in bytes, of each channel's outbound buffer.
+     */
+    int getWriteBufferLowWaterMark();
+
+    /**
+     * Get the number of bytes queued for writing on a channel above which the channel becomes unwritable.
+     * <p>
+     * While a channel is unwritable the server stops reading requests from it and defers its Publish responses until
+     * it becomes writable again.
+     *
+     * @return the high water mark, in bytes, of each channel's outbound buffer.
+     */
+    int getWriteBufferHighWaterMark();
+
+    /**
+     * Get the time, in milliseconds, a channel may stay unwritable before the {@link SlowConsumerPolicy} is applied.
+     *
+     * @return the time, in milliseconds, a channel may stay unwritable before it is considered a slow consumer.
+     */
+    long getSlowConsumerTimeout();
+
+    /**
+     * @return the {@link SlowConsumerPolicy} applied to channels that stay unwritable longer than
+     * {@link #getSlowConsumerTimeout()}.
+     */
+    SlowConsumerPolicy getSlowConsumerPolicy();
+
+    /**
+     * Get the maximum number of requests from one session that are handled at the same time. Further requests from
+     * that session are queued until one of them completes. Publish requests don't count towards this limit.
+     *
+     * @return the maximum number of requests from one session that are handled at the same time.
+     */
+    int getMaxConcurrentRequestsPerSession();
+
+    /**
+     * Get the maximum number of requests, across all sessions, that may be queued or being handled at the same time.
+     * Further requests are rejected immediately with Bad_TooManyOperations. Publish requests don't count towards
+     * this limit.
+     *
+     * @return the maximum number of requests queued or being handled at the same time.
+     */
+    int getMaxConcurrentRequests();
+
+    /**
+     * Get the function that assigns each request a {@link RequestPriority}. Requests are dispatched from each
+     * priority in proportion to its weight, and fairly across sessions within a priority.
+     *
+     * @return the function that assigns each request a {@link RequestPriority}.
+     * @see RequestPriority#of(UaRequestMessage)
+     */
+    Function<UaRequestMessage, RequestPriority> getRequestPriorityFunction();
+
     /**
      * @return a new {@link UaTcpStackServerConfigBuilder}.
      */
@@ -122,10 +220,20 @@ public interface UaTcpStackServerConfig {
         builder.setCertificateManager(config.getCertificateManager());
         builder.setCertificateValidator(config.getCertificateValidator());
         builder.setExecutor(config.getExecutor());
+        builder.setSerializationExecutor(config.getSerializationExecutor());
         builder.setUserTokenPolicies(config.getUserTokenPolicies());
         builder.setSoftwareCertificates(config.getSoftwareCertificates());
         builder.setChannelConfig(config.getChannelConfig());
         builder.setStrictEndpointUrlsEnabled(config.isStrictEndpointUrlsEnabled());
+        builder.setTcpNoDelayEnabled(config.isTcpNoDelayEnabled());
+        builder.setTcpQuickAckEnabled(config.isTcpQuickAckEnabled());
+        builder.setAcceptorCount(config.getAcceptorCount());
+        builder.setWriteBufferWaterMarks(config.getWriteBufferLowWaterMark(), config.getWriteBufferHighWaterMark());
+        builder.setSlowConsumerTimeout(config.getSlowConsumerTimeout());
+        builder.setSlowConsumerPolicy(config.getSlowConsumerPolicy());
+        builder.setMaxConcurrentRequestsPerSession(config.getMaxConcurrentRequestsPerSession());
+        builder.setMaxConcurrentRequests(config.getMaxConcurrentRequests());
+        builder.setRequestPriorityFunction(config.getRequestPriorityFunction());
 
         return builder;
     }
@@ -16,12 +16,14 @@ package org.eclipse.milo.opcua.stack.server.config;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 import com.google.common.base.Preconditions;
 import org.eclipse.milo.opcua.stack.core.Stack;
 import org.eclipse.milo.opcua.stack.core.application.CertificateManager;
 import org.eclipse.milo.opcua.stack.core.application.CertificateValidator;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.LocalizedText;
 import org.eclipse.milo.opcua.stack.core.types.structured.SignedSoftwareCertificate;
 import org.eclipse.milo.opcua.stack.core.types.structured.UserTokenPolicy;
@@ -37,10 +39,24 @@ public class UaTcpStackServerConfigBuilder {
     private ChannelConfig channelConfig = ChannelConfig.DEFAULT;
     private boolean strictEndpointUrlsEnabled = true;
 
+    private boolean tcpNoDelayEnabled = true;
+    private boolean tcpQuickAckEnabled = false;
+    private int acceptorCount = 1;
+
+    private int writeBufferLowWaterMark = 32 * 1024;
+    private int writeBufferHighWaterMark = 64 * 1024;
+    private long slowConsumerTimeout = 30_000L;
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DEGRADE;
+
+    private int maxConcurrentRequestsPerSession = 32;
+    private int maxConcurrentRequests = 4096;
+    private Function<UaRequestMessage, RequestPriority> requestPriorityFunction = RequestPriority::of;
+
     private CertificateManager certificateManager;
     private CertificateValidator certificateValidator;
 
     private ExecutorService executor;
+    private ExecutorService serializationExecutor;
     private List<UserTokenPolicy> userTokenPolicies = new ArrayList<>();
     private List<SignedSoftwareCertificate> softwareCertificates = new ArrayList<>();
 
@@ -90,6 +106,11 @@ public class UaTcpStackServerConfigBuilder {
         return this;
     }
 
+    public UaTcpStackServerConfigBuilder setSerializationExecutor(ExecutorService serializationExecutor) {
+        this.serializationExecutor = serializationExecutor;
+        return this;
+    }
+
     public UaTcpStackServerConfigBuilder setChannelConfig(ChannelConfig channelConfig) {
         this.channelConfig = channelConfig;
         return this;
@@ -100,13 +121,73 @@ public class UaTcpStackServerConfigBuilder {
         return this;
     }
 
+    public UaTcpStackServerConfigBuilder setTcpNoDelayEnabled(boolean tcpNoDelayEnabled) {
+        this.tcpNoDelayEnabled = tcpNoDelayEnabled;
+        return this;
+    }
+
+    public UaTcpStackServerConfigBuilder setTcpQuickAckEnabled(boolean tcpQuickAckEnabled) {
+        this.tcpQuickAckEnabled = tcpQuickAckEnabled;
+        return this;
+    }
+
+    public UaTcpStackServerConfigBuilder setAcceptorCount(int acceptorCount) {
+        this.acceptorCount = acceptorCount;
+        return this;
+    }
+
+    public UaTcpStackServerConfigBuilder setWriteBufferWaterMarks(int lowWaterMark, int highWaterMark) {
+        this.writeBufferLowWaterMark = lowWaterMark;
+        this.writeBufferHighWaterMark = highWaterMark;
+        return this;
+    }
+
+    public UaTcpStackServerConfigBuilder setSlowConsumerTimeout(long slowConsumerTimeout) {
+        this.slowConsumerTimeout = slowConsumerTimeout;
+        return this;
+    }
+
+    public UaTcpStackServerConfigBuilder setSlowConsumerPolicy(SlowConsumerPolicy slowConsumerPolicy) {
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        return this;
+    }
+
+    public UaTcpStackServerConfigBuilder setMaxConcurrentRequestsPerSession(int maxConcurrentRequestsPerSession) {
+        this.maxConcurrentRequestsPerSession = maxConcurrentRequestsPerSession;
+        return this;
+    }
+
+    public UaTcpStackServerConfigBuilder setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
+    public UaTcpStackServerConfigBuilder setRequestPriorityFunction(
+        Function<UaRequestMessage, RequestPriority> requestPriorityFunction) {
+
+        this.requestPriorityFunction = requestPriorityFunction;
+        return this;
+    }
+
     public UaTcpStackServerConfig build() {
         Preconditions.checkNotNull(certificateManager, "certificateManager must be non-null");
         Preconditions.checkNotNull(certificateValidator, "certificateValidator must be non-null");
+        Preconditions.checkArgument(acceptorCount > 0, "acceptorCount must be > 0");
+        Preconditions.checkArgument(writeBufferLowWaterMark >= 0, "writeBufferLowWaterMark must be >= 0");
+        Preconditions.checkArgument(writeBufferHighWaterMark >= writeBufferLowWaterMark,
+            "writeBufferHighWaterMark must be >= writeBufferLowWaterMark");
+        Preconditions.checkArgument(slowConsumerTimeout > 0, "slowConsumerTimeout must be > 0");
+        Preconditions.checkNotNull(slowConsumerPolicy, "slowConsumerPolicy must be non-null");
+        Preconditions.checkArgument(maxConcurrentRequestsPerSession > 0, "maxConcurrentRequestsPerSession must be > 0");
+        Preconditions.checkArgument(maxConcurrentRequests > 0, "maxConcurrentRequests must be > 0");
+        Preconditions.checkNotNull(requestPriorityFunction, "requestPriorityFunction must be non-null");
 
         if (executor == null) {
             executor = Stack.sharedExecutor();
         }
+        if (serializationExecutor == null) {
+            serializationExecutor = executor;
+        }
 
         return new UaTcpStackServerConfigImpl(
             serverName,
@@ -115,9 +196,20 @@ public class UaTcpStackServerConfigBuilder {
             productUri,
             channelConfig,
             strictEndpointUrlsEnabled,
+            tcpNoDelayEnabled,
+            tcpQuickAckEnabled,
+            acceptorCount,
+            writeBufferLowWaterMark,
+            writeBufferHighWaterMark,
+            slowConsumerTimeout,
+            slowConsumerPolicy,
+            maxConcurrentRequestsPerSession,
+            maxConcurrentRequests,
+            requestPriorityFunction,
             certificateManager,
             certificateValidator,
             executor,
+            serializationExecutor,
             userTokenPolicies,
             softwareCertificates
         );
@@ -133,10 +225,24 @@ public class UaTcpStackServerConfigBuilder {
         private final ChannelConfig channelConfig;
         private final boolean strictEndpointUrlsEnabled;
 
+        private final boolean tcpNoDelayEnabled;
+        private final boolean tcpQuickAckEnabled;
+        private final int acceptorCount;
+
+        private final int writeBufferLowWaterMark;
+        private final int writeBufferHighWaterMark;
+        private final long slowConsumerTimeout;
+        private final SlowConsumerPolicy slowConsumerPolicy;
+
+        private final int maxConcurrentRequestsPerSession;
+        private final int maxConcurrentRequests;
+        private final Function<UaRequestMessage, RequestPriority> requestPriorityFunction;
+
         private final CertificateManager certificateManager;
         private final CertificateValidator certificateValidator;
 
         private final ExecutorService executor;
+        private final ExecutorService serializationExecutor;
         private final List<UserTokenPolicy> userTokenPolicies;
         private final List<SignedSoftwareCertificate> softwareCertificates;
 
@@ -146,9 +252,20 @@ public class UaTcpStackServerConfigBuilder {
                                           String productUri,
                                           ChannelConfig channelConfig,
                                           boolean strictEndpointUrlsEnabled,
+                                          boolean tcpNoDelayEnabled,
+                                          boolean tcpQuickAckEnabled,
+                                          int acceptorCount,
+                                          int writeBufferLowWaterMark,
+                                          int writeBufferHighWaterMark,
+                                          long slowConsumerTimeout,
+                                          SlowConsumerPolicy slowConsumerPolicy,
+                                          int maxConcurrentRequestsPerSession,
+                                          int maxConcurrentRequests,
+                                          Function<UaRequestMessage, RequestPriority> requestPriorityFunction,
                                           CertificateManager certificateManager,
                                           CertificateValidator certificateValidator,
                                           ExecutorService executor,
+                                          ExecutorService serializationExecutor,
                                           List<UserTokenPolicy> userTokenPolicies,
                                           List<SignedSoftwareCertificate> softwareCertificates) {
 
@@ -158,9 +275,20 @@ public class UaTcpStackServerConfigBuilder {
             this.productUri = productUri;
             this.channelConfig = channelConfig;
             this.strictEndpointUrlsEnabled = strictEndpointUrlsEnabled;
+            this.tcpNoDelayEnabled = tcpNoDelayEnabled;
+            this.tcpQuickAckEnabled = tcpQuickAckEnabled;
+            this.acceptorCount = acceptorCount;
+            this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+            this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+            this.slowConsumerTimeout = slowConsumerTimeout;
+            this.slowConsumerPolicy = slowConsumerPolicy;
+            this.maxConcurrentRequestsPerSession = maxConcurrentRequestsPerSession;
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            this.requestPriorityFunction = requestPriorityFunction;
             this.certificateManager = certificateManager;
             this.certificateValidator = certificateValidator;
             this.executor = executor;
+            this.serializationExecutor = serializationExecutor;
             this.userTokenPolicies = userTokenPolicies;
             this.softwareCertificates = softwareCertificates;
         }
@@ -195,6 +323,56 @@ public class UaTcpStackServerConfigBuilder {
             return strictEndpointUrlsEnabled;
         }
 
+        @Override
+        public boolean isTcpNoDelayEnabled() {
+            return tcpNoDelayEnabled;
+        }
+
+        @Override
+        public boolean isTcpQuickAckEnabled() {
+            return tcpQuickAckEnabled;
+        }
+
+        @Override
+        public int getAcceptorCount() {
+            return acceptorCount;
+        }
+
+        @Override
+        public int getWriteBufferLowWaterMark() {
+            return writeBufferLowWaterMark;
+        }
+
+        @Override
+        public int getWriteBufferHighWaterMark() {
+            return writeBufferHighWaterMark;
+        }
+
+        @Override
+        public long getSlowConsumerTimeout() {
+            return slowConsumerTimeout;
+        }
+
+        @Override
+        public SlowConsumerPolicy getSlowConsumerPolicy() {
+            return slowConsumerPolicy;
+        }
+
+        @Override
+        public int getMaxConcurrentRequestsPerSession() {
+            return maxConcurrentRequestsPerSession;
+        }
+
+        @Override
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        @Override
+        public Function<UaRequestMessage, RequestPriority> getRequestPriorityFunction() {
+            return requestPriorityFunction;
+        }
+
         @Override
         public CertificateManager getCertificateManager() {
             return certificateManager;
@@ -210,6 +388,11 @@ public class UaTcpStackServerConfigBuilder {
             return executor;
         }
 
+        @Override
+        public ExecutorService getSerializationExecutor() {
+            return serializationExecutor;
+        }
+
         @Override
         public List<UserTokenPolicy> getUserTokenPolicies() {
             return userTokenPolicies;
@@ -51,7 +51,7 @@ import org.eclipse.milo.opcua.stack.core.types.structured.EndpointDescription;
 import org.eclipse.milo.opcua.stack.core.types.structured.OpenSecureChannelRequest;
 import org.eclipse.milo.opcua.stack.core.types.structured.OpenSecureChannelResponse;
 import org.eclipse.milo.opcua.stack.core.types.structured.ResponseHeader;
-import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
+import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfig;
 import org.eclipse.milo.opcua.stack.server.tcp.UaTcpStackServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -383,20 +383,24 @@ public class UaTcpServerAsymmetricHandler extends ByteToMessageDecoder implement
         OpenSecureChannelResponse response) {
 
         serializationQueue.encode((binaryEncoder, chunkEncoder) -> {
-            ByteBuf messageBuffer = BufferUtil.buffer();
-
             try {
-                binaryEncoder.setBuffer(messageBuffer);
-                binaryEncoder.encodeMessage(null, response);
-
                 List<ByteBuf> chunks = chunkEncoder.encodeAsymmetric(
                     secureChannel,
                     MessageType.OpenSecureChannel,
-                    messageBuffer,
+                    messageBuffer -> binaryEncoder.setBuffer(messageBuffer).encodeMessage(null, response),
                     requestId
                 );
 
                 if (!symmetricHandlerAdded) {
+                    UaTcpStackServerConfig config = server.getConfig();
+
+                    ctx.pipeline().addFirst(new UaTcpServerBackpressureHandler(
+                        config.getWriteBufferLowWaterMark(),
+                        config.getWriteBufferHighWaterMark(),
+                        config.getSlowConsumerTimeout(),
+                        config.getSlowConsumerPolicy(),
+                        server.getSlowConsumerCounters()
+                    ));
                     ctx.pipeline().addFirst(new UaTcpServerSymmetricHandler(server, serializationQueue, secureChannel));
                     symmetricHandlerAdded = true;
                 }
@@ -411,8 +415,6 @@ public class UaTcpServerAsymmetricHandler extends ByteToMessageDecoder implement
             } catch (UaException e) {
                 logger.error("Error encoding OpenSecureChannelResponse: {}", e.getMessage(), e);
                 ctx.close();
-            } finally {
-                messageBuffer.release();
             }
         });
     }
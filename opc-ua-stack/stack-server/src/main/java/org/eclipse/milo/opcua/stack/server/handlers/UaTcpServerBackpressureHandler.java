@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.handlers;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import org.eclipse.milo.opcua.stack.core.application.services.ServiceResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishResponse;
+import org.eclipse.milo.opcua.stack.server.config.SlowConsumerPolicy;
+import org.eclipse.milo.opcua.stack.server.tcp.SlowConsumerCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies backpressure to a client that isn't reading its responses fast enough.
+ * <p>
+ * When the channel's outbound buffer grows past its high water mark the channel becomes unwritable: this handler
+ * stops reading requests from it and holds back Publish responses, which the client would otherwise keep asking for,
+ * until the buffer drains below the low water mark. If the channel is still unwritable after the slow consumer
+ * timeout the {@link SlowConsumerPolicy} is applied.
+ * <p>
+ * Must be placed between the tail of the pipeline and {@link UaTcpServerSymmetricHandler} so it sees
+ * {@link ServiceResponse}s before they are encoded.
+ */
+public class UaTcpServerBackpressureHandler extends ChannelDuplexHandler {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Queue<DeferredWrite> deferredPublishResponses = new ArrayDeque<>();
+
+    private ScheduledFuture<?> slowConsumerFuture;
+
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
+    private final long slowConsumerTimeout;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final SlowConsumerCounters counters;
+
+    public UaTcpServerBackpressureHandler(int writeBufferLowWaterMark,
+                                          int writeBufferHighWaterMark,
+                                          long slowConsumerTimeout,
+                                          SlowConsumerPolicy slowConsumerPolicy,
+                                          SlowConsumerCounters counters) {
+
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+        this.slowConsumerTimeout = slowConsumerTimeout;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.counters = counters;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        ChannelConfig config = ctx.channel().config();
+
+        // Each setter rejects a value on the wrong side of the other water mark, so set them in an order that
+        // never leaves low > high in between.
+        if (writeBufferHighWaterMark >= config.getWriteBufferHighWaterMark()) {
+            config.setWriteBufferHighWaterMark(writeBufferHighWaterMark);
+            config.setWriteBufferLowWaterMark(writeBufferLowWaterMark);
+        } else {
+            config.setWriteBufferLowWaterMark(writeBufferLowWaterMark);
+            config.setWriteBufferHighWaterMark(writeBufferHighWaterMark);
+        }
+
+        super.handlerAdded(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            onWritable(ctx);
+        } else {
+            onUnwritable(ctx);
+        }
+
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        cancelSlowConsumerTimeout();
+
+        if (!deferredPublishResponses.isEmpty()) {
+            logger.debug("[remote={}] Channel inactive; dropping {} deferred Publish response(s).",
+                ctx.channel().remoteAddress(), deferredPublishResponses.size());
+
+            DeferredWrite deferred;
+            while ((deferred = deferredPublishResponses.poll()) != null) {
+                ReferenceCountUtil.release(deferred.msg);
+                deferred.promise.tryFailure(new ClosedChannelException());
+            }
+        }
+
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!ctx.channel().isWritable() && isPublishResponse(msg)) {
+            deferredPublishResponses.add(new DeferredWrite(msg, promise));
+            counters.publishResponseDeferred();
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    private void onUnwritable(ChannelHandlerContext ctx) {
+        counters.channelUnwritable();
+
+        ctx.channel().config().setAutoRead(false);
+
+        logger.debug("[remote={}] Channel unwritable; reads suspended.", ctx.channel().remoteAddress());
+
+        if (slowConsumerFuture == null) {
+            slowConsumerFuture = ctx.executor().schedule(
+                () -> onSlowConsumer(ctx),
+                slowConsumerTimeout,
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    private void onWritable(ChannelHandlerContext ctx) {
+        cancelSlowConsumerTimeout();
+
+        ctx.channel().config().setAutoRead(true);
+
+        logger.debug("[remote={}] Channel writable; reads resumed, writing {} deferred Publish response(s).",
+            ctx.channel().remoteAddress(), deferredPublishResponses.size());
+
+        if (!deferredPublishResponses.isEmpty()) {
+            DeferredWrite deferred;
+            while ((deferred = deferredPublishResponses.poll()) != null) {
+                ctx.write(deferred.msg, deferred.promise);
+            }
+            ctx.flush();
+        }
+    }
+
+    private void onSlowConsumer(ChannelHandlerContext ctx) {
+        slowConsumerFuture = null;
+
+        if (ctx.channel().isWritable()) return;
+
+        if (slowConsumerPolicy == SlowConsumerPolicy.CLOSE) {
+            counters.slowConsumerClosed();
+
+            logger.warn("[remote={}] Channel unwritable for {}ms; closing.",
+                ctx.channel().remoteAddress(), slowConsumerTimeout);
+
+            ctx.close();
+        } else {
+            counters.slowConsumerDegraded();
+
+            logger.warn("[remote={}] Channel unwritable for {}ms; reads stay suspended until it drains.",
+                ctx.channel().remoteAddress(), slowConsumerTimeout);
+        }
+    }
+
+    private void cancelSlowConsumerTimeout() {
+        if (slowConsumerFuture != null) {
+            slowConsumerFuture.cancel(false);
+            slowConsumerFuture = null;
+        }
+    }
+
+    private static boolean isPublishResponse(Object msg) {
+        return msg instanceof ServiceResponse &&
+            ((ServiceResponse) msg).getResponse() instanceof PublishResponse;
+    }
+
+    private static final class DeferredWrite {
+
+        private final Object msg;
+        private final ChannelPromise promise;
+
+        private DeferredWrite(Object msg, ChannelPromise promise) {
+            this.msg = msg;
+            this.promise = promise;
+        }
+
+    }
+
+}
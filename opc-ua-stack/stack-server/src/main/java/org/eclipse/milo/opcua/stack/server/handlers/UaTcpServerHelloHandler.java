@@ -124,14 +124,10 @@ public class UaTcpServerHelloHandler extends ByteToMessageDecoder implements Hea
             Ints.saturatedCast(remoteMaxChunkCount)
         );
 
-        int maxArrayLength = config.getMaxArrayLength();
-        int maxStringLength = config.getMaxStringLength();
-
         SerializationQueue serializationQueue = new SerializationQueue(
-            server.getConfig().getExecutor(),
+            server.getConfig().getSerializationExecutor(),
             parameters,
-            maxArrayLength,
-            maxStringLength
+            config
         );
 
         ctx.pipeline().addLast(new UaTcpServerAsymmetricHandler(server, serializationQueue));
@@ -15,7 +15,6 @@ package org.eclipse.milo.opcua.stack.server.handlers;
 
 import java.io.IOException;
 import java.nio.ByteOrder;
-import java.util.ArrayList;
 import java.util.List;
 
 import io.netty.buffer.ByteBuf;
@@ -27,15 +26,17 @@ import org.eclipse.milo.opcua.stack.core.application.services.ServiceRequest;
 import org.eclipse.milo.opcua.stack.core.application.services.ServiceResponse;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelSecurity;
 import org.eclipse.milo.opcua.stack.core.channel.ExceptionHandler;
+import org.eclipse.milo.opcua.stack.core.channel.MessageAbortedException;
 import org.eclipse.milo.opcua.stack.core.channel.SerializationQueue;
 import org.eclipse.milo.opcua.stack.core.channel.ServerSecureChannel;
+import org.eclipse.milo.opcua.stack.core.channel.WriteCoalescer;
 import org.eclipse.milo.opcua.stack.core.channel.headers.HeaderDecoder;
 import org.eclipse.milo.opcua.stack.core.channel.headers.SymmetricSecurityHeader;
 import org.eclipse.milo.opcua.stack.core.channel.messages.ErrorMessage;
 import org.eclipse.milo.opcua.stack.core.channel.messages.MessageType;
 import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
-import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
 import org.eclipse.milo.opcua.stack.server.tcp.UaTcpStackServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,7 +45,7 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private List<ByteBuf> chunkBuffers;
+    private int chunkCount = 0;
 
     private final int maxChunkCount;
     private final int maxChunkSize;
@@ -53,6 +54,8 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
     private final SerializationQueue serializationQueue;
     private final ServerSecureChannel secureChannel;
 
+    private WriteCoalescer writeCoalescer;
+
     public UaTcpServerSymmetricHandler(UaTcpStackServer server,
                                        SerializationQueue serializationQueue,
                                        ServerSecureChannel secureChannel) {
@@ -63,8 +66,6 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
 
         maxChunkCount = serializationQueue.getParameters().getLocalMaxChunkCount();
         maxChunkSize = serializationQueue.getParameters().getLocalReceiveBufferSize();
-
-        chunkBuffers = new ArrayList<>(maxChunkCount);
     }
 
     @Override
@@ -73,6 +74,8 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
             secureChannel.attr(UaTcpStackServer.BoundChannelKey).set(ctx.channel());
         }
 
+        writeCoalescer = new WriteCoalescer(ctx, serializationQueue.getChannelConfig().getMaxFlushDelayMicros());
+
         super.channelActive(ctx);
     }
 
@@ -82,34 +85,26 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
             secureChannel.attr(UaTcpStackServer.BoundChannelKey).remove();
         }
 
+        serializationQueue.decode((binaryDecoder, chunkDecoder) -> chunkDecoder.discardPartialMessage());
+
         super.channelInactive(ctx);
     }
 
     @Override
     protected void encode(ChannelHandlerContext ctx, ServiceResponse message, ByteBuf out) throws Exception {
         serializationQueue.encode((binaryEncoder, chunkEncoder) -> {
-            ByteBuf messageBuffer = BufferUtil.buffer();
-
             try {
-                binaryEncoder.setBuffer(messageBuffer);
-                binaryEncoder.encodeMessage(null, message.getResponse());
-
                 final List<ByteBuf> chunks = chunkEncoder.encodeSymmetric(
                     secureChannel,
                     MessageType.SecureMessage,
-                    messageBuffer,
+                    messageBuffer -> binaryEncoder.setBuffer(messageBuffer).encodeMessage(null, message.getResponse()),
                     message.getRequestId()
                 );
 
-                ctx.executor().execute(() -> {
-                    chunks.forEach(c -> ctx.write(c, ctx.voidPromise()));
-                    ctx.flush();
-                });
+                writeCoalescer.write(chunks);
             } catch (UaException e) {
                 logger.error("Error encoding {}: {}", message.getResponse().getClass(), e.getMessage(), e);
                 ctx.close();
-            } finally {
-                messageBuffer.release();
             }
         });
     }
@@ -140,97 +135,128 @@ public class UaTcpServerSymmetricHandler extends ByteToMessageCodec<ServiceRespo
 
         char chunkType = (char) buffer.readByte();
 
-        if (chunkType == 'A') {
-            chunkBuffers.forEach(ByteBuf::release);
-            chunkBuffers.clear();
-        } else {
-            buffer.skipBytes(4); // Skip messageSize
+        buffer.skipBytes(4); // Skip messageSize
 
+        if (chunkType != 'A') {
             long secureChannelId = buffer.readUnsignedInt();
             if (secureChannelId != secureChannel.getChannelId()) {
                 throw new UaException(StatusCodes.Bad_SecureChannelIdInvalid,
                     "invalid secure channel id: " + secureChannelId);
             }
+        }
 
-            int chunkSize = buffer.readerIndex(0).readableBytes();
-            if (chunkSize > maxChunkSize) {
-                throw new UaException(StatusCodes.Bad_TcpMessageTooLarge,
-                    String.format("max chunk size exceeded (%s)", maxChunkSize));
-            }
-
-            chunkBuffers.add(buffer.retain());
+        int chunkSize = buffer.readerIndex(0).readableBytes();
+        if (chunkSize > maxChunkSize) {
+            throw new UaException(StatusCodes.Bad_TcpMessageTooLarge,
+                String.format("max chunk size exceeded (%s)", maxChunkSize));
+        }
 
-            if (chunkBuffers.size() > maxChunkCount) {
-                throw new UaException(StatusCodes.Bad_TcpMessageTooLarge,
-                    String.format("max chunk count exceeded (%s)", maxChunkCount));
-            }
+        if (++chunkCount > maxChunkCount) {
+            throw new UaException(StatusCodes.Bad_TcpMessageTooLarge,
+                String.format("max chunk count exceeded (%s)", maxChunkCount));
+        }
 
-            if (chunkType == 'F') {
-                final List<ByteBuf> buffersToDecode = chunkBuffers;
-                chunkBuffers = new ArrayList<>(maxChunkCount);
+        if (chunkType == 'A' || chunkType == 'F') {
+            chunkCount = 0;
+        }
 
-                serializationQueue.decode((binaryDecoder, chunkDecoder) -> {
-                    try {
-                        validateChunkHeaders(buffersToDecode);
+        final ByteBuf chunkBuffer = buffer.retain();
 
-                        ByteBuf messageBuffer = chunkDecoder.decodeSymmetric(secureChannel, buffersToDecode);
+        // Taken before the chunk waits on the decoding queue, so a request's timeoutHint counts the time it spends
+        // queued behind other chunks and bodies; the final chunk's is the request's.
+        final long receivedNanos = System.nanoTime();
 
-                        binaryDecoder.setBuffer(messageBuffer);
-                        UaRequestMessage request = binaryDecoder.decodeMessage(null);
+        // Each chunk is verified and decrypted as soon as it arrives rather than once the final chunk is received.
+        serializationQueue.decode((binaryDecoder, chunkDecoder) -> {
+            try {
+                validateChunkHeader(chunkBuffer);
 
-                        ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest = new ServiceRequest<>(
-                            request,
-                            chunkDecoder.getLastRequestId(),
-                            server,
-                            secureChannel
-                        );
+                ByteBuf messageBuffer = chunkDecoder.decodeSymmetricChunk(secureChannel, chunkBuffer);
 
-                        server.getExecutorService().execute(() -> server.receiveRequest(serviceRequest));
+                if (messageBuffer != null) {
+                    long requestId = chunkDecoder.getLastRequestId();
 
-                        messageBuffer.release();
-                        buffersToDecode.clear();
-                    } catch (UaException e) {
-                        logger.error("Error decoding symmetric message: {}", e.getMessage(), e);
-                        ctx.close();
-                    }
-                });
+                    serializationQueue.decodeBody(
+                        decoder -> decodeRequest(ctx, decoder, requestId, receivedNanos, messageBuffer),
+                        reason -> {
+                            logger.debug("Request discarded; requestId={}, reason={}", requestId, reason.getMessage());
+                            messageBuffer.release();
+                        });
+                }
+            } catch (MessageAbortedException e) {
+                logger.debug("Received message abort chunk; error={}, reason={}",
+                    e.getStatusCode(), e.getMessage());
+            } catch (UaException e) {
+                logger.error("Error decoding symmetric message: {}", e.getMessage(), e);
+                ctx.close();
             }
-        }
+        });
     }
 
+    /**
+     * Decode the body of a complete request and submit it to the server's request scheduler.
+     * <p>
+     * Runs on the decoding queue, or concurrently with other requests if the channel decodes message bodies in
+     * parallel; each response carries the request id of the request it answers, so requests may be submitted in
+     * any order.
+     */
+    private void decodeRequest(ChannelHandlerContext ctx,
+                               BinaryDecoder decoder,
+                               long requestId,
+                               long receivedNanos,
+                               ByteBuf messageBuffer) {
+
+        try {
+            decoder.setBuffer(messageBuffer);
+            UaRequestMessage request = decoder.decodeMessage(null);
+
+            ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest = new ServiceRequest<>(
+                request,
+                requestId,
+                server,
+                secureChannel,
+                receivedNanos
+            );
+
+            server.getRequestScheduler().submit(serviceRequest);
+        } catch (Throwable t) {
+            logger.error("Error decoding symmetric message: {}", t.getMessage(), t);
+            serializationQueue.pause();
+            ctx.close();
+        } finally {
+            messageBuffer.release();
+        }
+    }
 
-    private void validateChunkHeaders(List<ByteBuf> chunkBuffers) throws UaException {
+    private void validateChunkHeader(ByteBuf chunkBuffer) throws UaException {
         ChannelSecurity channelSecurity = secureChannel.getChannelSecurity();
         long currentTokenId = channelSecurity.getCurrentToken().getTokenId().longValue();
         long previousTokenId = channelSecurity.getPreviousToken()
             .map(t -> t.getTokenId().longValue())
             .orElse(-1L);
 
-        for (ByteBuf chunkBuffer : chunkBuffers) {
-            chunkBuffer.skipBytes(3 + 1 + 4 + 4); // skip messageType, chunkType, messageSize, secureChannelId
+        chunkBuffer.skipBytes(3 + 1 + 4 + 4); // skip messageType, chunkType, messageSize, secureChannelId
 
-            SymmetricSecurityHeader securityHeader = SymmetricSecurityHeader.decode(chunkBuffer);
+        SymmetricSecurityHeader securityHeader = SymmetricSecurityHeader.decode(chunkBuffer);
 
-            if (securityHeader.getTokenId() != currentTokenId) {
-                if (securityHeader.getTokenId() != previousTokenId) {
-                    String message = String.format(
-                        "received unknown secure channel token. " +
-                            "tokenId=%s, currentTokenId=%s, previousTokenId=%s",
-                        securityHeader.getTokenId(), currentTokenId, previousTokenId);
+        if (securityHeader.getTokenId() != currentTokenId) {
+            if (securityHeader.getTokenId() != previousTokenId) {
+                chunkBuffer.release();
 
-                    throw new UaException(StatusCodes.Bad_SecureChannelTokenUnknown, message);
-                }
-            }
+                String message = String.format(
+                    "received unknown secure channel token. " +
+                        "tokenId=%s, currentTokenId=%s, previousTokenId=%s",
+                    securityHeader.getTokenId(), currentTokenId, previousTokenId);
 
-            chunkBuffer.readerIndex(0);
+                throw new UaException(StatusCodes.Bad_SecureChannelTokenUnknown, message);
+            }
         }
+
+        chunkBuffer.readerIndex(0);
     }
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-        chunkBuffers.forEach(ByteBuf::release);
-        chunkBuffers.clear();
-
         if (cause instanceof IOException) {
             ctx.close();
             logger.debug("[remote={}] IOException caught; channel closed");
@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.tcp;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.application.services.ServiceRequest;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
+import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.eclipse.milo.opcua.stack.server.config.RequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues service requests per session and per {@link RequestPriority} and dispatches them to an executor using
+ * weighted fair queueing.
+ * <p>
+ * Priority classes are served in proportion to their weights, and within a class the sessions with queued requests
+ * take turns, so one client sending a flood of requests can't starve the others. Requests without a session (e.g.
+ * CreateSession, GetEndpoints) are queued per secure channel.
+ * <p>
+ * At most {@code maxConcurrentRequestsPerSession} requests from the same session are dispatched and awaiting a
+ * response at any time; further requests from that session wait in its queue. Publish requests are exempt from this
+ * limit because they are held by the server until there is something to publish.
+ * <p>
+ * Requests are shed rather than handled when the server can't keep up:
+ * <ul>
+ * <li>a request whose timeoutHint expired while it was queued is answered with {@code Bad_Timeout} without being
+ * handled; the client has already given up on it.</li>
+ * <li>once {@code maxConcurrentRequests} requests are queued or being handled across all sessions, new requests are
+ * rejected immediately with {@code Bad_TooManyOperations}.</li>
+ * <li>if the executor rejects a dispatch, the next request is rejected with {@code Bad_ResourceUnavailable}.</li>
+ * </ul>
+ */
+public class ServiceRequestScheduler {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<Object, Flow> flows = new HashMap<>();
+
+    private int pending = 0;
+
+    private final EnumMap<RequestPriority, ArrayDeque<Flow>> activeFlows = new EnumMap<>(RequestPriority.class);
+    private final EnumMap<RequestPriority, Integer> credits = new EnumMap<>(RequestPriority.class);
+    private final EnumMap<RequestPriority, QueueStats> stats = new EnumMap<>(RequestPriority.class);
+
+    private final ExecutorService executor;
+    private final int maxConcurrentRequestsPerSession;
+    private final int maxConcurrentRequests;
+    private final Function<UaRequestMessage, RequestPriority> priorityFunction;
+    private final Consumer<ServiceRequest<UaRequestMessage, UaResponseMessage>> handler;
+
+    /**
+     * @param executor                        the {@link ExecutorService} requests are handled on.
+     * @param maxConcurrentRequestsPerSession the maximum number of requests from one session handled at once.
+     * @param maxConcurrentRequests           the maximum number of requests queued or being handled at once.
+     * @param priorityFunction                maps a request to its {@link RequestPriority}.
+     * @param handler                         handles a dispatched request.
+     */
+    public ServiceRequestScheduler(ExecutorService executor,
+                                   int maxConcurrentRequestsPerSession,
+                                   int maxConcurrentRequests,
+                                   Function<UaRequestMessage, RequestPriority> priorityFunction,
+                                   Consumer<ServiceRequest<UaRequestMessage, UaResponseMessage>> handler) {
+
+        Preconditions.checkArgument(maxConcurrentRequestsPerSession > 0,
+            "maxConcurrentRequestsPerSession must be > 0");
+        Preconditions.checkArgument(maxConcurrentRequests > 0,
+            "maxConcurrentRequests must be > 0");
+
+        this.executor = executor;
+        this.maxConcurrentRequestsPerSession = maxConcurrentRequestsPerSession;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.priorityFunction = priorityFunction;
+        this.handler = handler;
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            activeFlows.put(priority, new ArrayDeque<>());
+            credits.put(priority, priority.getWeight());
+            stats.put(priority, new QueueStats());
+        }
+    }
+
+    /**
+     * Queue {@code serviceRequest} to be handled once its turn comes.
+     *
+     * @param serviceRequest the request to queue.
+     */
+    public void submit(ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest) {
+        RequestPriority priority = priorityFunction.apply(serviceRequest.getRequest());
+        Entry entry = new Entry(serviceRequest, priority, flowKey(serviceRequest));
+
+        Boolean dispatch = enqueue(entry);
+
+        if (dispatch == null) {
+            stats.get(priority).rejected.increment();
+
+            logger.debug("{} requests pending; {} rejected.", maxConcurrentRequests, serviceRequest);
+
+            serviceRequest.setServiceFault(StatusCodes.Bad_TooManyOperations);
+        } else if (dispatch) {
+            scheduleDispatch();
+        }
+    }
+
+    /**
+     * @param priority a {@link RequestPriority}.
+     * @return the {@link QueueStats} for requests of {@code priority}.
+     */
+    public QueueStats getQueueStats(RequestPriority priority) {
+        return stats.get(priority);
+    }
+
+    /**
+     * @return the number of requests, not counting Publish requests, queued or being handled.
+     */
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * @return the number of sessions and secure channels with requests queued or being handled.
+     */
+    public synchronized int getFlowCount() {
+        return flows.size();
+    }
+
+    /**
+     * @return {@code null} if the request was rejected, otherwise whether a dispatch should be scheduled for it.
+     */
+    private synchronized Boolean enqueue(Entry entry) {
+        if (!entry.exempt) {
+            if (pending >= maxConcurrentRequests) {
+                return null;
+            }
+            pending++;
+        }
+
+        Flow flow = flows.computeIfAbsent(entry.flowKey, k -> new Flow());
+
+        flow.add(entry);
+
+        if (flow.active.add(entry.priority)) {
+            activeFlows.get(entry.priority).add(flow);
+        }
+
+        stats.get(entry.priority).queued.incrementAndGet();
+
+        return entry.exempt || flow.inFlight < maxConcurrentRequestsPerSession;
+    }
+
+    /**
+     * Schedule a task that dispatches whichever request is next when it runs.
+     * <p>
+     * One task is scheduled for each request that can be dispatched, but the task doesn't choose its request until
+     * it runs; the executor's own queue is only used to count how many requests may be dispatched.
+     */
+    private void scheduleDispatch() {
+        try {
+            executor.execute(this::dispatchNext);
+        } catch (RejectedExecutionException e) {
+            Entry entry = poll(false);
+
+            if (entry != null) {
+                stats.get(entry.priority).rejected.increment();
+
+                logger.debug("Executor rejected dispatch; {} rejected: {}", entry.serviceRequest, e.getMessage());
+
+                entry.serviceRequest.setServiceFault(StatusCodes.Bad_ResourceUnavailable);
+            }
+        }
+    }
+
+    private void dispatchNext() {
+        Entry entry = poll(true);
+
+        if (entry == null) return;
+
+        if (!entry.exempt) {
+            entry.serviceRequest.getFuture().whenComplete((r, ex) -> onComplete(entry.flowKey));
+        }
+
+        if (entry.serviceRequest.isTimeoutHintExpired()) {
+            stats.get(entry.priority).timedOut.increment();
+
+            logger.debug("timeoutHint expired while queued; {} shed.", entry.serviceRequest);
+
+            entry.serviceRequest.setServiceFault(StatusCodes.Bad_Timeout);
+        } else {
+            handler.accept(entry.serviceRequest);
+        }
+    }
+
+    private void onComplete(Object flowKey) {
+        boolean dispatch = false;
+
+        synchronized (this) {
+            Flow flow = flows.get(flowKey);
+
+            pending--;
+
+            if (flow != null) {
+                flow.inFlight--;
+
+                if (flow.queued > 0) {
+                    dispatch = true;
+                } else if (flow.inFlight == 0) {
+                    flows.remove(flowKey);
+                }
+            }
+        }
+
+        if (dispatch) scheduleDispatch();
+    }
+
+    /**
+     * Take the next request, weighting priority classes by {@link RequestPriority#getWeight()} and going round-robin
+     * through the sessions within a class.
+     *
+     * @param dispatch {@code true} if the request is being dispatched and counts against its session's limit.
+     * @return the next request, or {@code null} if no request can be dispatched.
+     */
+    private synchronized Entry poll(boolean dispatch) {
+        for (int pass = 0; pass < 2; pass++) {
+            for (RequestPriority priority : RequestPriority.values()) {
+                int credit = credits.get(priority);
+
+                if (credit > 0) {
+                    Entry entry = poll(priority);
+
+                    if (entry != null) {
+                        credits.put(priority, credit - 1);
+
+                        return taken(entry, dispatch);
+                    }
+                }
+            }
+
+            // Either every class used up its credit or none with credit left had a request ready.
+            for (RequestPriority priority : RequestPriority.values()) {
+                credits.put(priority, priority.getWeight());
+            }
+        }
+
+        return null;
+    }
+
+    private Entry poll(RequestPriority priority) {
+        ArrayDeque<Flow> active = activeFlows.get(priority);
+
+        for (int i = active.size(); i > 0; i--) {
+            Flow flow = active.poll();
+            ArrayDeque<Entry> queue = flow.queues.get(priority);
+            Entry next = queue.peek();
+
+            if (!next.exempt && flow.inFlight >= maxConcurrentRequestsPerSession) {
+                active.add(flow);
+                continue;
+            }
+
+            queue.poll();
+
+            if (queue.isEmpty()) {
+                flow.active.remove(priority);
+            } else {
+                active.add(flow);
+            }
+
+            return next;
+        }
+
+        return null;
+    }
+
+    private Entry taken(Entry entry, boolean dispatch) {
+        Flow flow = flows.get(entry.flowKey);
+
+        flow.queued--;
+
+        if (!dispatch && !entry.exempt) {
+            pending--;
+        }
+
+        if (dispatch && !entry.exempt) {
+            flow.inFlight++;
+        } else if (flow.queued == 0 && flow.inFlight == 0) {
+            flows.remove(entry.flowKey);
+        }
+
+        QueueStats queueStats = stats.get(entry.priority);
+        queueStats.queued.decrementAndGet();
+
+        if (dispatch) {
+            long waitNanos = System.nanoTime() - entry.queuedNanos;
+            queueStats.dispatched.increment();
+            queueStats.totalWaitNanos.add(waitNanos);
+            queueStats.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        return entry;
+    }
+
+    private static Object flowKey(ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest) {
+        RequestHeader header = serviceRequest.getRequest().getRequestHeader();
+        NodeId authenticationToken = header != null ? header.getAuthenticationToken() : null;
+
+        if (authenticationToken != null && authenticationToken.isNotNull()) {
+            return authenticationToken;
+        } else {
+            return serviceRequest.getSecureChannel().getChannelId();
+        }
+    }
+
+    /**
+     * Queue depth and wait-time statistics for one {@link RequestPriority}.
+     */
+    public static final class QueueStats {
+
+        private final AtomicInteger queued = new AtomicInteger(0);
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong(0L);
+
+        /**
+         * @return the number of requests currently queued.
+         */
+        public int getQueued() {
+            return queued.get();
+        }
+
+        /**
+         * @return the number of requests taken off the queue so far, including those shed because their timeoutHint
+         * expired.
+         */
+        public long getDispatched() {
+            return dispatched.sum();
+        }
+
+        /**
+         * @return the number of requests rejected because too many requests were pending or the executor was full.
+         */
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * @return the number of requests answered with {@code Bad_Timeout} because their timeoutHint expired while
+         * they were queued.
+         */
+        public long getTimedOut() {
+            return timedOut.sum();
+        }
+
+        /**
+         * @param unit the {@link TimeUnit} of the result.
+         * @return the total time dispatched requests spent queued.
+         */
+        public long getTotalWaitTime(TimeUnit unit) {
+            return unit.convert(totalWaitNanos.sum(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @param unit the {@link TimeUnit} of the result.
+         * @return the longest time a dispatched request spent queued.
+         */
+        public long getMaxWaitTime(TimeUnit unit) {
+            return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @param unit the {@link TimeUnit} of the result.
+         * @return the mean time dispatched requests spent queued, or 0 if none have been dispatched.
+         */
+        public long getMeanWaitTime(TimeUnit unit) {
+            long count = dispatched.sum();
+
+            return count > 0 ? unit.convert(totalWaitNanos.sum() / count, TimeUnit.NANOSECONDS) : 0L;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "QueueStats{queued=%d, dispatched=%d, rejected=%d, timedOut=%d, meanWait=%dus, maxWait=%dus}",
+                getQueued(), getDispatched(), getRejected(), getTimedOut(),
+                getMeanWaitTime(TimeUnit.MICROSECONDS), getMaxWaitTime(TimeUnit.MICROSECONDS));
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final long queuedNanos = System.nanoTime();
+
+        private final ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest;
+        private final RequestPriority priority;
+        private final Object flowKey;
+        private final boolean exempt;
+
+        private Entry(ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest,
+                      RequestPriority priority,
+                      Object flowKey) {
+
+            this.serviceRequest = serviceRequest;
+            this.priority = priority;
+            this.flowKey = flowKey;
+            this.exempt = serviceRequest.getRequest() instanceof PublishRequest;
+        }
+
+    }
+
+    /**
+     * The requests queued for, and the number being handled for, one session or secure channel.
+     */
+    private static final class Flow {
+
+        private final EnumMap<RequestPriority, ArrayDeque<Entry>> queues = new EnumMap<>(RequestPriority.class);
+        private final EnumSet<RequestPriority> active = EnumSet.noneOf(RequestPriority.class);
+
+        private int queued = 0;
+        private int inFlight = 0;
+
+        private Flow() {
+            for (RequestPriority priority : RequestPriority.values()) {
+                queues.put(priority, new ArrayDeque<>());
+            }
+        }
+
+        private void add(Entry entry) {
+            queues.get(entry.priority).add(entry);
+            queued++;
+        }
+
+    }
+
+}
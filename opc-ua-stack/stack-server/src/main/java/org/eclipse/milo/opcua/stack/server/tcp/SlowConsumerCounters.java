@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.tcp;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.milo.opcua.stack.server.config.SlowConsumerPolicy;
+
+/**
+ * Counts the backpressure events on the channels of a {@link UaTcpStackServer}.
+ */
+public final class SlowConsumerCounters {
+
+    private final LongAdder channelsUnwritable = new LongAdder();
+    private final LongAdder publishResponsesDeferred = new LongAdder();
+    private final LongAdder slowConsumersClosed = new LongAdder();
+    private final LongAdder slowConsumersDegraded = new LongAdder();
+
+    public void channelUnwritable() {
+        channelsUnwritable.increment();
+    }
+
+    public void publishResponseDeferred() {
+        publishResponsesDeferred.increment();
+    }
+
+    public void slowConsumerClosed() {
+        slowConsumersClosed.increment();
+    }
+
+    public void slowConsumerDegraded() {
+        slowConsumersDegraded.increment();
+    }
+
+    /**
+     * @return the number of times a channel became unwritable and stopped being read from.
+     */
+    public long getChannelsUnwritable() {
+        return channelsUnwritable.sum();
+    }
+
+    /**
+     * @return the number of Publish responses held back because their channel was unwritable.
+     */
+    public long getPublishResponsesDeferred() {
+        return publishResponsesDeferred.sum();
+    }
+
+    /**
+     * @return the number of channels closed by {@link SlowConsumerPolicy#CLOSE}.
+     */
+    public long getSlowConsumersClosed() {
+        return slowConsumersClosed.sum();
+    }
+
+    /**
+     * @return the number of channels left open by {@link SlowConsumerPolicy#DEGRADE}.
+     */
+    public long getSlowConsumersDegraded() {
+        return slowConsumersDegraded.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SlowConsumerCounters{unwritable=%d, deferred=%d, closed=%d, degraded=%d}",
+            getChannelsUnwritable(), getPublishResponsesDeferred(), getSlowConsumersClosed(),
+            getSlowConsumersDegraded());
+    }
+
+}
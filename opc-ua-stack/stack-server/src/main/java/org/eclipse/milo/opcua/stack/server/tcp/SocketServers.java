@@ -15,10 +15,12 @@ package org.eclipse.milo.opcua.stack.server.tcp;
 
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -32,13 +34,16 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LoggingHandler;
 import org.eclipse.milo.opcua.stack.core.Stack;
+import org.eclipse.milo.opcua.stack.core.channel.NettyTransport;
 import org.eclipse.milo.opcua.stack.core.util.AsyncSemaphore;
 import org.eclipse.milo.opcua.stack.core.util.FutureUtils;
 import org.eclipse.milo.opcua.stack.core.util.Unit;
+import org.eclipse.milo.opcua.stack.server.config.UaTcpStackServerConfig;
 import org.eclipse.milo.opcua.stack.server.handlers.UaTcpServerHelloHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,7 +71,7 @@ public class SocketServers {
 
             return CompletableFuture.completedFuture(Unit.VALUE);
         } else {
-            return SocketServer.bootstrap(isa).thenApply(s -> {
+            return SocketServer.bootstrap(isa, stackServer.getConfig()).thenApply(s -> {
                 SERVERS.putIfAbsent(isa, s);
 
                 return Unit.VALUE;
@@ -128,11 +133,11 @@ public class SocketServers {
         private final Map<String, UaTcpStackServer> boundServers = Maps.newConcurrentMap();
 
         private final InetSocketAddress address;
-        private final Channel channel;
+        private final List<Channel> channels;
 
-        private SocketServer(InetSocketAddress address, Channel channel) {
+        private SocketServer(InetSocketAddress address, List<Channel> channels) {
             this.address = address;
-            this.channel = channel;
+            this.channels = channels;
         }
 
         private UaTcpStackServer getServer(String endpointUrl) {
@@ -184,25 +189,22 @@ public class SocketServers {
         }
 
         private CompletableFuture<Unit> shutdown() {
-            CompletableFuture<Unit> shutdownFuture = new CompletableFuture<>();
-
             boundServers.clear();
-            channel.close().addListener((ChannelFutureListener) future -> shutdownFuture.complete(Unit.VALUE));
 
-            return shutdownFuture;
+            return closeAll(channels);
         }
 
-        static CompletableFuture<SocketServer> bootstrap(InetSocketAddress address) {
-
-            final CompletableFuture<SocketServer> serverFuture = new CompletableFuture<>();
+        static CompletableFuture<SocketServer> bootstrap(InetSocketAddress address, UaTcpStackServerConfig config) {
+            EventLoopGroup eventLoop = Stack.sharedEventLoop();
+            NettyTransport transport = NettyTransport.of(eventLoop);
 
             final ServerBootstrap bootstrap = new ServerBootstrap();
 
-            bootstrap.group(Stack.sharedEventLoop())
+            bootstrap.group(eventLoop)
                 .handler(new LoggingHandler(SocketServer.class))
-                .channel(NioServerSocketChannel.class)
+                .channel(transport.getServerSocketChannelClass())
                 .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.TCP_NODELAY, config.isTcpNoDelayEnabled())
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel channel) throws Exception {
@@ -213,18 +215,73 @@ public class SocketServers {
                     }
                 });
 
-            bootstrap.bind(address).addListener((ChannelFutureListener) future -> {
-                if (future.isSuccess()) {
-                    SocketServer socketServer = new SocketServer(address, future.channel());
-                    serverFuture.complete(socketServer);
+            int acceptorCount = 1;
+
+            if (transport == NettyTransport.EPOLL) {
+                if (config.isTcpQuickAckEnabled()) {
+                    bootstrap.childOption(EpollChannelOption.TCP_QUICKACK, true);
+                }
+
+                if (config.getAcceptorCount() > 1) {
+                    // Each bind registers its socket on the next event loop in the group.
+                    bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+                    acceptorCount = config.getAcceptorCount();
+                }
+            } else if (config.getAcceptorCount() > 1 || config.isTcpQuickAckEnabled()) {
+                LoggerFactory.getLogger(SocketServer.class).warn(
+                    "Multiple acceptors and TCP_QUICKACK require the {} transport; using {} with a single acceptor.",
+                    NettyTransport.EPOLL, transport);
+            }
+
+            List<CompletableFuture<Channel>> bindFutures = new ArrayList<>(acceptorCount);
+
+            for (int i = 0; i < acceptorCount; i++) {
+                CompletableFuture<Channel> bindFuture = new CompletableFuture<>();
+
+                bootstrap.bind(address).addListener((ChannelFutureListener) future -> {
+                    if (future.isSuccess()) {
+                        bindFuture.complete(future.channel());
+                    } else {
+                        bindFuture.completeExceptionally(future.cause());
+                    }
+                });
+
+                bindFutures.add(bindFuture);
+            }
+
+            final CompletableFuture<SocketServer> serverFuture = new CompletableFuture<>();
+
+            FutureUtils.sequence(bindFutures).whenComplete((channels, ex) -> {
+                if (channels != null) {
+                    serverFuture.complete(new SocketServer(address, channels));
                 } else {
-                    serverFuture.completeExceptionally(future.cause());
+                    // Don't leave the acceptors that did bind listening.
+                    List<Channel> bound = bindFutures.stream()
+                        .filter(f -> !f.isCompletedExceptionally())
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList());
+
+                    Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+
+                    closeAll(bound).thenRun(() -> serverFuture.completeExceptionally(cause));
                 }
             });
 
             return serverFuture;
         }
 
+        private static CompletableFuture<Unit> closeAll(List<Channel> channels) {
+            List<CompletableFuture<Unit>> closeFutures = channels.stream().map(channel -> {
+                CompletableFuture<Unit> closeFuture = new CompletableFuture<>();
+
+                channel.close().addListener((ChannelFutureListener) future -> closeFuture.complete(Unit.VALUE));
+
+                return closeFuture;
+            }).collect(Collectors.toList());
+
+            return FutureUtils.sequence(closeFutures).thenApply(v -> Unit.VALUE);
+        }
+
         static Optional<UaTcpStackServer> getServerByEndpointUrl(InetSocketAddress address, String endpointUrl) {
             SocketServer socketServer = SocketServers.SERVERS.get(address);
 
@@ -111,11 +111,22 @@ public class UaTcpStackServer implements UaStackServer {
     private final HashedWheelTimer wheelTimer = Stack.sharedWheelTimer();
     private final Map<Long, Timeout> timeouts = Maps.newConcurrentMap();
 
+    private final SlowConsumerCounters slowConsumerCounters = new SlowConsumerCounters();
+
     private final UaTcpStackServerConfig config;
+    private final ServiceRequestScheduler requestScheduler;
 
     public UaTcpStackServer(UaTcpStackServerConfig config) {
         this.config = config;
 
+        requestScheduler = new ServiceRequestScheduler(
+            config.getExecutor(),
+            config.getMaxConcurrentRequestsPerSession(),
+            config.getMaxConcurrentRequests(),
+            config.getRequestPriorityFunction(),
+            this::receiveRequest
+        );
+
         addServiceSet(new DefaultDiscoveryServiceSet());
 
         addServiceSet(new AttributeServiceSet() {
@@ -142,6 +153,20 @@ public class UaTcpStackServer implements UaStackServer {
         return config;
     }
 
+    /**
+     * @return the {@link SlowConsumerCounters} for the channels of this server.
+     */
+    public SlowConsumerCounters getSlowConsumerCounters() {
+        return slowConsumerCounters;
+    }
+
+    /**
+     * @return the {@link ServiceRequestScheduler} that queues decoded requests before they are handled.
+     */
+    public ServiceRequestScheduler getRequestScheduler() {
+        return requestScheduler;
+    }
+
     @Override
     public CompletableFuture<UaTcpStackServer> startup() {
         Stream<CompletableFuture<Unit>> stream = endpoints.stream().map(endpoint -> {
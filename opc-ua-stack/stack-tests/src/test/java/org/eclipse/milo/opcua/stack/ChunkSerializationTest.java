@@ -14,11 +14,16 @@
 package org.eclipse.milo.opcua.stack;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
 import org.eclipse.milo.opcua.stack.core.channel.ChannelParameters;
+import org.eclipse.milo.opcua.stack.core.channel.ChannelSecurity;
 import org.eclipse.milo.opcua.stack.core.channel.ChunkDecoder;
 import org.eclipse.milo.opcua.stack.core.channel.ChunkEncoder;
 import org.eclipse.milo.opcua.stack.core.channel.ClientSecureChannel;
@@ -26,8 +31,13 @@ import org.eclipse.milo.opcua.stack.core.channel.SecureChannel;
 import org.eclipse.milo.opcua.stack.core.channel.ServerSecureChannel;
 import org.eclipse.milo.opcua.stack.core.channel.messages.MessageType;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryDecoder;
+import org.eclipse.milo.opcua.stack.core.serialization.binary.BinaryEncoder;
+import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
+import org.eclipse.milo.opcua.stack.core.types.builtin.DateTime;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.eclipse.milo.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import org.eclipse.milo.opcua.stack.core.types.structured.ChannelSecurityToken;
 import org.eclipse.milo.opcua.stack.core.util.BufferUtil;
 import org.eclipse.milo.opcua.stack.core.util.CryptoRestrictions;
 import org.eclipse.milo.opcua.stack.core.util.LongSequence;
@@ -36,7 +46,13 @@ import org.slf4j.LoggerFactory;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.eclipse.milo.opcua.stack.core.util.NonceUtil.generateNonce;
+import static org.eclipse.milo.opcua.stack.core.util.NonceUtil.getNonceLength;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
 
 public class ChunkSerializationTest extends SecureChannelFixture {
 
@@ -203,4 +219,297 @@ public class ChunkSerializationTest extends SecureChannelFixture {
         assertEquals(decodedBuffer, messageBuffer);
     }
 
+    @DataProvider
+    public Object[][] getTokenRenewalParameters() {
+        return new Object[][]{
+            {SecurityPolicy.Basic128Rsa15, MessageSecurityMode.SignAndEncrypt, true},
+            {SecurityPolicy.Basic256Sha256, MessageSecurityMode.Sign, true},
+            {SecurityPolicy.Basic256Sha256, MessageSecurityMode.SignAndEncrypt, true},
+            {SecurityPolicy.Basic256Sha256, MessageSecurityMode.SignAndEncrypt, false},
+        };
+    }
+
+    @Test(dataProvider = "getTokenRenewalParameters")
+    public void testSymmetricMessagesAcrossTokenRenewal(SecurityPolicy securityPolicy,
+                                                        MessageSecurityMode messageSecurity,
+                                                        boolean reuseCrypto) throws Exception {
+
+        logger.info("Symmetric chunk serialization across token renewal, " +
+                "securityPolicy={}, messageSecurityMode={}, reuseCrypto={}",
+            securityPolicy, messageSecurity, reuseCrypto);
+
+        ChunkEncoder encoder = new ChunkEncoder(parameters, reuseCrypto);
+        ChunkDecoder decoder = new ChunkDecoder(parameters, reuseCrypto);
+
+        SecureChannel[] channels = generateChannels(securityPolicy, messageSecurity);
+        ClientSecureChannel clientChannel = (ClientSecureChannel) channels[0];
+        ServerSecureChannel serverChannel = (ServerSecureChannel) channels[1];
+
+        LongSequence requestId = new LongSequence(1L, UInteger.MAX_VALUE);
+
+        for (int i = 0; i < 3; i++) {
+            roundTripSymmetric(encoder, decoder, clientChannel, serverChannel, requestId.getAndIncrement());
+        }
+
+        ByteString clientNonce = generateNonce(getNonceLength(securityPolicy.getSymmetricEncryptionAlgorithm()));
+        ByteString serverNonce = generateNonce(getNonceLength(securityPolicy.getSymmetricEncryptionAlgorithm()));
+
+        ChannelSecurity oldClientSecurity = clientChannel.getChannelSecurity();
+        ChannelSecurity.SecuritySecrets newClientSecrets =
+            ChannelSecurity.generateKeyPair(clientChannel, clientNonce, serverNonce);
+        clientChannel.setChannelSecurity(new ChannelSecurity(
+            newClientSecrets,
+            new ChannelSecurityToken(uint(0), uint(2), DateTime.now(), uint(60000)),
+            oldClientSecurity.getCurrentKeys(),
+            oldClientSecurity.getCurrentToken()
+        ));
+
+        ChannelSecurity oldServerSecurity = serverChannel.getChannelSecurity();
+        ChannelSecurity.SecuritySecrets newServerSecrets =
+            ChannelSecurity.generateKeyPair(serverChannel, clientNonce, serverNonce);
+        serverChannel.setChannelSecurity(new ChannelSecurity(
+            newServerSecrets,
+            new ChannelSecurityToken(uint(0), uint(2), DateTime.now(), uint(60000)),
+            oldServerSecurity.getCurrentKeys(),
+            oldServerSecurity.getCurrentToken()
+        ));
+
+        for (int i = 0; i < 3; i++) {
+            roundTripSymmetric(encoder, decoder, clientChannel, serverChannel, requestId.getAndIncrement());
+        }
+    }
+
+    @DataProvider
+    public Object[][] getParallelCryptoParameters() {
+        return new Object[][]{
+            {SecurityPolicy.None, MessageSecurityMode.None},
+            {SecurityPolicy.Basic128Rsa15, MessageSecurityMode.Sign},
+            {SecurityPolicy.Basic128Rsa15, MessageSecurityMode.SignAndEncrypt},
+            {SecurityPolicy.Basic256Sha256, MessageSecurityMode.Sign},
+            {SecurityPolicy.Basic256Sha256, MessageSecurityMode.SignAndEncrypt},
+        };
+    }
+
+    @Test(dataProvider = "getParallelCryptoParameters")
+    public void testParallelChunkCrypto(SecurityPolicy securityPolicy,
+                                        MessageSecurityMode messageSecurity) throws Exception {
+
+        logger.info("Parallel chunk serialization, securityPolicy={}, messageSecurityMode={}",
+            securityPolicy, messageSecurity);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            ChunkEncoder parallelEncoder = new ChunkEncoder(parameters, true, executor, 1, 4);
+            ChunkDecoder parallelDecoder = new ChunkDecoder(parameters, true, executor, 1, 4);
+
+            ChunkEncoder serialEncoder = new ChunkEncoder(parameters);
+            ChunkDecoder serialDecoder = new ChunkDecoder(parameters);
+
+            SecureChannel[] channels = generateChannels(securityPolicy, messageSecurity);
+            ClientSecureChannel clientChannel = (ClientSecureChannel) channels[0];
+            ServerSecureChannel serverChannel = (ServerSecureChannel) channels[1];
+
+            LongSequence requestId = new LongSequence(1L, UInteger.MAX_VALUE);
+
+            // Parallel on both ends, then each end against the serial implementation on the other.
+            for (int i = 0; i < 3; i++) {
+                roundTripSymmetric(parallelEncoder, parallelDecoder,
+                    clientChannel, serverChannel, requestId.getAndIncrement());
+            }
+
+            parallelEncoder = new ChunkEncoder(parameters, true, executor, 1, 4);
+            serialDecoder = new ChunkDecoder(parameters);
+
+            for (int i = 0; i < 3; i++) {
+                roundTripSymmetric(parallelEncoder, serialDecoder,
+                    clientChannel, serverChannel, requestId.getAndIncrement());
+            }
+
+            parallelDecoder = new ChunkDecoder(parameters, true, executor, 1, 4);
+
+            for (int i = 0; i < 3; i++) {
+                roundTripSymmetric(serialEncoder, parallelDecoder,
+                    clientChannel, serverChannel, requestId.getAndIncrement());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(dataProvider = "getParallelCryptoParameters")
+    public void testStreamingSymmetricMessage(SecurityPolicy securityPolicy,
+                                              MessageSecurityMode messageSecurity) throws Exception {
+
+        logger.info("Streaming symmetric chunk serialization, securityPolicy={}, messageSecurityMode={}",
+            securityPolicy, messageSecurity);
+
+        SecureChannel[] channels = generateChannels(securityPolicy, messageSecurity);
+        ClientSecureChannel clientChannel = (ClientSecureChannel) channels[0];
+        ServerSecureChannel serverChannel = (ServerSecureChannel) channels[1];
+
+        // Long enough that the string spans several chunks and its length prefix is written after its bytes.
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ChannelConfig.DEFAULT_MAX_CHUNK_SIZE * 3 / 10; i++) {
+            sb.append(String.format("%09d ", i));
+        }
+        String value = sb.toString();
+
+        ChunkEncoder.MessageWriter writer = buffer -> {
+            BinaryEncoder binaryEncoder = new BinaryEncoder(Integer.MAX_VALUE, Integer.MAX_VALUE);
+            binaryEncoder.setBuffer(buffer);
+            binaryEncoder.encodeInt32(null, 42);
+            binaryEncoder.encodeString(null, value);
+            binaryEncoder.encodeInt64(null, Long.MAX_VALUE);
+        };
+
+        List<ByteBuf> streamedChunks = new ChunkEncoder(parameters).encodeSymmetric(
+            clientChannel, MessageType.SecureMessage, writer, 1L);
+
+        ByteBuf messageBuffer = BufferUtil.buffer();
+        writer.write(messageBuffer);
+
+        List<ByteBuf> copiedChunks = new ChunkEncoder(parameters).encodeSymmetric(
+            clientChannel, MessageType.SecureMessage, messageBuffer, 1L);
+
+        messageBuffer.release();
+
+        assertEquals(streamedChunks.size(), copiedChunks.size());
+        for (int i = 0; i < streamedChunks.size(); i++) {
+            assertEquals(streamedChunks.get(i), copiedChunks.get(i));
+        }
+        copiedChunks.forEach(ByteBuf::release);
+
+        ByteBuf decodedBuffer = new ChunkDecoder(parameters).decodeSymmetric(serverChannel, streamedChunks);
+
+        BinaryDecoder binaryDecoder = new BinaryDecoder(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        binaryDecoder.setBuffer(decodedBuffer);
+        assertEquals(binaryDecoder.decodeInt32(null), Integer.valueOf(42));
+        assertEquals(binaryDecoder.decodeString(null), value);
+        assertEquals(binaryDecoder.decodeInt64(null), Long.valueOf(Long.MAX_VALUE));
+
+        decodedBuffer.release();
+    }
+
+    @Test(dataProvider = "getParallelCryptoParameters")
+    public void testIncrementalSymmetricDecoding(SecurityPolicy securityPolicy,
+                                                 MessageSecurityMode messageSecurity) throws Exception {
+
+        logger.info("Incremental symmetric chunk decoding, securityPolicy={}, messageSecurityMode={}",
+            securityPolicy, messageSecurity);
+
+        ChunkEncoder encoder = new ChunkEncoder(parameters);
+        ChunkDecoder decoder = new ChunkDecoder(parameters);
+
+        SecureChannel[] channels = generateChannels(securityPolicy, messageSecurity);
+        ClientSecureChannel clientChannel = (ClientSecureChannel) channels[0];
+        ServerSecureChannel serverChannel = (ServerSecureChannel) channels[1];
+
+        for (long requestId = 1; requestId <= 3; requestId++) {
+            byte[] messageBytes = new byte[ChannelConfig.DEFAULT_MAX_CHUNK_SIZE * 3];
+            for (int i = 0; i < messageBytes.length; i++) {
+                messageBytes[i] = (byte) (i + requestId);
+            }
+
+            ByteBuf messageBuffer = BufferUtil.buffer().writeBytes(messageBytes);
+
+            List<ByteBuf> chunkBuffers = encoder.encodeSymmetric(
+                clientChannel,
+                MessageType.SecureMessage,
+                messageBuffer,
+                requestId
+            );
+
+            ByteBuf decodedBuffer = null;
+
+            for (int i = 0; i < chunkBuffers.size(); i++) {
+                decodedBuffer = decoder.decodeSymmetricChunk(serverChannel, chunkBuffers.get(i));
+
+                if (i < chunkBuffers.size() - 1) {
+                    assertNull(decodedBuffer);
+                }
+            }
+
+            assertNotNull(decodedBuffer);
+            assertEquals(decoder.getLastRequestId(), requestId);
+
+            messageBuffer.readerIndex(0);
+            assertEquals(decodedBuffer, messageBuffer);
+
+            messageBuffer.release();
+            decodedBuffer.release();
+        }
+    }
+
+    @Test
+    public void testIncrementalSymmetricDecodingRejectsBadChunk() throws Exception {
+        ChunkEncoder encoder = new ChunkEncoder(parameters);
+        ChunkDecoder decoder = new ChunkDecoder(parameters);
+
+        SecureChannel[] channels = generateChannels(SecurityPolicy.Basic256Sha256, MessageSecurityMode.Sign);
+        ClientSecureChannel clientChannel = (ClientSecureChannel) channels[0];
+        ServerSecureChannel serverChannel = (ServerSecureChannel) channels[1];
+
+        ByteBuf messageBuffer = BufferUtil.buffer().writeZero(ChannelConfig.DEFAULT_MAX_CHUNK_SIZE * 3);
+
+        List<ByteBuf> chunkBuffers = encoder.encodeSymmetric(
+            clientChannel,
+            MessageType.SecureMessage,
+            messageBuffer,
+            1L
+        );
+
+        messageBuffer.release();
+
+        assertNull(decoder.decodeSymmetricChunk(serverChannel, chunkBuffers.get(0)));
+
+        // Corrupt the body of the second chunk; it should be rejected before the final chunk is decoded.
+        ByteBuf secondChunk = chunkBuffers.get(1);
+        secondChunk.setByte(100, secondChunk.getByte(100) ^ 0xFF);
+
+        try {
+            decoder.decodeSymmetricChunk(serverChannel, secondChunk);
+            fail("expected UaException");
+        } catch (UaException e) {
+            assertEquals(e.getStatusCode().getValue(), StatusCodes.Bad_SecurityChecksFailed);
+        }
+
+        assertEquals(chunkBuffers.get(0).refCnt(), 0);
+        assertEquals(secondChunk.refCnt(), 0);
+
+        chunkBuffers.subList(2, chunkBuffers.size()).forEach(ByteBuf::release);
+    }
+
+    private void roundTripSymmetric(ChunkEncoder encoder,
+                                    ChunkDecoder decoder,
+                                    ClientSecureChannel clientChannel,
+                                    ServerSecureChannel serverChannel,
+                                    long requestId) throws Exception {
+
+        byte[] messageBytes = new byte[ChannelConfig.DEFAULT_MAX_CHUNK_SIZE * 2];
+        for (int i = 0; i < messageBytes.length; i++) {
+            messageBytes[i] = (byte) (i + requestId);
+        }
+
+        ByteBuf messageBuffer = BufferUtil.buffer().writeBytes(messageBytes);
+
+        List<ByteBuf> chunkBuffers = encoder.encodeSymmetric(
+            clientChannel,
+            MessageType.SecureMessage,
+            messageBuffer,
+            requestId
+        );
+
+        ByteBuf decodedBuffer = decoder.decodeSymmetric(
+            serverChannel,
+            chunkBuffers
+        );
+
+        ReferenceCountUtil.releaseLater(messageBuffer);
+        ReferenceCountUtil.releaseLater(decodedBuffer);
+
+        messageBuffer.readerIndex(0);
+        assertEquals(decodedBuffer, messageBuffer);
+    }
+
 }
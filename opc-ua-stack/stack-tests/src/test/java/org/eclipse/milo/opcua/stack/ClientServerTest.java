@@ -13,17 +13,25 @@
 
 package org.eclipse.milo.opcua.stack;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 
 import com.beust.jcommander.internal.Lists;
+import io.netty.channel.EventLoopGroup;
+import org.eclipse.milo.opcua.stack.client.RequestLimiter;
 import org.eclipse.milo.opcua.stack.client.UaTcpStackClient;
 import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
 import org.eclipse.milo.opcua.stack.core.Stack;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
 import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.channel.ChannelConfig;
 import org.eclipse.milo.opcua.stack.core.channel.ClientSecureChannel;
+import org.eclipse.milo.opcua.stack.core.channel.NettyTransport;
 import org.eclipse.milo.opcua.stack.core.security.SecurityPolicy;
 import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
 import org.eclipse.milo.opcua.stack.core.types.builtin.ByteString;
@@ -49,6 +57,7 @@ import org.eclipse.milo.opcua.stack.server.tcp.SocketServers;
 import org.eclipse.milo.opcua.stack.server.tcp.UaTcpStackServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.DataProvider;
@@ -59,6 +68,7 @@ import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ulong;
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ushort;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertThrows;
 
@@ -336,6 +346,187 @@ public class ClientServerTest extends SecurityFixture {
         client.disconnect().get();
     }
 
+    @Test
+    public void testClientChannelPool() throws Exception {
+        EndpointDescription endpoint = endpoints[0];
+        Variant input = new Variant(42);
+
+        UaTcpStackClientConfig config = UaTcpStackClientConfig.builder()
+            .setEndpoint(endpoint)
+            .setChannelPoolSize(3)
+            .build();
+
+        UaTcpStackClient client = new UaTcpStackClient(config);
+        client.connect().get();
+
+        List<CompletableFuture<TestStackResponse>> futures = Lists.newArrayList();
+
+        for (int i = 0; i < 30; i++) {
+            RequestHeader header = new RequestHeader(
+                NodeId.NULL_VALUE,
+                DateTime.now(),
+                uint(i), uint(0), null, uint(60000), null);
+
+            futures.add(client.sendRequest(new TestStackRequest(header, uint(i), i, input)));
+        }
+
+        for (CompletableFuture<TestStackResponse> future : futures) {
+            assertEquals(future.get().getOutput(), input);
+        }
+
+        Set<Long> secureChannelIds = new HashSet<>();
+        for (CompletableFuture<ClientSecureChannel> channelFuture : client.getChannelFutures()) {
+            long secureChannelId = channelFuture.get().getChannelId();
+
+            assertNotNull(server.getSecureChannel(secureChannelId));
+            secureChannelIds.add(secureChannelId);
+        }
+        assertEquals(secureChannelIds.size(), 3);
+
+        client.disconnect().get();
+        Thread.sleep(100);
+
+        for (long secureChannelId : secureChannelIds) {
+            assertNull(server.getSecureChannel(secureChannelId));
+        }
+    }
+
+    @Test
+    public void testClientParallelDecoding() throws Exception {
+        EndpointDescription endpoint = endpoints[0];
+
+        UaTcpStackClientConfig config = UaTcpStackClientConfig.builder()
+            .setEndpoint(endpoint)
+            .setChannelConfig(parallelDecodingChannelConfig())
+            .build();
+
+        UaTcpStackClient client = new UaTcpStackClient(config);
+        client.connect().get();
+
+        sendMixedSizeRequests(client);
+
+        client.disconnect().get();
+    }
+
+    @Test
+    public void testServerParallelDecoding() throws Exception {
+        UaTcpStackServerConfig serverConfig = UaTcpStackServerConfig.builder()
+            .setServerName("test-parallel")
+            .setCertificateManager(serverCertificateManager)
+            .setCertificateValidator(serverCertificateValidator)
+            .setChannelConfig(parallelDecodingChannelConfig())
+            .build();
+
+        UaTcpStackServer parallelServer = new UaTcpStackServer(serverConfig);
+        parallelServer.addEndpoint("opc.tcp://localhost:12686/test-parallel", null)
+            .addEndpoint("opc.tcp://localhost:12686/test-parallel", null, serverCertificate,
+                SecurityPolicy.Basic256Sha256, MessageSecurityMode.SignAndEncrypt);
+        parallelServer.addRequestHandler(TestStackRequest.class, (service) -> {
+            TestStackRequest request = service.getRequest();
+
+            ResponseHeader header = new ResponseHeader(
+                DateTime.now(),
+                request.getRequestHeader().getRequestHandle(),
+                StatusCode.GOOD,
+                null, null, null
+            );
+
+            service.setResponse(new TestStackResponse(header, request.getInput()));
+        });
+        parallelServer.startup().get();
+
+        try {
+            EndpointDescription endpoint =
+                UaTcpStackClient.getEndpoints("opc.tcp://localhost:12686/test-parallel").get()[0];
+
+            UaTcpStackClient client = createClient(endpoint);
+            client.connect().get();
+
+            sendMixedSizeRequests(client);
+
+            client.disconnect().get();
+        } finally {
+            parallelServer.shutdown().get();
+        }
+    }
+
+    private static ChannelConfig parallelDecodingChannelConfig() {
+        return ChannelConfig.builder().setDecoderPoolSize(4).build();
+    }
+
+    private void sendMixedSizeRequests(UaTcpStackClient client) throws Exception {
+        List<CompletableFuture<TestStackResponse>> futures = Lists.newArrayList();
+
+        for (int i = 0; i < 100; i++) {
+            RequestHeader header = new RequestHeader(
+                NodeId.NULL_VALUE,
+                DateTime.now(),
+                uint(i), uint(0), null, uint(60000), null);
+
+            // A mix of large and small messages, so the small ones can be decoded while the large ones are.
+            Variant input = i % 10 == 0 ? new Variant(new String[20000]) : new Variant(i);
+
+            futures.add(client.sendRequest(new TestStackRequest(header, uint(i), i, input)));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            TestStackResponse response = futures.get(i).get();
+
+            assertEquals(response.getResponseHeader().getRequestHandle(), uint(i));
+            if (i % 10 != 0) assertEquals(response.getOutput(), new Variant(i));
+        }
+    }
+
+    @Test
+    public void testClientInFlightLimit() throws Exception {
+        EndpointDescription endpoint = endpoints[0];
+        Variant input = new Variant(42);
+
+        UaTcpStackClientConfig config = UaTcpStackClientConfig.builder()
+            .setEndpoint(endpoint)
+            .setMaxInFlightRequests(2)
+            .setMaxQueuedRequests(20)
+            .build();
+
+        UaTcpStackClient client = new UaTcpStackClient(config);
+        client.connect().get();
+
+        List<CompletableFuture<TestStackResponse>> futures = Lists.newArrayList();
+
+        for (int i = 0; i < 30; i++) {
+            RequestHeader header = new RequestHeader(
+                NodeId.NULL_VALUE,
+                DateTime.now(),
+                uint(i), uint(0), null, uint(60000), null);
+
+            futures.add(client.sendRequest(new TestStackRequest(header, uint(i), i, input)));
+        }
+
+        int rejected = 0;
+        for (CompletableFuture<TestStackResponse> future : futures) {
+            try {
+                assertEquals(future.get().getOutput(), input);
+            } catch (ExecutionException e) {
+                assertEquals(
+                    ((UaException) e.getCause()).getStatusCode().getValue(),
+                    StatusCodes.Bad_ResourceUnavailable);
+                rejected++;
+            }
+        }
+
+        // The gauges are updated by callbacks that may still be running after the last future completed.
+        Thread.sleep(100);
+
+        RequestLimiter limiter = client.getRequestLimiters().get(0);
+
+        assertEquals(limiter.getRejected(), (long) rejected);
+        assertEquals(limiter.getCompleted(), (long) (30 - rejected));
+        assertEquals(limiter.getInFlight(), 0);
+        assertEquals(limiter.getQueued(), 0);
+
+        client.disconnect().get();
+    }
+
     @Test
     public void testClientReconnect_InvalidSecureChannel() throws Exception {
         EndpointDescription endpoint = endpoints[0];
@@ -408,6 +599,30 @@ public class ClientServerTest extends SecurityFixture {
         });
     }
 
+    @Test
+    public void testClientServerRoundTrip_EpollTransport() throws Exception {
+        if (!NettyTransport.EPOLL.isAvailable()) {
+            throw new SkipException("epoll transport not available");
+        }
+
+        EndpointDescription endpoint = endpoints[0];
+        Variant input = new Variant(42);
+
+        EventLoopGroup eventLoop = NettyTransport.EPOLL.newEventLoopGroup(1, Executors.defaultThreadFactory());
+
+        try {
+            UaTcpStackClientConfig config = UaTcpStackClientConfig.builder()
+                .setEndpoint(endpoint)
+                .setEventLoop(eventLoop)
+                .setTcpQuickAckEnabled(true)
+                .build();
+
+            connectAndTest(input, new UaTcpStackClient(config));
+        } finally {
+            eventLoop.shutdownGracefully().await();
+        }
+    }
+
     private UaTcpStackClient createClient(EndpointDescription endpoint) throws UaException {
         UaTcpStackClientConfig config = UaTcpStackClientConfig.builder()
             .setEndpoint(endpoint)
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class PendingRequestTableTest {
+
+    @Test
+    public void testPutAndRemove() {
+        PendingRequestTable table = new PendingRequestTable(client());
+
+        // Handles 1024 apart share a home slot at every capacity the table grows through.
+        Map<Long, CompletableFuture<UaResponseMessage>> futures = new HashMap<>();
+        for (long handle = 0; handle < 500; handle++) {
+            long h = handle % 2 == 0 ? handle : handle + 1024;
+            CompletableFuture<UaResponseMessage> future = new CompletableFuture<>();
+            futures.put(h, future);
+            table.put(h, future, 60000);
+        }
+
+        assertEquals(table.size(), 500);
+
+        futures.forEach((h, f) -> assertSame(table.remove(h), f));
+
+        assertEquals(table.size(), 0);
+        assertNull(table.remove(0L));
+    }
+
+    @Test
+    public void testMatchesMap() {
+        PendingRequestTable table = new PendingRequestTable(client());
+        Map<Long, CompletableFuture<UaResponseMessage>> expected = new HashMap<>();
+        Random random = new Random(0L);
+
+        for (int i = 0; i < 100_000; i++) {
+            long handle = random.nextInt(256) * 64L + random.nextInt(4);
+
+            if (random.nextBoolean()) {
+                CompletableFuture<UaResponseMessage> future = new CompletableFuture<>();
+                expected.put(handle, future);
+                table.put(handle, future, 60000);
+            } else {
+                assertSame(table.remove(handle), expected.remove(handle));
+            }
+
+            assertEquals(table.size(), expected.size());
+        }
+    }
+
+    @Test
+    public void testSweepFailsExpiredRequests() {
+        PendingRequestTable table = new PendingRequestTable(client());
+
+        CompletableFuture<UaResponseMessage> expiring = new CompletableFuture<>();
+        CompletableFuture<UaResponseMessage> waiting = new CompletableFuture<>();
+
+        table.put(1L, expiring, 0);
+        table.put(2L, waiting, 60000);
+
+        table.sweep();
+
+        assertEquals(statusCode(expiring), StatusCodes.Bad_Timeout);
+        assertFalse(waiting.isDone());
+        assertEquals(table.size(), 1);
+        assertSame(table.remove(2L), waiting);
+    }
+
+    @Test
+    public void testRemoveAll() {
+        PendingRequestTable table = new PendingRequestTable(client());
+
+        for (long handle = 0; handle < 100; handle++) {
+            table.put(handle, new CompletableFuture<>(), 60000);
+        }
+
+        assertEquals(table.removeAll().size(), 100);
+        assertEquals(table.size(), 0);
+        assertNull(table.remove(1L));
+    }
+
+    private static long statusCode(CompletableFuture<UaResponseMessage> future) {
+        try {
+            future.join();
+            return 0L;
+        } catch (CompletionException e) {
+            return ((UaException) e.getCause()).getStatusCode().getValue();
+        }
+    }
+
+    private static UaTcpStackClient client() {
+        return new UaTcpStackClient(UaTcpStackClientConfig.builder().build());
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.stack.client.config.RequestOverflowPolicy;
+import org.eclipse.milo.opcua.stack.client.config.UaTcpStackClientConfig;
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.eclipse.milo.opcua.stack.core.util.AsyncSemaphore.SemaphorePermit;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class RequestLimiterTest {
+
+    @Test
+    public void testRequestsQueuedOverLimit() {
+        RequestLimiter limiter = limiter(2, 1, RequestOverflowPolicy.FAIL);
+
+        CompletableFuture<SemaphorePermit> p1 = limiter.acquire(read(0));
+        CompletableFuture<SemaphorePermit> p2 = limiter.acquire(read(0));
+        CompletableFuture<SemaphorePermit> p3 = limiter.acquire(read(0));
+        CompletableFuture<SemaphorePermit> p4 = limiter.acquire(read(0));
+
+        assertTrue(p1.isDone() && p2.isDone());
+        assertFalse(p3.isDone());
+        assertEquals(statusCode(p4), StatusCodes.Bad_ResourceUnavailable);
+        assertEquals(limiter.getQueued(), 1);
+        assertEquals(limiter.getRejected(), 1L);
+
+        // Publish requests aren't limited.
+        assertTrue(limiter.acquire(new PublishRequest(header(0), null)).isDone());
+
+        p1.join().release();
+
+        assertTrue(p3.isDone());
+        assertEquals(limiter.getQueued(), 0);
+    }
+
+    @Test
+    public void testQueuedRequestTimesOut() throws Exception {
+        RequestLimiter limiter = limiter(1, 10, RequestOverflowPolicy.FAIL);
+
+        CompletableFuture<SemaphorePermit> p1 = limiter.acquire(read(0));
+        CompletableFuture<SemaphorePermit> p2 = limiter.acquire(read(50));
+
+        assertEquals(statusCode(p2), StatusCodes.Bad_Timeout);
+        assertEquals(limiter.getTimedOut(), 1L);
+        assertEquals(limiter.getQueued(), 0);
+
+        // The permit released isn't handed to the request that timed out.
+        p1.join().release();
+
+        assertTrue(limiter.acquire(read(0)).isDone());
+    }
+
+    @Test
+    public void testTimeoutCompletedOutsideLock() throws Exception {
+        RequestLimiter limiter = limiter(1, 10, RequestOverflowPolicy.FAIL);
+
+        SemaphorePermit p1 = limiter.acquire(read(0)).join();
+
+        // The callback needs the limiter's monitor on another thread, which it can't get if the failure is
+        // completed while holding it.
+        CompletableFuture<Integer> queued = limiter.acquire(read(50)).handle(
+            (p, ex) -> CompletableFuture.supplyAsync(limiter::getQueued).join());
+
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(limiter.getTimedOut(), 1L);
+
+        p1.release();
+    }
+
+    @Test
+    public void testBlockUntilQueueHasRoom() throws Exception {
+        RequestLimiter limiter = limiter(1, 0, RequestOverflowPolicy.BLOCK);
+
+        SemaphorePermit p1 = limiter.acquire(read(0)).join();
+
+        CompletableFuture<SemaphorePermit> p2 = CompletableFuture.supplyAsync(() -> limiter.acquire(read(0)).join());
+
+        Thread.sleep(100);
+        assertFalse(p2.isDone());
+
+        p1.release();
+
+        assertNotNull(p2.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBlockFailsFastWhileDeliveringResponses() throws Exception {
+        UaTcpStackClient client = client(1, 0, RequestOverflowPolicy.BLOCK);
+        RequestLimiter limiter = new RequestLimiter(client);
+
+        SemaphorePermit p1 = limiter.acquire(read(0)).join();
+
+        CompletableFuture<ReadResponse> response = new CompletableFuture<>();
+        CompletableFuture<CompletableFuture<SemaphorePermit>> p2 = response.thenApply(r -> limiter.acquire(read(0)));
+
+        client.completeRequest(response, new ReadResponse());
+
+        assertEquals(statusCode(p2.get(5, TimeUnit.SECONDS)), StatusCodes.Bad_ResourceUnavailable);
+        assertEquals(limiter.getRejected(), 1L);
+
+        p1.release();
+    }
+
+    @Test
+    public void testRoundTripTime() {
+        RequestLimiter limiter = limiter(0, 0, RequestOverflowPolicy.FAIL);
+
+        CompletableFuture<ReadResponse> future = new CompletableFuture<>();
+
+        limiter.track(future);
+        assertEquals(limiter.getInFlight(), 1);
+
+        future.complete(new ReadResponse());
+
+        assertEquals(limiter.getInFlight(), 0);
+        assertEquals(limiter.getCompleted(), 1L);
+        assertTrue(limiter.getMaxRoundTripTime(TimeUnit.NANOSECONDS) > 0L);
+        assertTrue(limiter.getSmoothedRoundTripTime(TimeUnit.NANOSECONDS) > 0L);
+    }
+
+    private static RequestLimiter limiter(int maxInFlight, int maxQueued, RequestOverflowPolicy overflowPolicy) {
+        return new RequestLimiter(client(maxInFlight, maxQueued, overflowPolicy));
+    }
+
+    private static UaTcpStackClient client(int maxInFlight, int maxQueued, RequestOverflowPolicy overflowPolicy) {
+        UaTcpStackClientConfig config = UaTcpStackClientConfig.builder()
+            .setMaxInFlightRequests(maxInFlight)
+            .setMaxQueuedRequests(maxQueued)
+            .setRequestOverflowPolicy(overflowPolicy)
+            .build();
+
+        return new UaTcpStackClient(config);
+    }
+
+    private static long statusCode(CompletableFuture<SemaphorePermit> future) {
+        try {
+            future.join();
+            return 0L;
+        } catch (CompletionException e) {
+            return ((UaException) e.getCause()).getStatusCode().getValue();
+        }
+    }
+
+    private static UaRequestMessage read(long timeoutHint) {
+        return new ReadRequest(header(timeoutHint), 0.0, null, null);
+    }
+
+    private static RequestHeader header(long timeoutHint) {
+        return new RequestHeader(NodeId.NULL_VALUE, null, uint(0), uint(0), null, uint(timeoutHint), null);
+    }
+
+}
@@ -38,9 +38,16 @@ public class UaTcpStackClientConfigTest extends SecurityFixture {
             .setChannelConfig(ChannelConfig.DEFAULT)
             .setChannelLifetime(uint(1234))
             .setExecutor(Stack.sharedExecutor())
+            .setSerializationExecutor(Stack.sharedScheduledExecutor())
             .setEventLoop(Stack.sharedEventLoop())
             .setWheelTimer(Stack.sharedWheelTimer())
             .setSecureChannelReauthenticationEnabled(true)
+            .setTcpNoDelayEnabled(false)
+            .setTcpQuickAckEnabled(true)
+            .setChannelPoolSize(4)
+            .setMaxInFlightRequests(100)
+            .setMaxQueuedRequests(200)
+            .setRequestOverflowPolicy(RequestOverflowPolicy.BLOCK)
             .build();
 
         UaTcpStackClientConfig copy = UaTcpStackClientConfig.copy(original).build();
@@ -54,11 +61,18 @@ public class UaTcpStackClientConfigTest extends SecurityFixture {
         assertEquals(copy.getChannelConfig(), original.getChannelConfig());
         assertEquals(copy.getChannelLifetime(), original.getChannelLifetime());
         assertEquals(copy.getExecutor(), original.getExecutor());
+        assertEquals(copy.getSerializationExecutor(), original.getSerializationExecutor());
         assertEquals(copy.getEventLoop(), original.getEventLoop());
         assertEquals(copy.getWheelTimer(), original.getWheelTimer());
         assertEquals(
             copy.isSecureChannelReauthenticationEnabled(),
             original.isSecureChannelReauthenticationEnabled());
+        assertEquals(copy.isTcpNoDelayEnabled(), original.isTcpNoDelayEnabled());
+        assertEquals(copy.isTcpQuickAckEnabled(), original.isTcpQuickAckEnabled());
+        assertEquals(copy.getChannelPoolSize(), original.getChannelPoolSize());
+        assertEquals(copy.getMaxInFlightRequests(), original.getMaxInFlightRequests());
+        assertEquals(copy.getMaxQueuedRequests(), original.getMaxQueuedRequests());
+        assertEquals(copy.getRequestOverflowPolicy(), original.getRequestOverflowPolicy());
     }
 
     @Test
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.handlers;
+
+import java.nio.channels.ClosedChannelException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.eclipse.milo.opcua.stack.core.application.services.ServiceResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
+import org.eclipse.milo.opcua.stack.server.config.SlowConsumerPolicy;
+import org.eclipse.milo.opcua.stack.server.tcp.SlowConsumerCounters;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class UaTcpServerBackpressureHandlerTest {
+
+    @Test
+    public void testPublishResponsesDeferredWhileUnwritable() {
+        SlowConsumerCounters counters = new SlowConsumerCounters();
+
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new UaTcpServerBackpressureHandler(8, 16, 60_000L, SlowConsumerPolicy.CLOSE, counters));
+
+        assertEquals(channel.config().getWriteBufferLowWaterMark(), 8);
+        assertEquals(channel.config().getWriteBufferHighWaterMark(), 16);
+
+        channel.write(Unpooled.buffer(32).writeZero(32));
+
+        assertFalse(channel.isWritable());
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(counters.getChannelsUnwritable(), 1L);
+
+        ServiceResponse publishResponse = new ServiceResponse(new PublishRequest(), 1L, new PublishResponse());
+        ServiceResponse readResponse = new ServiceResponse(new ReadRequest(), 2L, new ReadResponse());
+
+        channel.write(publishResponse);
+        channel.write(readResponse);
+
+        assertEquals(counters.getPublishResponsesDeferred(), 1L);
+
+        channel.flush();
+
+        assertTrue(channel.isWritable());
+        assertTrue(channel.config().isAutoRead());
+
+        ((ByteBuf) channel.readOutbound()).release();
+        assertSame(channel.readOutbound(), readResponse);
+        assertSame(channel.readOutbound(), publishResponse);
+        assertNull(channel.readOutbound());
+
+        channel.finish();
+    }
+
+    @Test
+    public void testDeferredPublishResponsesFailedOnClose() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new UaTcpServerBackpressureHandler(8, 16, 60_000L, SlowConsumerPolicy.CLOSE, new SlowConsumerCounters()));
+
+        channel.write(Unpooled.buffer(32).writeZero(32));
+
+        ServiceResponse publishResponse = new ServiceResponse(new PublishRequest(), 1L, new PublishResponse());
+
+        ChannelFuture future = channel.write(publishResponse);
+
+        assertFalse(future.isDone());
+
+        channel.close();
+
+        assertTrue(future.isDone());
+        assertTrue(future.cause() instanceof ClosedChannelException);
+
+        channel.finish();
+    }
+
+    @Test
+    public void testSlowConsumerClosed() throws Exception {
+        SlowConsumerCounters counters = new SlowConsumerCounters();
+
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new UaTcpServerBackpressureHandler(8, 16, 10L, SlowConsumerPolicy.CLOSE, counters));
+
+        channel.write(Unpooled.buffer(32).writeZero(32));
+
+        Thread.sleep(50);
+        channel.runPendingTasks();
+
+        assertFalse(channel.isOpen());
+        assertEquals(counters.getSlowConsumersClosed(), 1L);
+    }
+
+    @Test
+    public void testSlowConsumerDegraded() throws Exception {
+        SlowConsumerCounters counters = new SlowConsumerCounters();
+
+        EmbeddedChannel channel = new EmbeddedChannel(
+            new UaTcpServerBackpressureHandler(8, 16, 10L, SlowConsumerPolicy.DEGRADE, counters));
+
+        channel.write(Unpooled.buffer(32).writeZero(32));
+
+        Thread.sleep(50);
+        channel.runPendingTasks();
+
+        assertTrue(channel.isOpen());
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(counters.getSlowConsumersDegraded(), 1L);
+
+        channel.flush();
+
+        assertTrue(channel.config().isAutoRead());
+
+        ((ByteBuf) channel.readOutbound()).release();
+
+        channel.finish();
+    }
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2016 Kevin Herron
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *   http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *   http://www.eclipse.org/org/documents/edl-v10.html.
+ */
+
+package org.eclipse.milo.opcua.stack.server.tcp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.milo.opcua.stack.core.StatusCodes;
+import org.eclipse.milo.opcua.stack.core.UaException;
+import org.eclipse.milo.opcua.stack.core.application.services.ServiceRequest;
+import org.eclipse.milo.opcua.stack.core.channel.ServerSecureChannel;
+import org.eclipse.milo.opcua.stack.core.serialization.UaRequestMessage;
+import org.eclipse.milo.opcua.stack.core.serialization.UaResponseMessage;
+import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
+import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.structured.HistoryReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.PublishRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadRequest;
+import org.eclipse.milo.opcua.stack.core.types.structured.ReadResponse;
+import org.eclipse.milo.opcua.stack.core.types.structured.RequestHeader;
+import org.eclipse.milo.opcua.stack.server.config.RequestPriority;
+import org.testng.annotations.Test;
+
+import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class ServiceRequestSchedulerTest {
+
+    private final ServerSecureChannel secureChannel = new ServerSecureChannel();
+
+    @Test
+    public void testSessionsTakeTurns() {
+        ManualExecutor executor = new ManualExecutor();
+        List<ServiceRequest<UaRequestMessage, UaResponseMessage>> handled = new ArrayList<>();
+
+        ServiceRequestScheduler scheduler =
+            new ServiceRequestScheduler(executor, 100, 1000, RequestPriority::of, handled::add);
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.submit(serviceRequest(new ReadRequest(header(1), 0.0, null, null)));
+        }
+        ServiceRequest<UaRequestMessage, UaResponseMessage> fromSession2 =
+            serviceRequest(new ReadRequest(header(2), 0.0, null, null));
+        scheduler.submit(fromSession2);
+
+        executor.runAll();
+
+        assertEquals(handled.size(), 11);
+        assertSame(handled.get(1), fromSession2);
+        assertEquals(scheduler.getQueueStats(RequestPriority.NORMAL).getDispatched(), 11L);
+        assertEquals(scheduler.getQueueStats(RequestPriority.NORMAL).getQueued(), 0);
+    }
+
+    @Test
+    public void testConcurrencyLimitPerSession() {
+        ManualExecutor executor = new ManualExecutor();
+        List<ServiceRequest<UaRequestMessage, UaResponseMessage>> handled = new ArrayList<>();
+
+        ServiceRequestScheduler scheduler =
+            new ServiceRequestScheduler(executor, 2, 1000, RequestPriority::of, handled::add);
+
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit(serviceRequest(new ReadRequest(header(1), 0.0, null, null)));
+        }
+        scheduler.submit(serviceRequest(new PublishRequest(header(1), null)));
+
+        executor.runAll();
+
+        // Two Reads plus the Publish, which doesn't count towards the limit.
+        assertEquals(handled.size(), 3);
+        assertEquals(scheduler.getQueueStats(RequestPriority.NORMAL).getQueued(), 3);
+
+        assertSame(handled.get(0).getRequest().getClass(), PublishRequest.class);
+
+        handled.get(1).setResponse(new ReadResponse());
+        executor.runAll();
+
+        assertEquals(handled.size(), 4);
+
+        for (int i = 0; i < 3; i++) {
+            handled.stream()
+                .filter(r -> r.getRequest() instanceof ReadRequest)
+                .forEach(r -> r.setResponse(new ReadResponse()));
+            executor.runAll();
+        }
+
+        assertEquals(handled.size(), 6);
+        assertEquals(scheduler.getFlowCount(), 0);
+    }
+
+    @Test
+    public void testHigherPriorityDispatchedFirst() {
+        ManualExecutor executor = new ManualExecutor();
+        List<ServiceRequest<UaRequestMessage, UaResponseMessage>> handled = new ArrayList<>();
+
+        ServiceRequestScheduler scheduler =
+            new ServiceRequestScheduler(executor, 100, 1000, RequestPriority::of, handled::add);
+
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit(serviceRequest(new HistoryReadRequest(header(1), null, null, false, null)));
+        }
+        ServiceRequest<UaRequestMessage, UaResponseMessage> publish =
+            serviceRequest(new PublishRequest(header(1), null));
+        scheduler.submit(publish);
+
+        executor.runAll();
+
+        assertEquals(handled.size(), 6);
+        assertSame(handled.get(0), publish);
+        assertEquals(scheduler.getQueueStats(RequestPriority.HIGH).getDispatched(), 1L);
+        assertEquals(scheduler.getQueueStats(RequestPriority.LOW).getDispatched(), 5L);
+    }
+
+    @Test
+    public void testExpiredRequestsShed() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        List<ServiceRequest<UaRequestMessage, UaResponseMessage>> handled = new ArrayList<>();
+
+        ServiceRequestScheduler scheduler =
+            new ServiceRequestScheduler(executor, 100, 1000, RequestPriority::of, handled::add);
+
+        ServiceRequest<UaRequestMessage, UaResponseMessage> expiring =
+            serviceRequest(new ReadRequest(header(1, 10), 0.0, null, null));
+        ServiceRequest<UaRequestMessage, UaResponseMessage> noTimeout =
+            serviceRequest(new ReadRequest(header(1, 0), 0.0, null, null));
+
+        scheduler.submit(expiring);
+        scheduler.submit(noTimeout);
+
+        Thread.sleep(50);
+        executor.runAll();
+
+        assertEquals(handled.size(), 1);
+        assertSame(handled.get(0), noTimeout);
+        assertEquals(statusCode(expiring), StatusCodes.Bad_Timeout);
+        assertEquals(scheduler.getQueueStats(RequestPriority.NORMAL).getTimedOut(), 1L);
+        assertEquals(scheduler.getPendingCount(), 1);
+    }
+
+    @Test
+    public void testExpiredBeforeDecodedShed() {
+        ManualExecutor executor = new ManualExecutor();
+        List<ServiceRequest<UaRequestMessage, UaResponseMessage>> handled = new ArrayList<>();
+
+        ServiceRequestScheduler scheduler =
+            new ServiceRequestScheduler(executor, 100, 1000, RequestPriority::of, handled::add);
+
+        // Received 50ms ago but only just decoded; the time spent waiting to be decoded counts too.
+        ServiceRequest<UaRequestMessage, UaResponseMessage> expired = new ServiceRequest<>(
+            new ReadRequest(header(1, 10), 0.0, null, null), 0L, null, secureChannel,
+            System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(50));
+
+        scheduler.submit(expired);
+        executor.runAll();
+
+        assertEquals(handled.size(), 0);
+        assertEquals(statusCode(expired), StatusCodes.Bad_Timeout);
+    }
+
+    @Test
+    public void testMaxConcurrentRequests() {
+        ManualExecutor executor = new ManualExecutor();
+        List<ServiceRequest<UaRequestMessage, UaResponseMessage>> handled = new ArrayList<>();
+
+        ServiceRequestScheduler scheduler =
+            new ServiceRequestScheduler(executor, 100, 2, RequestPriority::of, handled::add);
+
+        scheduler.submit(serviceRequest(new ReadRequest(header(1), 0.0, null, null)));
+        scheduler.submit(serviceRequest(new ReadRequest(header(2), 0.0, null, null)));
+
+        ServiceRequest<UaRequestMessage, UaResponseMessage> rejected =
+            serviceRequest(new ReadRequest(header(3), 0.0, null, null));
+        scheduler.submit(rejected);
+
+        assertEquals(statusCode(rejected), StatusCodes.Bad_TooManyOperations);
+        assertEquals(scheduler.getQueueStats(RequestPriority.NORMAL).getRejected(), 1L);
+
+        // Publish requests don't count towards the limit.
+        scheduler.submit(serviceRequest(new PublishRequest(header(3), null)));
+
+        executor.runAll();
+
+        assertEquals(handled.size(), 3);
+
+        handled.get(1).setResponse(new ReadResponse());
+        assertEquals(scheduler.getPendingCount(), 1);
+
+        scheduler.submit(serviceRequest(new ReadRequest(header(3), 0.0, null, null)));
+        executor.runAll();
+
+        assertEquals(handled.size(), 4);
+    }
+
+    private static long statusCode(ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest) {
+        try {
+            serviceRequest.getFuture().getNow(null);
+            return StatusCode.GOOD.getValue();
+        } catch (CompletionException e) {
+            return ((UaException) e.getCause()).getStatusCode().getValue();
+        }
+    }
+
+    private ServiceRequest<UaRequestMessage, UaResponseMessage> serviceRequest(UaRequestMessage request) {
+        return new ServiceRequest<>(request, 0L, null, secureChannel);
+    }
+
+    private static RequestHeader header(int session) {
+        return header(session, 0);
+    }
+
+    private static RequestHeader header(int session, long timeoutHint) {
+        return new RequestHeader(new NodeId(0, session), null, uint(0), uint(0), null, uint(timeoutHint), null);
+    }
+
+    /**
+     * Runs submitted tasks only when asked to, in submission order.
+     */
+    private static class ManualExecutor extends AbstractExecutorService {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {}
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+
+    }
+
+}